@@ -0,0 +1,151 @@
+// src/jmh/java/com/group02/bench/BenchmarkDatabase.java
+package com.group02.bench;
+
+import com.group02.config.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Prepares the benchmark database and seeds it with a deterministic workforce.
+ * <p>
+ * Uses its own schema (see bench-config.properties) so benchmarks never touch
+ * application data. Seeding is skipped when the table already holds exactly the
+ * requested number of rows, which keeps repeated runs at 1M rows affordable.
+ * </p>
+ */
+public final class BenchmarkDatabase {
+    /** Config file on the benchmark classpath; override with -Dbench.config=... */
+    public static final String CONFIG = System.getProperty("bench.config", "bench-config.properties");
+
+    /** SSNs at or above this value are reserved for rows inserted by benchmarks. */
+    public static final int INSERT_SSN_BASE = 900_000_000;
+
+    static final String[] DIVISIONS = {
+        "Engineering", "Finance", "HR", "Sales", "Marketing", "Operations", "Legal", "Support"
+    };
+    static final String[] JOB_TITLES = {
+        "Developer", "Senior Developer", "Analyst", "Manager", "Director",
+        "Accountant", "Recruiter", "Representative", "Engineer", "Specialist"
+    };
+
+    private static final int ROWS_PER_STATEMENT = 1000;
+
+    private BenchmarkDatabase() { }
+
+    /** Loads the benchmark config, applies migrations and opens the pool (idempotent). */
+    public static synchronized void initialize() {
+        DatabaseConfig.resetConfiguration();
+        DatabaseConfig.loadProperties(CONFIG);
+        DatabaseConfig.initializeDatabaseSchema();
+        DatabaseConfig.initializeConnectionPool();
+    }
+
+    /** Closes the pool opened by {@link #initialize()}. */
+    public static synchronized void shutdown() {
+        DatabaseConfig.closeDataSource();
+    }
+
+    /**
+     * Ensures the employees table contains exactly {@code rows} seeded rows.
+     * @param rows number of rows to seed
+     */
+    public static void ensureRows(int rows) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            deleteInsertedRows(conn);
+            if (count(conn) == rows) {
+                return;
+            }
+            System.out.println("Seeding " + rows + " employees...");
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("TRUNCATE TABLE employees");
+            }
+            seed(conn, rows);
+        }
+    }
+
+    /** Removes rows that benchmarks inserted on top of the seeded data. */
+    public static void deleteInsertedRows() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            deleteInsertedRows(conn);
+        }
+    }
+
+    /** @return the smallest and largest empID currently in the table */
+    public static int[] idRange() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(empID), MAX(empID) FROM employees")) {
+            rs.next();
+            return new int[] { rs.getInt(1), rs.getInt(2) };
+        }
+    }
+
+    /** Deterministic SSN for the i-th seeded row. */
+    public static String ssn(int i) {
+        return String.format("%09d", i);
+    }
+
+    /** Deterministic name for the i-th seeded row. */
+    public static String name(int i) {
+        return String.format("Employee %07d", i);
+    }
+
+    /** Deterministic salary for the i-th seeded row, spread over 30k..150k. */
+    public static double salary(int i) {
+        return 30000 + (i * 7919L % 120000);
+    }
+
+    private static void deleteInsertedRows(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM employees WHERE SSN >= ?")) {
+            stmt.setString(1, String.valueOf(INSERT_SSN_BASE));
+            stmt.executeUpdate();
+        }
+    }
+
+    private static int count(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM employees")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void seed(Connection conn, int rows) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (int start = 0; start < rows; start += ROWS_PER_STATEMENT) {
+                int n = Math.min(ROWS_PER_STATEMENT, rows - start);
+                StringBuilder sql = new StringBuilder(
+                        "INSERT INTO employees (employeeName, division, SSN, jobTitle, salary, payInfo) VALUES ");
+                for (int i = 0; i < n; i++) {
+                    sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                    int p = 1;
+                    for (int i = start; i < start + n; i++) {
+                        stmt.setString(p++, name(i));
+                        stmt.setString(p++, DIVISIONS[i % DIVISIONS.length]);
+                        stmt.setString(p++, ssn(i));
+                        stmt.setString(p++, JOB_TITLES[i % JOB_TITLES.length]);
+                        stmt.setDouble(p++, salary(i));
+                        stmt.setString(p++, i % 5 == 0 ? "PartTime" : "FullTime");
+                    }
+                    stmt.executeUpdate();
+                }
+                if ((start / ROWS_PER_STATEMENT) % 100 == 99) {
+                    conn.commit();
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+}
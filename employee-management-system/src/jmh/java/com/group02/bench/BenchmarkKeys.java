@@ -0,0 +1,63 @@
+// src/jmh/java/com/group02/bench/BenchmarkKeys.java
+package com.group02.bench;
+
+import java.util.SplittableRandom;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread pool of pre-generated lookup keys, so benchmark methods do not
+ * pay for random number generation or String formatting on every call.
+ */
+@State(Scope.Thread)
+public class BenchmarkKeys {
+    private static final int SIZE = 4096;
+
+    private final int[] ids = new int[SIZE];
+    private final String[] ssns = new String[SIZE];
+    private final String[] namePatterns = new String[SIZE];
+    private final double[] salaries = new double[SIZE];
+    private int cursor;
+
+    /** Fills the key pool from the seeded id range of the given table size. */
+    public void fill(int rows, int minId) {
+        SplittableRandom random = new SplittableRandom(42 + Thread.currentThread().threadId());
+        for (int i = 0; i < SIZE; i++) {
+            int row = random.nextInt(rows);
+            ids[i] = minId + row;
+            ssns[i] = BenchmarkDatabase.ssn(row);
+            // "Employee 00012" matches a block of 100 seeded names
+            namePatterns[i] = BenchmarkDatabase.name(row).substring(0, 14);
+            salaries[i] = BenchmarkDatabase.salary(row);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void rewind() {
+        cursor = 0;
+    }
+
+    /** Advances to the next key slot; call once per benchmark invocation. */
+    public int next() {
+        cursor = (cursor + 1) & (SIZE - 1);
+        return cursor;
+    }
+
+    public int id(int slot) {
+        return ids[slot];
+    }
+
+    public String ssn(int slot) {
+        return ssns[slot];
+    }
+
+    public String namePattern(int slot) {
+        return namePatterns[slot];
+    }
+
+    public double salary(int slot) {
+        return salaries[slot];
+    }
+}
@@ -0,0 +1,114 @@
+// src/jmh/java/com/group02/bench/CacheBenchmark.java
+package com.group02.bench;
+
+import com.group02.cache.EmployeeCache;
+import com.group02.cache.NameSearcher;
+import com.group02.model.Employee;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks EmployeeCache on its own, without a database: footprint, scans and aggregates.
+ * <p>
+ * Rows are generated like the seeded benchmark tables, with fresh String
+ * instances per row as a JDBC driver would return them. The retained heap of
+ * the loaded cache is printed once per trial as bytes per 100k employees.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CacheBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    EmployeeCache cache;
+    final NameSearcher searcher = new NameSearcher();
+
+    /** A row as the driver would hand it over: every field its own String instance. */
+    static Employee generated(int i) {
+        Employee e = new Employee(new String(BenchmarkDatabase.name(i)),
+                                  new String(BenchmarkDatabase.ssn(i)),
+                                  new String(BenchmarkDatabase.JOB_TITLES[i % BenchmarkDatabase.JOB_TITLES.length]),
+                                  new String(BenchmarkDatabase.DIVISIONS[i % BenchmarkDatabase.DIVISIONS.length]),
+                                  BenchmarkDatabase.salary(i),
+                                  new String(i % 5 == 0 ? "PartTime" : "FullTime"));
+        e.setEmpID(i + 1);
+        return e;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedAfterGc(memory);
+        cache = new EmployeeCache();
+        for (int i = 0; i < rows; i++) {
+            cache.put(generated(i));
+        }
+        long after = usedAfterGc(memory);
+        System.out.printf("%nEmployeeCache footprint: %,d bytes per 100k employees%n",
+                          (after - before) * 100_000L / rows);
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /** Filter-box search: literal substring matching 1 in 1000 names. */
+    @Benchmark
+    public List<Employee> searchNameLiteral() {
+        return searcher.search(cache, "0042");
+    }
+
+    /** Regex search over every name. */
+    @Benchmark
+    public List<Employee> searchNameRegex() {
+        return searcher.search(cache, "7[0-9]7$");
+    }
+
+    /** Generic predicate scan over a dictionary-like column. */
+    @Benchmark
+    public List<Employee> filterByDivision() {
+        return cache.filter(e -> "Legal".equals(e.getDivision()));
+    }
+
+    /** Same filter on the dictionary codes. */
+    @Benchmark
+    public List<Employee> filterByDivisionCode() {
+        return cache.filterByDivision("Legal");
+    }
+
+    /** Payroll per division in one pass over the code and salary columns. */
+    @Benchmark
+    public List<PayrollStats> payrollByDivision() {
+        return cache.payrollBy(PayrollGrouping.DIVISION, true);
+    }
+
+    /** The same report the way it was done before: copy every row out, then group. */
+    @Benchmark
+    public Map<String, DoubleSummaryStatistics> payrollByDivisionFromRows() {
+        return cache.values().stream()
+                .collect(Collectors.groupingBy(Employee::getDivision, Collectors.summarizingDouble(Employee::getSalary)));
+    }
+
+    /** Copies every row out of the cache. */
+    @Benchmark
+    public List<Employee> values() {
+        return cache.values();
+    }
+}
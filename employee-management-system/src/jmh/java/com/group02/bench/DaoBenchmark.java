@@ -0,0 +1,152 @@
+// src/jmh/java/com/group02/bench/DaoBenchmark.java
+package com.group02.bench;
+
+import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeManager;
+import com.group02.repository.NameMatch;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the DAO path: every call goes through EmployeeManager to MySQL.
+ * <p>
+ * Reports throughput and sampled latency (p50/p90/p99/p99.9) per operation
+ * for tables seeded with 10k, 100k and 1M rows.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DaoBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    EmployeeManager dao;
+    int minId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkKeys keys) throws Exception {
+        BenchmarkDatabase.initialize();
+        BenchmarkDatabase.ensureRows(rows);
+        minId = BenchmarkDatabase.idRange()[0];
+        dao = new EmployeeManager();
+        keys.fill(rows, minId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.shutdown();
+    }
+
+    /** Hands out unique SSNs for inserts and removes inserted rows after each iteration. */
+    @State(Scope.Benchmark)
+    public static class Inserts {
+        final AtomicInteger next = new AtomicInteger(BenchmarkDatabase.INSERT_SSN_BASE);
+
+        @TearDown(Level.Iteration)
+        public void deleteInserted() throws Exception {
+            BenchmarkDatabase.deleteInsertedRows();
+        }
+
+        Employee newEmployee() {
+            int n = next.getAndIncrement();
+            return new Employee("Bench Hire " + n, String.valueOf(n), "Developer", "Engineering", 50000, "FullTime");
+        }
+
+        List<Employee> newEmployees(int count) {
+            List<Employee> list = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                list.add(newEmployee());
+            }
+            return list;
+        }
+    }
+
+    @Benchmark
+    public int addEmployee(Inserts inserts) {
+        return dao.addEmployee(inserts.newEmployee());
+    }
+
+    /** Inserts 1000 rows per call; scores are normalized per row via OperationsPerInvocation. */
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public BatchInsertResult addEmployees(Inserts inserts) {
+        return dao.addEmployees(inserts.newEmployees(1000));
+    }
+
+    @Benchmark
+    public Optional<Employee> searchByID(BenchmarkKeys keys) {
+        return dao.searchByID(keys.id(keys.next()));
+    }
+
+    @Benchmark
+    public Optional<Employee> searchBySSN(BenchmarkKeys keys) {
+        return dao.searchBySSN(keys.ssn(keys.next()));
+    }
+
+    @Benchmark
+    public List<Employee> searchByName(BenchmarkKeys keys) {
+        return dao.searchByName(keys.namePattern(keys.next()));
+    }
+
+    @Benchmark
+    public List<Employee> searchByNameRegexp(BenchmarkKeys keys) {
+        return dao.searchByName(keys.namePattern(keys.next()), NameMatch.REGEXP);
+    }
+
+    @Benchmark
+    public boolean updateField(BenchmarkKeys keys) {
+        // writes the value the seeder used, so the table stays stable between runs
+        int slot = keys.next();
+        return dao.updateField(keys.id(slot), "salary", keys.salary(slot));
+    }
+
+    @Benchmark
+    public void applySalaryRaise(BenchmarkKeys keys) {
+        // a 0% raise exercises the range scan and row locks without drifting the data
+        double salary = keys.salary(keys.next());
+        dao.applySalaryRaise(salary, salary + 500, 0);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public List<Employee> findAll() {
+        return dao.findAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public void streamAll(Blackhole bh) {
+        dao.streamAll(bh::consume);
+    }
+
+    @Benchmark
+    public List<Employee> findPage(BenchmarkKeys keys) {
+        return dao.findPage(keys.id(keys.next()), 100);
+    }
+
+    /** Payroll report pushed down to SQL GROUP BY; compare with ServiceBenchmark.payrollByDivision. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public List<PayrollStats> payrollByDivision() {
+        return dao.payrollBy(PayrollGrouping.DIVISION);
+    }
+}
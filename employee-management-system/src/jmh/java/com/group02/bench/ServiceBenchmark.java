@@ -0,0 +1,131 @@
+// src/jmh/java/com/group02/bench/ServiceBenchmark.java
+package com.group02.bench;
+
+import com.group02.model.Employee;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.service.EmployeeService;
+import com.group02.service.EmployeeServiceImpl;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the cache path: reads are served by EmployeeServiceImpl's
+ * in-memory cache, writes go to the database and then update the cache.
+ * <p>
+ * Uses the same seeded tables and key pools as {@link DaoBenchmark} so the
+ * two result sets can be compared operation by operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    EmployeeService service;
+    int minId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkKeys keys) throws Exception {
+        BenchmarkDatabase.initialize();
+        BenchmarkDatabase.ensureRows(rows);
+        minId = BenchmarkDatabase.idRange()[0];
+        service = new EmployeeServiceImpl();
+        keys.fill(rows, minId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.shutdown();
+    }
+
+    /**
+     * Hands out unique SSNs for inserts. After each iteration the inserted rows are
+     * deleted and the service is rebuilt so its cache matches the seeded table again.
+     */
+    @State(Scope.Benchmark)
+    public static class Inserts {
+        final AtomicInteger next = new AtomicInteger(BenchmarkDatabase.INSERT_SSN_BASE);
+
+        @TearDown(Level.Iteration)
+        public void deleteInserted(ServiceBenchmark bench) throws Exception {
+            BenchmarkDatabase.deleteInsertedRows();
+            bench.service = new EmployeeServiceImpl();
+        }
+
+        Employee newEmployee() {
+            int n = next.getAndIncrement();
+            return new Employee("Bench Hire " + n, String.valueOf(n), "Developer", "Engineering", 50000, "FullTime");
+        }
+    }
+
+    @Benchmark
+    public int add(Inserts inserts) {
+        return service.add(inserts.newEmployee());
+    }
+
+    @Benchmark
+    public Optional<Employee> searchByID(BenchmarkKeys keys) {
+        return service.searchByID(keys.id(keys.next()));
+    }
+
+    @Benchmark
+    public Optional<Employee> searchBySSN(BenchmarkKeys keys) {
+        return service.searchBySSN(keys.ssn(keys.next()));
+    }
+
+    @Benchmark
+    public List<Employee> searchByName(BenchmarkKeys keys) {
+        return service.searchByName(keys.namePattern(keys.next()));
+    }
+
+    @Benchmark
+    public boolean update(BenchmarkKeys keys) {
+        Optional<Employee> e = service.searchByID(keys.id(keys.next()));
+        return e.isPresent() && service.update(e.get());
+    }
+
+    @Benchmark
+    public void applySalaryRaise(BenchmarkKeys keys) {
+        // a 0% raise exercises the DB range update and the cache pass without drifting the data
+        double salary = keys.salary(keys.next());
+        service.applySalaryRaise(salary, salary + 500, 0);
+    }
+
+    @Benchmark
+    public List<Employee> findBySalaryRange(BenchmarkKeys keys) {
+        double salary = keys.salary(keys.next());
+        return service.findBySalaryRange(salary, salary + 500);
+    }
+
+    @Benchmark
+    public double sumBySalaryRange(BenchmarkKeys keys) {
+        double salary = keys.salary(keys.next());
+        return service.sumBySalaryRange(salary, salary + 10_000);
+    }
+
+    @Benchmark
+    public List<Employee> findAll() {
+        return service.findAll();
+    }
+
+    @Benchmark
+    public List<Employee> findPage(BenchmarkKeys keys) {
+        return service.findPage(keys.id(keys.next()), 100);
+    }
+
+    /** Payroll report from the warm cache's columns; compare with DaoBenchmark.payrollByDivision. */
+    @Benchmark
+    public List<PayrollStats> payrollByDivision() {
+        return service.payrollBy(PayrollGrouping.DIVISION);
+    }
+}
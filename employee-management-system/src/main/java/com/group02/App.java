@@ -1,11 +1,25 @@
 // src/main/java/com/group02/App.java
 package com.group02;
 
+import com.group02.bulk.EmployeeExporter;
+import com.group02.bulk.EmployeeImporter;
+import com.group02.bulk.ExportFilter;
+import com.group02.bulk.ExportFormat;
+import com.group02.bulk.ExportStats;
+import com.group02.bulk.ImportStats;
 import com.group02.config.DatabaseConfig;
 import javafx.application.Application;
 import com.group02.ui.EmployeeApp;
 import com.group02.ui.ConsoleUI;
+import com.group02.metrics.Metrics;
+import com.group02.repository.EmployeeManager;
+import com.group02.repository.InstrumentedEmployeeManager;
+import com.group02.service.EmployeeService;
 import com.group02.service.EmployeeServiceImpl;
+import com.group02.service.InstrumentedEmployeeService;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 public class App {
     public static void main(String[] args) {
@@ -18,12 +32,151 @@ public class App {
             System.exit(1);
         }
 
+        // Command-line import: App import <file.csv> [rejects.csv]
+        if (args.length > 0 && args[0].equals("import")) {
+            int status = runImport(args);
+            DatabaseConfig.closeDataSource();
+            System.exit(status);
+        }
+        // Command-line export: App export <csv|jsonl|bin> <file> [--division D] [--min N] [--max N] [--no-mask]
+        if (args.length > 0 && args[0].equals("export")) {
+            int status = runExport(args);
+            DatabaseConfig.closeDataSource();
+            System.exit(status);
+        }
+
         // To use the Console Interface:
-        new ConsoleUI(new EmployeeServiceImpl()).run();
+        // the menu comes up at once; reads use the database until the cache has warmed up,
+        // from the last snapshot plus recent changes when there is a usable one
+        String snapshotSetting = DatabaseConfig.getProperty("cache.snapshot.file", "");
+        Path snapshot = snapshotSetting.isBlank() ? null : Path.of(snapshotSetting);
+        EmployeeManager dao = new InstrumentedEmployeeManager(new EmployeeManager());
+        EmployeeServiceImpl service = new EmployeeServiceImpl(dao,
+                Integer.parseInt(DatabaseConfig.getProperty("cache.warmup.partitions", "4")), snapshot);
+        // keep the cache in step with other instances sharing the database
+        long refreshSeconds = Long.parseLong(DatabaseConfig.getProperty("cache.refresh.seconds", "5"));
+        if (refreshSeconds > 0) {
+            service.startAutoRefresh(refreshSeconds, TimeUnit.SECONDS);
+        }
+        long snapshotMinutes = Long.parseLong(DatabaseConfig.getProperty("cache.snapshot.minutes", "0"));
+        if (snapshot != null && snapshotMinutes > 0) {
+            service.startAutoSnapshot(snapshot, snapshotMinutes, TimeUnit.MINUTES);
+        }
+        // catch running payroll totals drifting from the database
+        long payrollCheckMinutes = Long.parseLong(DatabaseConfig.getProperty("cache.payroll.check.minutes", "0"));
+        if (payrollCheckMinutes > 0) {
+            service.startPayrollCheck(payrollCheckMinutes, TimeUnit.MINUTES);
+        }
+        // queue edits and write them in coalesced batches (0 = write every edit through)
+        int writeBehindPending = Integer.parseInt(DatabaseConfig.getProperty("writebehind.max.pending", "0"));
+        if (writeBehindPending > 0) {
+            service.startWriteBehind(writeBehindPending,
+                    Long.parseLong(DatabaseConfig.getProperty("writebehind.flush.millis", "500")), TimeUnit.MILLISECONDS,
+                    failure -> System.err.println("\nCould not save changes to employee " + failure.empID()
+                                                  + ": " + failure.message()));
+        }
+        // per-operation latencies, row counts and cache hit rate over JMX and on stdout
+        Metrics metrics = Metrics.global();
+        long metricsMinutes = Long.parseLong(DatabaseConfig.getProperty("metrics.dump.minutes", "0"));
+        if (metricsMinutes > 0) {
+            metrics.startDump(System.out, metricsMinutes, TimeUnit.MINUTES);
+        }
+        InstrumentedEmployeeService instrumented = new InstrumentedEmployeeService(service);
+        metrics.registerMBeans();
+        new ConsoleUI(instrumented, importer(dao, instrumented), new EmployeeExporter(dao)).run();
+        metrics.stopDump();
+        service.stopWriteBehind();
+        service.stopAutoRefresh();
+        service.stopAutoSnapshot();
+        service.stopPayrollCheck();
+        if (snapshot != null) {
+            try {
+                service.saveSnapshot(snapshot);
+            } catch (IOException e) {
+                System.err.println("Failed to save cache snapshot: " + e.getMessage());
+            }
+        }
 
         // To use the JavaFX GUI:
         // Application.launch(EmployeeApp.class, args);
 
         DatabaseConfig.closeDataSource();
     }
+
+    /** Builds an importer with the limits from config.properties. */
+    private static EmployeeImporter importer(EmployeeManager dao, EmployeeService service) {
+        return new EmployeeImporter(dao, service,
+                Integer.parseInt(DatabaseConfig.getProperty("import.batch.size", "1000")),
+                Double.parseDouble(DatabaseConfig.getProperty("import.salary.min", "0")),
+                Double.parseDouble(DatabaseConfig.getProperty("import.salary.max", "10000000")));
+    }
+
+    /** Runs a CSV import without the menu and reports the totals; returns the exit status. */
+    private static int runImport(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: App import <file.csv> [rejects.csv]");
+            return 2;
+        }
+        Path csv = Path.of(args[1]);
+        Path rejects = Path.of(args.length > 2 ? args[2] : args[1] + ".rejects.csv");
+        EmployeeImporter importer = importer(new InstrumentedEmployeeManager(new EmployeeManager()), null);
+        try {
+            ImportStats stats = importer.importCsv(csv, rejects, p -> System.out.print("\r" + p));
+            System.out.println();
+            System.out.println(stats);
+            if (stats.rejected() > 0) {
+                System.out.println("Rejected rows and reasons: " + rejects);
+            }
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /** Runs an export without the menu and reports the totals; returns the exit status. */
+    private static int runExport(String[] args) {
+        String usage = "Usage: App export <csv|jsonl|bin> <file> [--division D] [--min N] [--max N] [--no-mask]";
+        if (args.length < 3) {
+            System.err.println(usage);
+            return 2;
+        }
+        ExportFormat format = null;
+        for (ExportFormat f : ExportFormat.values()) {
+            if (f.extension().equalsIgnoreCase(args[1])) {
+                format = f;
+            }
+        }
+        String division = null;
+        Double min = null;
+        Double max = null;
+        boolean mask = true;   // SSNs leave the database in clear only when asked for
+        try {
+            for (int i = 3; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--division" -> division = args[++i];
+                    case "--min" -> min = Double.valueOf(args[++i]);
+                    case "--max" -> max = Double.valueOf(args[++i]);
+                    case "--mask" -> mask = true;
+                    case "--no-mask" -> mask = false;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (format == null) {
+                throw new IllegalArgumentException("Unknown format " + args[1]);
+            }
+            ExportFilter filter = new ExportFilter(division, min, max);
+            EmployeeExporter exporter = new EmployeeExporter(new InstrumentedEmployeeManager(new EmployeeManager()));
+            ExportStats stats = exporter.export(Path.of(args[2]), format, filter, mask);
+            System.out.println("Exported " + stats + " to " + args[2]);
+            return 0;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage());
+            System.err.println(usage);
+            return 2;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Export failed: " + e.getMessage());
+            return 1;
+        }
+    }
 }
@@ -0,0 +1,74 @@
+// src/main/java/com/group02/bulk/ChannelSink.java
+package com.group02.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffered, big-endian writer onto a channel. Values go into one reused direct buffer
+ * that is handed to the channel each time it fills, so output of any size costs a
+ * fixed {@link #BUFFER_BYTES} of memory and one write call per buffer.
+ */
+final class ChannelSink {
+    static final int BUFFER_BYTES = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long written;
+
+    ChannelSink(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void putDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    /** Writes out whatever is buffered. */
+    void flush() throws IOException {
+        drain();
+    }
+
+    /** @return bytes handed to the channel or still buffered */
+    long bytes() {
+        return written + buffer.position();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
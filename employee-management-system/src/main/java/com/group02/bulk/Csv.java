@@ -0,0 +1,38 @@
+// src/main/java/com/group02/bulk/Csv.java
+package com.group02.bulk;
+
+import java.util.List;
+
+/**
+ * Writing side of the CSV format read by {@link CsvReader}.
+ */
+final class Csv {
+    private Csv() {
+    }
+
+    /** @return the value as one CSV field, quoted only when it has to be; null becomes empty */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    /** @return the fields as one CSV line, without the line break */
+    static String join(List<String> fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(escape(fields.get(i)));
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,130 @@
+// src/main/java/com/group02/bulk/CsvReader.java
+package com.group02.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for RFC 4180 CSV: comma separated, fields optionally in double
+ * quotes, a doubled quote inside quotes standing for one, and commas and line breaks
+ * allowed inside quotes. Lines may end in LF, CRLF or CR.
+ * <p>
+ * Only the current record is held in memory, and a field may be at most
+ * {@link #MAX_FIELD_LENGTH} characters, so a file of any size (or a stray quote that
+ * never closes) is read in constant space.
+ * </p>
+ */
+final class CsvReader implements Closeable {
+    static final int MAX_FIELD_LENGTH = 65_536;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;        // line of the next character
+    private long recordLine;      // line the last record started on
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /** @return the line number the record last returned by {@link #next()} started on */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     * @throws IOException if reading fails, a quoted field is never closed, or a field is too long
+     */
+    List<String> next() throws IOException {
+        recordLine = line;
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Quoted field starting on line " + recordLine + " is never closed");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (field.length() == MAX_FIELD_LENGTH) {
+            throw new IOException("Field on line " + recordLine + " is longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        // a CR counts as a line break unless an LF follows, which counts instead
+        if (c == '\n' || (c == '\r' && peek() != '\n')) {
+            line++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = in.read(buffer, 0, buffer.length);
+        } while (n == 0);
+        if (n < 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,166 @@
+// src/main/java/com/group02/bulk/EmployeeExporter.java
+package com.group02.bulk;
+
+import com.group02.model.Employee;
+import com.group02.repository.EmployeeManager;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Writes employees straight from the database to a file, for payroll and audit extracts.
+ * <p>
+ * Rows come from {@link EmployeeManager#streamMatching}, a server-side cursor read a
+ * fetch at a time, and are encoded into a {@link ChannelSink} that writes to the file
+ * channel in 64 KB blocks. Nothing holds more than one fetch of rows and one buffer,
+ * so memory stays flat however large the table is. The cache is not used: an extract
+ * should show what the database holds.
+ * </p>
+ * <p>
+ * Files are written to a temporary sibling and renamed into place, so a failed export
+ * never leaves a partial file under the requested name. The file is created readable
+ * and writable by its owner only, where the file system supports POSIX permissions.
+ * </p>
+ */
+public class EmployeeExporter {
+    private final EmployeeManager dao;
+
+    public EmployeeExporter(EmployeeManager dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * Exports the matching employees to a file, replacing it if it exists.
+     *
+     * @param maskSsn write SSNs as {@link #mask masked} values
+     * @throws IOException if the file cannot be written
+     * @throws com.group02.repository.DataAccessException if the database read fails
+     */
+    public ExportStats export(Path target, ExportFormat format, ExportFilter filter, boolean maskSsn)
+            throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        ExportStats stats;
+        // a leftover from a crashed export may carry other permissions; never reuse it
+        Files.deleteIfExists(tmp);
+        try (FileChannel channel = FileChannel.open(tmp, EnumSet.of(StandardOpenOption.CREATE_NEW,
+                                                                    StandardOpenOption.WRITE),
+                                                    ownerOnly(tmp))) {
+            stats = export(channel, format, filter, maskSsn);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return stats;
+    }
+
+    /** @return attributes that make a new file rw------- where the file system supports them */
+    private static FileAttribute<?>[] ownerOnly(Path file) {
+        if (!file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+        };
+    }
+
+    /**
+     * Exports the matching employees to a channel, in empID order. The channel is
+     * left open.
+     */
+    public ExportStats export(WritableByteChannel out, ExportFormat format, ExportFilter filter, boolean maskSsn)
+            throws IOException {
+        long start = System.nanoTime();
+        ChannelSink sink = new ChannelSink(out);
+        long rows = 0;
+        format.begin(sink);
+        try (Stream<Employee> employees = dao.streamMatching(filter.division(), filter.minSalary(),
+                                                             filter.maxSalary())) {
+            // an iterator rather than forEach, so IOExceptions need no wrapping
+            for (Iterator<Employee> it = employees.iterator(); it.hasNext(); ) {
+                Employee e = it.next();
+                format.write(e, maskSsn ? mask(e.getSSN()) : e.getSSN(), sink);
+                rows++;
+            }
+        }
+        format.end(sink, rows);
+        sink.flush();
+        return new ExportStats(rows, sink.bytes(), System.nanoTime() - start);
+    }
+
+    /** @return the SSN with all but its last four digits starred, e.g. *****6789 */
+    public static String mask(String ssn) {
+        if (ssn == null) {
+            return null;
+        }
+        int keep = Math.min(4, ssn.length());
+        return "*".repeat(ssn.length() - keep) + ssn.substring(ssn.length() - keep);
+    }
+
+    /**
+     * Reads a file written in the {@link ExportFormat#BINARY} format.
+     * @param consumer receives one row at a time
+     * @return number of rows read
+     * @throws IOException if the file is missing, from another format version, truncated or corrupt
+     */
+    public static long readBinary(Path file, Consumer<? super Employee> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != ExportFormat.BINARY_MAGIC) {
+                throw new IOException(file + " is not an employee export");
+            }
+            int version = in.readInt();
+            if (version != ExportFormat.BINARY_VERSION) {
+                throw new IOException(file + " has format version " + version
+                                      + ", expected " + ExportFormat.BINARY_VERSION);
+            }
+            long rows = 0;
+            for (int length = in.readInt(); length != -1; length = in.readInt()) {
+                if (length < Integer.BYTES + Double.BYTES + 5 * Integer.BYTES) {
+                    throw new IOException(file + " has a bad record length " + length + " after " + rows + " rows");
+                }
+                Employee e = new Employee();
+                e.setEmpID(in.readInt());
+                e.setSalary(in.readDouble());
+                e.setName(readString(in));
+                e.setSSN(readString(in));
+                e.setJobTitle(readString(in));
+                e.setDivision(readString(in));
+                e.setPayInfo(readString(in));
+                consumer.accept(e);
+                rows++;
+            }
+            long expected = in.readLong();
+            if (expected != rows) {
+                throw new IOException(file + " holds " + rows + " rows but its trailer says " + expected);
+            }
+            return rows;
+        } catch (EOFException e) {
+            throw new IOException(file + " is truncated", e);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,383 @@
+// src/main/java/com/group02/bulk/EmployeeImporter.java
+package com.group02.bulk;
+
+import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeManager;
+import com.group02.service.EmployeeService;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Loads employees from a CSV file, inserting new SSNs and updating the employees
+ * whose SSN already exists.
+ * <p>
+ * The file needs a header row naming its columns: name (or employeeName), SSN and
+ * salary are required, jobTitle, division and payInfo optional, in any order and case.
+ * It is read a chunk of rows at a time; each chunk is validated in parallel (name
+ * present, SSN of nine digits with or without dashes, salary in range, fields no
+ * longer than the table allows), checked for SSNs seen earlier in the file, and handed
+ * to a single writer thread that sends it to {@link EmployeeManager#upsertBySSN} as
+ * one batch. At most {@link #QUEUED_CHUNKS} chunks wait for the writer, so parsing
+ * runs ahead of the database by a bounded amount and memory stays constant whatever
+ * the file size, apart from a 4-byte entry per SSN for the duplicate check.
+ * </p>
+ * <p>
+ * Rows that fail validation or are refused by the database go to a reject file: the
+ * original fields preceded by their line number and the reason, under the file's own
+ * header, so it can be corrected and imported again.
+ * </p>
+ */
+public class EmployeeImporter {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    public static final double DEFAULT_MIN_SALARY = 0;
+    public static final double DEFAULT_MAX_SALARY = 10_000_000;
+    static final int QUEUED_CHUNKS = 2;
+    static final int MAX_TEXT_LENGTH = 255;
+
+    private final EmployeeManager dao;
+    private final EmployeeService service;
+    private final int chunkSize;
+    private final double minSalary;
+    private final double maxSalary;
+
+    /**
+     * @param dao     writes the rows
+     * @param service refreshed after the import so its cache and listeners see the rows; may be null
+     */
+    public EmployeeImporter(EmployeeManager dao, EmployeeService service) {
+        this(dao, service, DEFAULT_CHUNK_SIZE, DEFAULT_MIN_SALARY, DEFAULT_MAX_SALARY);
+    }
+
+    /**
+     * @param chunkSize rows validated and written together
+     * @param minSalary lowest salary accepted
+     * @param maxSalary highest salary accepted
+     */
+    public EmployeeImporter(EmployeeManager dao, EmployeeService service, int chunkSize,
+                            double minSalary, double maxSalary) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.dao = dao;
+        this.service = service;
+        this.chunkSize = chunkSize;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+    }
+
+    /** A data row as read, with the line it started on. */
+    private record Row(long line, List<String> fields) { }
+
+    /** Outcome of validating a row: an employee to write, or the reason it was rejected. */
+    private record Checked(Row row, Employee employee, String reason) { }
+
+    /**
+     * Imports a CSV file.
+     *
+     * @param csv        file to read, UTF-8
+     * @param rejects    file the rejected rows are written to; replaced if it exists
+     * @param onProgress called with running totals after each chunk is written, on the
+     *                   writer thread; may be null
+     * @return final totals
+     * @throws IOException if the file cannot be read, lacks a required column, or is
+     *                     malformed (rows before the malformed one stay imported)
+     */
+    public ImportStats importCsv(Path csv, Path rejects, Consumer<ImportStats> onProgress) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong read = new AtomicLong();
+        AtomicLong imported = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        InputStream counted = new FilterInputStream(Files.newInputStream(csv)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    bytes.addAndGet(n);
+                }
+                return n;
+            }
+        };
+        ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "employee-import-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        Semaphore queued = new Semaphore(QUEUED_CHUNKS + 1);   // chunks queued plus the one being written
+        try (CsvReader reader = new CsvReader(new InputStreamReader(counted, StandardCharsets.UTF_8));
+             BufferedWriter rejectFile = Files.newBufferedWriter(rejects, StandardCharsets.UTF_8)) {
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IOException(csv + " is empty");
+            }
+            int[] columns = columns(header);
+            List<String> rejectHeader = new ArrayList<>(List.of("line", "reason"));
+            rejectHeader.addAll(header);
+            rejectFile.write(Csv.join(rejectHeader));
+            rejectFile.newLine();
+
+            IntHashSet ssns = new IntHashSet();
+            Consumer<Checked> reject = checked -> {
+                rejected.incrementAndGet();
+                List<String> fields = new ArrayList<>();
+                fields.add(Long.toString(checked.row().line()));
+                fields.add(checked.reason());
+                fields.addAll(checked.row().fields());
+                synchronized (rejectFile) {
+                    try {
+                        rejectFile.write(Csv.join(fields));
+                        rejectFile.newLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            boolean more = true;
+            try {
+                while (more) {
+                    List<String> fields = reader.next();
+                    more = fields != null;
+                    if (more && !(fields.size() == 1 && fields.get(0).isBlank())) {
+                        chunk.add(new Row(reader.recordLine(), fields));
+                    }
+                    if (chunk.size() < chunkSize && more) {
+                        continue;
+                    }
+                    read.addAndGet(chunk.size());
+                    List<Checked> checked = chunk.parallelStream()
+                                                 .map(row -> validate(row, columns, header.size()))
+                                                 .toList();
+                    chunk = new ArrayList<>(chunkSize);
+
+                    List<Checked> accepted = new ArrayList<>(checked.size());
+                    for (Checked c : checked) {
+                        if (c.reason() != null) {
+                            reject.accept(c);
+                        } else if (!ssns.add(Integer.parseInt(c.employee().getSSN()))) {
+                            reject.accept(new Checked(c.row(), null, "SSN appears earlier in the file"));
+                        } else {
+                            accepted.add(c);
+                        }
+                    }
+                    if (accepted.isEmpty()) {
+                        continue;
+                    }
+                    queued.acquireUninterruptibly();
+                    writer.execute(() -> {
+                        try {
+                            List<Employee> employees = accepted.stream().map(Checked::employee).toList();
+                            List<BatchInsertResult.Failure> failures = dao.upsertBySSN(employees);
+                            for (BatchInsertResult.Failure failure : failures) {
+                                reject.accept(new Checked(accepted.get(failure.index()).row(), null, failure.message()));
+                            }
+                            imported.addAndGet(employees.size() - failures.size());
+                            if (onProgress != null) {
+                                onProgress.accept(new ImportStats(read.get(), imported.get(), rejected.get(), bytes.get(),
+                                                                  System.nanoTime() - start));
+                            }
+                        } catch (RuntimeException e) {
+                            e.printStackTrace();
+                            for (Checked c : accepted) {
+                                reject.accept(new Checked(c.row(), null, e.toString()));
+                            }
+                        } finally {
+                            queued.release();
+                        }
+                    });
+                }
+            } finally {
+                // chunks read before a malformed row are still written, before the reject file closes
+                writer.shutdown();
+                awaitWriter(writer);
+            }
+        } finally {
+            writer.shutdownNow();
+            awaitWriter(writer);
+        }
+
+        if (service != null && imported.get() > 0) {
+            service.refresh();
+        }
+        return new ImportStats(read.get(), imported.get(), rejected.get(), bytes.get(), System.nanoTime() - start);
+    }
+
+    /** Waits for queued chunks to be written; a chunk already sent to the database always finishes. */
+    private static void awaitWriter(ExecutorService writer) {
+        boolean interrupted = false;
+        while (!writer.isTerminated()) {
+            try {
+                writer.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // positions of name, SSN, jobTitle, division, salary and payInfo in the header; -1 if absent
+    private static final int NAME = 0, SSN = 1, JOB_TITLE = 2, DIVISION = 3, SALARY = 4, PAY_INFO = 5;
+
+    /** Maps the header to column positions, ignoring case, spaces and underscores. */
+    static int[] columns(List<String> header) throws IOException {
+        int[] columns = new int[6];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace(" ", "").replace("_", "").toLowerCase(Locale.ROOT);
+            int column = switch (name) {
+                case "name", "employeename" -> NAME;
+                case "ssn" -> SSN;
+                case "jobtitle" -> JOB_TITLE;
+                case "division" -> DIVISION;
+                case "salary" -> SALARY;
+                case "payinfo" -> PAY_INFO;
+                default -> -1;
+            };
+            if (column >= 0) {
+                if (columns[column] >= 0) {
+                    throw new IOException("Column " + header.get(i) + " appears twice in the header");
+                }
+                columns[column] = i;
+            }
+        }
+        if (columns[NAME] < 0 || columns[SSN] < 0 || columns[SALARY] < 0) {
+            throw new IOException("Header must have name, SSN and salary columns: " + header);
+        }
+        return columns;
+    }
+
+    /** Checks one row and builds its employee; runs on the common pool. */
+    private Checked validate(Row row, int[] columns, int width) {
+        List<String> fields = row.fields();
+        if (fields.size() != width) {
+            return new Checked(row, null, "Expected " + width + " fields, found " + fields.size());
+        }
+        String name = text(fields, columns[NAME]);
+        if (name == null) {
+            return new Checked(row, null, "Name is missing");
+        }
+        String ssn = fields.get(columns[SSN]).strip();
+        if (!isSsn(ssn)) {
+            return new Checked(row, null, "SSN must be 9 digits, as 123456789 or 123-45-6789");
+        }
+        ssn = ssn.replace("-", "");
+        double salary;
+        try {
+            salary = Double.parseDouble(fields.get(columns[SALARY]).strip().replace("$", "").replace(",", ""));
+        } catch (NumberFormatException e) {
+            return new Checked(row, null, "Salary is not a number");
+        }
+        if (!(salary >= minSalary && salary <= maxSalary)) {
+            return new Checked(row, null, String.format("Salary must be between %.2f and %.2f", minSalary, maxSalary));
+        }
+        for (int column : columns) {
+            if (column >= 0 && fields.get(column).length() > MAX_TEXT_LENGTH) {
+                return new Checked(row, null, "Field longer than " + MAX_TEXT_LENGTH + " characters");
+            }
+        }
+        Employee employee = new Employee(name, ssn, text(fields, columns[JOB_TITLE]), text(fields, columns[DIVISION]),
+                                         salary, text(fields, columns[PAY_INFO]));
+        return new Checked(row, employee, null);
+    }
+
+    /** @return the trimmed field, or null if the column is absent or the field blank */
+    private static String text(List<String> fields, int column) {
+        if (column < 0) {
+            return null;
+        }
+        String value = fields.get(column).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    /** @return true for nine digits, optionally dashed as 123-45-6789 */
+    static boolean isSsn(String s) {
+        int length = s.length();
+        if (length != 9 && length != 11) {
+            return false;
+        }
+        int digits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            boolean dash = length == 11 && (i == 3 || i == 6);
+            if (dash ? c != '-' : (c < '0' || c > '9')) {
+                return false;
+            }
+            if (!dash) {
+                digits++;
+            }
+        }
+        return digits == 9;
+    }
+
+    /**
+     * Open-addressing set of non-negative ints; a nine-digit SSN fits in one, so a
+     * million rows cost 4-8 MB rather than the ~80 MB of a HashSet of Strings.
+     */
+    static final class IntHashSet {
+        private static final int EMPTY = -1;
+        private int[] slots = new int[1024];
+        private int size;
+
+        IntHashSet() {
+            Arrays.fill(slots, EMPTY);
+        }
+
+        /** @return true if the value was not in the set yet */
+        boolean add(int value) {
+            if (size * 2 >= slots.length) {
+                grow();
+            }
+            int mask = slots.length - 1;
+            for (int i = mix(value) & mask; ; i = (i + 1) & mask) {
+                if (slots[i] == EMPTY) {
+                    slots[i] = value;
+                    size++;
+                    return true;
+                }
+                if (slots[i] == value) {
+                    return false;
+                }
+            }
+        }
+
+        private void grow() {
+            int[] old = slots;
+            slots = new int[old.length * 2];
+            Arrays.fill(slots, EMPTY);
+            size = 0;
+            for (int value : old) {
+                if (value != EMPTY) {
+                    add(value);
+                }
+            }
+        }
+
+        private static int mix(int value) {
+            int h = value * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+// src/main/java/com/group02/bulk/ExportFilter.java
+package com.group02.bulk;
+
+/**
+ * Which employees an export includes. Null components leave that condition out.
+ *
+ * @param division  exact division, or null for every division
+ * @param minSalary lowest salary, inclusive, or null
+ * @param maxSalary highest salary, inclusive, or null
+ */
+public record ExportFilter(String division, Double minSalary, Double maxSalary) {
+    /** Every employee. */
+    public static final ExportFilter ALL = new ExportFilter(null, null, null);
+
+    public ExportFilter {
+        if (minSalary != null && maxSalary != null && minSalary > maxSalary) {
+            throw new IllegalArgumentException("minSalary " + minSalary + " is above maxSalary " + maxSalary);
+        }
+    }
+}
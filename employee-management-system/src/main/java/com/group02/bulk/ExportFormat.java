@@ -0,0 +1,173 @@
+// src/main/java/com/group02/bulk/ExportFormat.java
+package com.group02.bulk;
+
+import com.group02.model.Employee;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * File formats {@link EmployeeExporter} can write. Salaries are written with exactly
+ * two decimals in the text formats, as stored in the DECIMAL(10,2) column.
+ */
+public enum ExportFormat {
+    /** Comma separated with a header row, quoted as {@link CsvReader} and spreadsheets expect. */
+    CSV("csv") {
+        @Override
+        void begin(ChannelSink out) throws IOException {
+            out.put("empID,name,SSN,jobTitle,division,salary,payInfo\n".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        void write(Employee e, String ssn, ChannelSink out) throws IOException {
+            StringBuilder line = new StringBuilder(128);
+            line.append(e.getEmpID()).append(',')
+                .append(Csv.join(List.of(text(e.getName()), text(ssn), text(e.getJobTitle()), text(e.getDivision()))))
+                .append(',');
+            appendMoney(line, e.getSalary());
+            line.append(',').append(Csv.escape(e.getPayInfo())).append('\n');
+            out.put(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    },
+
+    /** One JSON object per line; absent fields are null. */
+    JSON_LINES("jsonl") {
+        @Override
+        void write(Employee e, String ssn, ChannelSink out) throws IOException {
+            StringBuilder line = new StringBuilder(160);
+            line.append("{\"empID\":").append(e.getEmpID());
+            appendJson(line.append(",\"name\":"), e.getName());
+            appendJson(line.append(",\"SSN\":"), ssn);
+            appendJson(line.append(",\"jobTitle\":"), e.getJobTitle());
+            appendJson(line.append(",\"division\":"), e.getDivision());
+            appendMoney(line.append(",\"salary\":"), e.getSalary());
+            appendJson(line.append(",\"payInfo\":"), e.getPayInfo());
+            line.append("}\n");
+            out.put(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    },
+
+    /**
+     * Length-prefixed binary records, read back by {@link EmployeeExporter#readBinary}.
+     * <p>
+     * Layout (big-endian):
+     * </p>
+     * <pre>
+     *   int   magic 'EMPX'
+     *   int   format version
+     *   per row: int length of the rest of the record, int empID, double salary, then
+     *            name, SSN, job title, division and pay info as int length (-1 for
+     *            null) + UTF-8 bytes
+     *   int   -1, marking the end of the rows
+     *   long  row count
+     * </pre>
+     * <p>
+     * The prefix lets a reader skip a record without decoding it, and the trailer
+     * tells a complete file from a truncated one.
+     * </p>
+     */
+    BINARY("bin") {
+        @Override
+        void begin(ChannelSink out) throws IOException {
+            out.putInt(BINARY_MAGIC);
+            out.putInt(BINARY_VERSION);
+        }
+
+        @Override
+        void write(Employee e, String ssn, ChannelSink out) throws IOException {
+            byte[][] strings = { utf8(e.getName()), utf8(ssn), utf8(e.getJobTitle()),
+                                 utf8(e.getDivision()), utf8(e.getPayInfo()) };
+            int length = Integer.BYTES + Double.BYTES;
+            for (byte[] s : strings) {
+                length += Integer.BYTES + (s == null ? 0 : s.length);
+            }
+            out.putInt(length);
+            out.putInt(e.getEmpID());
+            out.putDouble(e.getSalary());
+            for (byte[] s : strings) {
+                out.putInt(s == null ? -1 : s.length);
+                if (s != null) {
+                    out.put(s);
+                }
+            }
+        }
+
+        @Override
+        void end(ChannelSink out, long rows) throws IOException {
+            out.putInt(-1);
+            out.putLong(rows);
+        }
+    };
+
+    static final int BINARY_MAGIC = 0x454D5058;   // "EMPX"
+    static final int BINARY_VERSION = 1;
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /** @return usual file name extension, without the dot */
+    public String extension() {
+        return extension;
+    }
+
+    /** Writes whatever comes before the first row. */
+    void begin(ChannelSink out) throws IOException {
+    }
+
+    /** Writes one row, with {@code ssn} in place of the employee's own (it may be masked). */
+    abstract void write(Employee e, String ssn, ChannelSink out) throws IOException;
+
+    /** Writes whatever comes after the last row. */
+    void end(ChannelSink out, long rows) throws IOException {
+    }
+
+    private static String text(String s) {
+        return s == null ? "" : s;
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Appends a salary as a plain decimal with two places, e.g. 10000000.00 rather than 1.0E7. */
+    static void appendMoney(StringBuilder out, double amount) {
+        long cents = Math.round(amount * 100);
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        long fraction = cents % 100;
+        out.append(cents / 100).append('.').append(fraction < 10 ? "0" : "").append(fraction);
+    }
+
+    /** Appends a JSON string literal, or null. */
+    static void appendJson(StringBuilder out, String s) {
+        if (s == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
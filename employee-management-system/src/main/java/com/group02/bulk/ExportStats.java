@@ -0,0 +1,23 @@
+// src/main/java/com/group02/bulk/ExportStats.java
+package com.group02.bulk;
+
+/**
+ * Outcome of an {@link EmployeeExporter} run.
+ *
+ * @param rows         employees written
+ * @param bytes        size of the output
+ * @param elapsedNanos time the export took
+ */
+public record ExportStats(long rows, long bytes, long elapsedNanos) {
+
+    /** @return rows written per second */
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d rows, %.1f MB in %.1f s (%,.0f rows/s)",
+                             rows, bytes / (1024.0 * 1024), elapsedNanos / 1e9, rowsPerSecond());
+    }
+}
@@ -0,0 +1,30 @@
+// src/main/java/com/group02/bulk/ImportStats.java
+package com.group02.bulk;
+
+/**
+ * Progress or outcome of an {@link EmployeeImporter} run.
+ *
+ * @param rowsRead     data rows parsed so far, header excluded
+ * @param imported     rows inserted or updated in the database
+ * @param rejected     rows written to the reject file instead
+ * @param bytesRead    bytes of the CSV file consumed
+ * @param elapsedNanos time since the import started
+ */
+public record ImportStats(long rowsRead, long imported, long rejected, long bytesRead, long elapsedNanos) {
+
+    /** @return rows read per second */
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rowsRead * 1e9 / elapsedNanos;
+    }
+
+    /** @return megabytes of CSV read per second */
+    public double megabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesRead * 1e9 / elapsedNanos / (1024 * 1024);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d rows read, %,d imported, %,d rejected in %.1f s (%,.0f rows/s, %.1f MB/s)",
+                             rowsRead, imported, rejected, elapsedNanos / 1e9, rowsPerSecond(), megabytesPerSecond());
+    }
+}
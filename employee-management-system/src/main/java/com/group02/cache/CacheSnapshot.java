@@ -0,0 +1,207 @@
+// src/main/java/com/group02/cache/CacheSnapshot.java
+package com.group02.cache;
+
+import com.group02.model.Employee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Employee rows together with the change-tracking high-water mark they are current
+ * as of, and the compact binary file format used to persist them between runs.
+ * <p>
+ * Layout (big-endian):
+ * </p>
+ * <pre>
+ *   int   magic 'EMPS'
+ *   int   format version
+ *   long  high-water mark, epoch millis
+ *   int   high-water mark, nanos of second
+ *   int   row count
+ *   long  payload length in bytes
+ *   long  CRC-32 of the payload followed by all header fields above
+ *   payload: per row int empID, double salary, then name, SSN, job title,
+ *            division and pay info as int length (-1 for null) + UTF-8 bytes
+ * </pre>
+ * <p>
+ * Files are written to a temporary sibling and renamed into place, so a crash
+ * mid-write never leaves a half-written snapshot behind. Snapshots hold names and
+ * SSNs, so where the file system has POSIX permissions the file is created
+ * readable and writable by its owner only, whatever the umask. Reading maps the file
+ * and checks magic, version, length and checksum before decoding a single row;
+ * any mismatch is reported as an {@link IOException} so callers can fall back
+ * to a database load.
+ * </p>
+ *
+ * @param rows      employees, in the order they should be cached
+ * @param highWater database time the rows are current as of
+ */
+public record CacheSnapshot(List<Employee> rows, Timestamp highWater) {
+    /** Bumped whenever the layout changes; files with another version are rejected. */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x454D5053;   // "EMPS"
+    private static final int CHECKSUM_OFFSET = 4 + 4 + 8 + 4 + 4 + 8;
+    private static final int HEADER_BYTES = CHECKSUM_OFFSET + 8;
+    private static final int MIN_ROW_BYTES = 4 + 8 + 5 * 4;
+
+    /**
+     * Writes the snapshot, replacing {@code file} atomically.
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        // permissions only apply to a new file, so never reuse one left by a crash
+        Files.deleteIfExists(tmp);
+        try (FileChannel channel = FileChannel.open(tmp, EnumSet.of(StandardOpenOption.CREATE_NEW,
+                                                                    StandardOpenOption.WRITE),
+                                                    ownerOnly(tmp))) {
+            // payload first, after room for the header, checksumming on the way
+            channel.position(HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16));
+            for (Employee e : rows) {
+                out.writeInt(e.getEmpID());
+                out.writeDouble(e.getSalary());
+                writeString(out, e.getName());
+                writeString(out, e.getSSN());
+                writeString(out, e.getJobTitle());
+                writeString(out, e.getDivision());
+                writeString(out, e.getPayInfo());
+            }
+            out.flush();
+            long payloadBytes = channel.position() - HEADER_BYTES;
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC)
+                  .putInt(FORMAT_VERSION)
+                  .putLong(highWater.getTime())
+                  .putInt(highWater.getNanos())
+                  .putInt(rows.size())
+                  .putLong(payloadBytes);
+            crc.update(header.array(), 0, CHECKSUM_OFFSET);
+            header.putLong(crc.getValue()).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** @return attributes that make a new file rw------- where the file system supports them */
+    private static FileAttribute<?>[] ownerOnly(Path file) {
+        if (!file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Maps and decodes a snapshot file.
+     * @return the rows and their high-water mark
+     * @throws IOException if the file is missing, from another format version, truncated or corrupt
+     */
+    public static CacheSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Snapshot too short: " + size + " bytes");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + size + " bytes");
+            }
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buf.getInt() != MAGIC) {
+                throw new IOException("Not an employee snapshot: " + file);
+            }
+            int version = buf.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ", expected " + FORMAT_VERSION);
+            }
+            long highWaterMillis = buf.getLong();
+            int highWaterNanos = buf.getInt();
+            int count = buf.getInt();
+            long payloadBytes = buf.getLong();
+            long checksum = buf.getLong();
+            if (payloadBytes != size - HEADER_BYTES || count < 0 || (long) count * MIN_ROW_BYTES > payloadBytes) {
+                throw new IOException("Snapshot header does not match file length");
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buf.slice(HEADER_BYTES, (int) payloadBytes));
+            crc.update(buf.slice(0, CHECKSUM_OFFSET));
+            if (crc.getValue() != checksum) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            Timestamp highWater = new Timestamp(highWaterMillis);
+            highWater.setNanos(highWaterNanos);
+
+            List<Employee> rows = new ArrayList<>(count);
+            try {
+                for (int i = 0; i < count; i++) {
+                    Employee e = new Employee();
+                    e.setEmpID(buf.getInt());
+                    e.setSalary(buf.getDouble());
+                    e.setName(readString(buf));
+                    e.setSSN(readString(buf));
+                    e.setJobTitle(readString(buf));
+                    e.setDivision(readString(buf));
+                    e.setPayInfo(readString(buf));
+                    rows.add(e);
+                }
+            } catch (RuntimeException malformed) {
+                // checksum matched but the content doesn't parse: written by a buggy writer
+                throw new IOException("Malformed snapshot row", malformed);
+            }
+            if (buf.hasRemaining()) {
+                throw new IOException("Trailing bytes after " + count + " snapshot rows");
+            }
+            return new CacheSnapshot(rows, highWater);
+        }
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
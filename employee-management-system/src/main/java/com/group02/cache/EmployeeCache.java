@@ -0,0 +1,1050 @@
+// src/main/java/com/group02/cache/EmployeeCache.java
+package com.group02.cache;
+
+import com.group02.model.Employee;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import com.group02.repository.SortColumn;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory employee cache with a primary-key and an SSN hash index.
+ * <p>
+ * Rows are stored column by column in insertion order rather than as Employee
+ * objects: empID in an int array, salary as whole cents in a long array (the
+ * database column is DECIMAL(10,2), so this is exact), job title, division and
+ * pay info as codes into per-column {@link StringDictionary dictionaries}, and
+ * names and SSNs packed as UTF-8 into a {@link TextColumn}. That takes a row from
+ * roughly 420 bytes of objects to under 100, and lets scans walk flat arrays.
+ * Employee objects are only built for rows a caller actually gets back.
+ * </p>
+ * <p>
+ * Primitive open-addressing tables map empID and SSN to row position, so lookups
+ * never box. Deleted rows leave a hole that is reclaimed when the columns are
+ * compacted, which keeps add, update and delete at O(1) amortized. Running payroll
+ * totals per division and job title are adjusted by the same writes.
+ * </p>
+ * <p>
+ * Every read returns fresh Employee instances, so callers can never change indexed
+ * fields behind the cache's back.
+ * </p>
+ * <p>
+ * Thread-safe. Writers take a {@link StampedLock} exclusively; they only touch memory,
+ * so the lock is held for microseconds. ID, SSN, paging and scan reads run as
+ * optimistic reads that take no lock at all and are validated afterwards; only a
+ * read that overlapped a write is retried under the read lock. Salary-index queries
+ * always take the read lock.
+ * </p>
+ */
+public class EmployeeCache {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int SCAN_CHUNK = 16_384;   // rows per task in parallel scans
+    private static final int BYTES_PER_ROW = 16;    // initial text column size estimate
+
+    private final StampedLock lock = new StampedLock();
+
+    // column storage, one entry per row position, in insertion order
+    private int[] ids;
+    private boolean[] live;
+    private long[] salaryCents;
+    private int[] jobTitleCodes;
+    private int[] divisionCodes;
+    private int[] payInfoCodes;
+    private TextColumn names = new TextColumn(0, 0);
+    private TextColumn ssns = new TextColumn(0, 0);
+    private int rowCount;   // used row positions, including deleted ones
+    private int size;       // live rows
+    private boolean sorted = true;  // ids[0..rowCount) ascending, enables keyset paging
+    private int layout;             // bumped whenever rows move to new positions
+    private long rowsChanged;       // bumped whenever rows are added, removed or moved
+    // per SortColumn ordinal, bumped whenever a row's value in that column changes
+    private final long[] columnChanges = new long[SortColumn.values().length];
+
+    // live rows in one column's ascending order, valid while no row was added, removed
+    // or moved and no value in that column changed; other writes leave it in place
+    private record RowOrder(SortColumn column, long rowsChanged, long columnChanges, int[] rows) { }
+    private volatile RowOrder rowOrder;
+
+    // what a sort needs from the columns, copied out so the sort can run unlocked;
+    // order is null when the rows already are in column order
+    private record SortKeys(SortColumn column, long rowsChanged, long columnChanges, int[] rows,
+                            IntBinaryOperator order) { }
+
+    // sorts that found the cache changed when they were done before one is run under the lock
+    private static final int UNLOCKED_SORT_ATTEMPTS = 2;
+
+    // replaced, never cleared, by loadAll, so values a reader has decoded stay valid
+    private StringDictionary jobTitles = new StringDictionary();
+    private StringDictionary divisions = new StringDictionary();
+    private StringDictionary payInfos = new StringDictionary();
+
+    // empID -> row position + 1 (0 marks an empty slot); length is a power of two
+    private int[] slots;
+
+    // SSN -> row position + 1, keyed by the hash of its UTF-8 bytes. Rows whose SSN
+    // changed or that were deleted leave stale entries behind, which lookups skip by
+    // re-checking the row; the table is rebuilt once it is half full.
+    private int[] ssnSlots;
+    private int ssnSlotsUsed;
+
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+
+    // running payroll figures, adjusted on every write
+    private final PayrollTotals divisionTotals = new PayrollTotals();
+    private final PayrollTotals jobTitleTotals = new PayrollTotals();
+
+    public EmployeeCache() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Replaces the cache contents with the given employees.
+     * @param employees rows to load
+     */
+    public void loadAll(Collection<Employee> employees) {
+        long stamp = lock.writeLock();
+        try {
+            rowsChanged++;
+            rowCount = 0;
+            sorted = true;
+            salaryIndex.clear();
+            divisionTotals.clear();
+            jobTitleTotals.clear();
+            // values only the old rows used would otherwise be kept, and grouped, forever
+            jobTitles = new StringDictionary();
+            divisions = new StringDictionary();
+            payInfos = new StringDictionary();
+            allocate(Math.max(INITIAL_CAPACITY, employees.size()));
+            for (Employee e : employees) {
+                putLocked(e);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Inserts or replaces the employee with the same empID.
+     * @param employee row to store; its values are copied into the columns
+     */
+    public void put(Employee employee) {
+        long stamp = lock.writeLock();
+        try {
+            putLocked(employee);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void putLocked(Employee e) {
+        int empID = e.getEmpID();
+        long cents = toCents(e.getSalary());
+        byte[] name = TextColumn.encode(e.getName());
+        byte[] ssn = TextColumn.encode(e.getSSN());
+        int row = findRow(empID);
+        if (row >= 0) {
+            boolean nameChanged = !names.equalTo(row, name);
+            boolean ssnChanged = !ssns.equalTo(row, ssn);
+            long oldCents = salaryCents[row];
+            int oldJobTitle = jobTitleCodes[row];
+            int oldDivision = divisionCodes[row];
+            salaryIndex.move(empID, toSalary(oldCents), toSalary(cents));
+            uncountPayroll(row);
+            writeRow(row, e, cents, name, ssn);
+            countPayroll(row);
+            if (ssnChanged && ssn != null) {
+                indexSsn(row, ssn);
+            }
+            // a refresh re-putting unchanged rows keeps every sorted order
+            if (nameChanged) {
+                columnChanged(SortColumn.NAME);
+            }
+            if (ssnChanged) {
+                columnChanged(SortColumn.SSN);
+            }
+            if (oldCents != cents) {
+                columnChanged(SortColumn.SALARY);
+            }
+            if (oldJobTitle != jobTitleCodes[row]) {
+                columnChanged(SortColumn.JOB_TITLE);
+            }
+            if (oldDivision != divisionCodes[row]) {
+                columnChanged(SortColumn.DIVISION);
+            }
+        } else {
+            if (rowCount == ids.length) {
+                // reclaim holes before growing
+                allocate(size * 2 >= ids.length ? ids.length * 2 : ids.length);
+            }
+            row = rowCount;
+            if (row > 0 && ids[row - 1] > empID) {
+                sorted = false;
+            }
+            ids[row] = empID;
+            writeRow(row, e, cents, name, ssn);
+            countPayroll(row);
+            live[row] = true;
+            rowCount++;
+            insertSlot(slots, empID, row);
+            salaryIndex.add(empID, toSalary(cents));
+            size++;
+            rowsChanged++;
+            if (ssn != null) {
+                indexSsn(row, ssn);
+            }
+        }
+    }
+
+    private void writeRow(int row, Employee e, long cents, byte[] name, byte[] ssn) {
+        salaryCents[row] = cents;
+        jobTitleCodes[row] = jobTitles.encode(e.getJobTitle());
+        divisionCodes[row] = divisions.encode(e.getDivision());
+        payInfoCodes[row] = payInfos.encode(e.getPayInfo());
+        names.set(row, name);
+        ssns.set(row, ssn);
+    }
+
+    private void columnChanged(SortColumn column) {
+        columnChanges[column.ordinal()]++;
+    }
+
+    /**
+     * Removes the employee with the given ID.
+     * @return true if a row was removed
+     */
+    public boolean remove(int empID) {
+        long stamp = lock.writeLock();
+        try {
+            int row = findRow(empID);
+            if (row < 0) {
+                return false;
+            }
+            rowsChanged++;
+            salaryIndex.remove(empID, toSalary(salaryCents[row]));
+            uncountPayroll(row);
+            // the ID and SSN slots keep pointing here as tombstones until compaction
+            live[row] = false;
+            names.clear(row);
+            ssns.clear(row);
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** @return the employee with the given ID, if cached */
+    public Optional<Employee> get(int empID) {
+        return read(() -> {
+            int row = findRow(empID);
+            return row < 0 ? Optional.<Employee>empty() : Optional.of(materialize(row));
+        });
+    }
+
+    /** @return the employee with the given SSN, if cached */
+    public Optional<Employee> getBySSN(String ssn) {
+        if (ssn == null) {
+            return Optional.empty();
+        }
+        byte[] key = TextColumn.encode(ssn);
+        return read(() -> {
+            int row = findSsnRow(key);
+            return row < 0 ? Optional.<Employee>empty() : Optional.of(materialize(row));
+        });
+    }
+
+    /** @return true if an employee with this ID is cached */
+    public boolean contains(int empID) {
+        return read(() -> findRow(empID) >= 0);
+    }
+
+    /** @return number of cached employees */
+    public int size() {
+        return read(() -> size);
+    }
+
+    /** @return all cached employees, in insertion order */
+    public List<Employee> values() {
+        return scan(false, () -> row -> true);
+    }
+
+    /** @return true if rows are held in ascending empID order, so {@link #page} can be used */
+    public boolean isSorted() {
+        return read(() -> sorted);
+    }
+
+    /**
+     * Keyset page: up to {@code limit} employees with empID greater than
+     * {@code afterId}, in empID order. Binary-searches the ID column, so a page costs
+     * O(log n + limit) and never touches the rest of the cache.
+     *
+     * @throws IllegalStateException if rows are not in ascending ID order (see {@link #isSorted()})
+     */
+    public List<Employee> page(int afterId, int limit) {
+        return read(() -> {
+            if (!sorted) {
+                throw new IllegalStateException("Cache rows are not in empID order");
+            }
+            int[] ids = this.ids;
+            boolean[] live = this.live;
+            int end = rowCount;
+            // deleted rows keep their id, so ids[0..rowCount) stays sorted
+            int lo = 0, hi = end;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ids[mid] <= afterId) lo = mid + 1;
+                else hi = mid;
+            }
+            List<Employee> result = new ArrayList<>(Math.min(limit, size));
+            for (int i = lo; i < end && result.size() < limit; i++) {
+                if (live[i]) {
+                    result.add(materialize(i));
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Returns the rows at positions {@code offset .. offset + limit - 1} of the whole
+     * cache in {@code column} order, for views that page through it at random, such as
+     * a scrolled table.
+     * <p>
+     * The order is that of {@link SortColumn#comparator}. It is computed once and kept
+     * until a row is added, removed or moved, or a value in {@code column} changes, so
+     * scrolling costs only the rows it returns and edits of other columns (or a refresh
+     * re-reading unchanged rows) leave it alone. Descending slices read the same order
+     * backwards. Sorting works on primitive copies of the keys taken in one read and
+     * runs without the lock, so writers are not held up by it; only if writes keep
+     * invalidating the result is a sort run under the read lock.
+     * </p>
+     */
+    public EmployeeSlice slice(SortColumn column, boolean ascending, int offset, int limit) {
+        for (int attempt = 0; ; attempt++) {
+            EmployeeSlice cached = read(() -> {
+                RowOrder order = rowOrder;
+                return isCurrent(order, column) ? slice(order.rows(), ascending, offset, limit) : null;
+            });
+            if (cached != null) {
+                return cached;
+            }
+            if (attempt == UNLOCKED_SORT_ATTEMPTS) {
+                long stamp = lock.readLock();
+                try {
+                    RowOrder order = sort(sortKeys(column));
+                    rowOrder = order;
+                    return slice(order.rows(), ascending, offset, limit);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            rowOrder = sort(read(() -> sortKeys(column)));
+        }
+    }
+
+    private boolean isCurrent(RowOrder order, SortColumn column) {
+        return order != null && order.column() == column && order.rowsChanged() == rowsChanged
+                && order.columnChanges() == columnChanges[column.ordinal()];
+    }
+
+    private EmployeeSlice slice(int[] order, boolean ascending, int offset, int limit) {
+        int total = order.length;
+        int from = Math.max(0, Math.min(offset, total));
+        int to = (int) Math.min(total, (long) from + limit);
+        List<Employee> employees = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            employees.add(materialize(order[ascending ? i : total - 1 - i]));
+        }
+        return new EmployeeSlice(employees, from, total);
+    }
+
+    /** Copies the live row positions and the column's keys; O(n), no sorting. */
+    private SortKeys sortKeys(SortColumn column) {
+        int end = rowCount;
+        boolean[] live = this.live;
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            if (live[i]) {
+                rows[count++] = i;
+            }
+        }
+        long version = columnChanges[column.ordinal()];
+        if (column == SortColumn.EMP_ID && sorted) {
+            // insertion order already is empID order
+            return new SortKeys(column, rowsChanged, version, rows, null);
+        }
+        int[] ids = Arrays.copyOf(this.ids, end);
+        IntBinaryOperator byId = (a, b) -> Integer.compare(ids[a], ids[b]);
+        IntBinaryOperator order = switch (column) {
+            case EMP_ID -> byId;
+            case SALARY -> {
+                long[] cents = Arrays.copyOf(salaryCents, end);
+                yield thenBy((a, b) -> Long.compare(cents[a], cents[b]), byId);
+            }
+            case JOB_TITLE -> thenBy(byRank(jobTitleCodes, jobTitles, end), byId);
+            case DIVISION -> thenBy(byRank(divisionCodes, divisions, end), byId);
+            case NAME -> thenBy(byText(names, rows, end), byId);
+            case SSN -> thenBy(byText(ssns, rows, end), byId);
+        };
+        return new SortKeys(column, rowsChanged, version, rows, order);
+    }
+
+    /** Sorts the copied rows; runs on the caller's copies only, so needs no lock. */
+    private static RowOrder sort(SortKeys keys) {
+        if (keys.order() != null) {
+            sortRows(keys.rows(), keys.order());
+        }
+        return new RowOrder(keys.column(), keys.rowsChanged(), keys.columnChanges(), keys.rows());
+    }
+
+    private static IntBinaryOperator thenBy(IntBinaryOperator first, IntBinaryOperator second) {
+        return (a, b) -> {
+            int c = first.applyAsInt(a, b);
+            return c != 0 ? c : second.applyAsInt(a, b);
+        };
+    }
+
+    /** Ranks dictionary codes by their text once, so rows then compare as ints. */
+    private static IntBinaryOperator byRank(int[] codes, StringDictionary dictionary, int end) {
+        Integer[] byText = new Integer[dictionary.size()];
+        for (int i = 0; i < byText.length; i++) {
+            byText[i] = i;
+        }
+        Arrays.sort(byText, Comparator.comparing(dictionary::decode, String.CASE_INSENSITIVE_ORDER));
+        int[] rank = new int[byText.length];
+        for (int i = 0; i < byText.length; i++) {
+            rank[byText[i]] = i;
+        }
+        // NULL_CODE ranks first
+        int[] rowRank = new int[end];
+        for (int row = 0; row < end; row++) {
+            rowRank[row] = codes[row] < 0 ? -1 : rank[codes[row]];
+        }
+        return (a, b) -> Integer.compare(rowRank[a], rowRank[b]);
+    }
+
+    /** Decodes the column once for the given rows, then compares the Strings. */
+    private static IntBinaryOperator byText(TextColumn column, int[] rows, int end) {
+        String[] text = new String[end];
+        for (int row : rows) {
+            text[row] = column.get(row);
+        }
+        Comparator<String> order = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+        return (a, b) -> order.compare(text[a], text[b]);
+    }
+
+    /** Stable merge sort of row positions, so sorting never boxes them. */
+    static void sortRows(int[] rows, IntBinaryOperator order) {
+        int[] from = rows;
+        int[] to = new int[rows.length];
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int lo = 0; lo < rows.length; lo += 2 * width) {
+                int mid = Math.min(lo + width, rows.length);
+                int hi = Math.min(lo + 2 * width, rows.length);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    to[k++] = order.applyAsInt(from[i], from[j]) <= 0 ? from[i++] : from[j++];
+                }
+                while (i < mid) {
+                    to[k++] = from[i++];
+                }
+                while (j < hi) {
+                    to[k++] = from[j++];
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != rows) {
+            System.arraycopy(from, 0, rows, 0, rows.length);
+        }
+    }
+
+    /**
+     * Returns all employees matching the predicate, in insertion order.
+     * The predicate sees a read-only view of each row; see {@link #filter(Predicate, boolean)}.
+     */
+    public List<Employee> filter(Predicate<Employee> predicate) {
+        return filter(predicate, false);
+    }
+
+    /**
+     * Returns all employees matching the predicate, in insertion order.
+     * <p>
+     * The predicate is handed a read-only view of each row that decodes a field only
+     * when its getter is called, so a test on one column never builds the others.
+     * The view is reused between rows and must not be kept; its setters throw.
+     * </p>
+     * <p>
+     * With {@code parallel} the rows are split into fixed chunks that are scanned
+     * on the common fork-join pool and concatenated in order; the predicate must then
+     * be thread-safe.
+     * </p>
+     */
+    public List<Employee> filter(Predicate<Employee> predicate, boolean parallel) {
+        return scan(parallel, () -> {
+            RowView view = new RowView();
+            return row -> {
+                view.row = row;
+                return predicate.test(view);
+            };
+        });
+    }
+
+    /**
+     * Returns all employees with a non-null name matching the predicate, in insertion
+     * order. Names are tested in place in the packed name column, without building a
+     * String for ASCII names; the CharSequence must not be kept.
+     * @param parallel scan chunks on the common fork-join pool; the predicate must then be thread-safe
+     */
+    public List<Employee> filterByName(Predicate<? super CharSequence> predicate, boolean parallel) {
+        return scan(parallel, () -> {
+            TextColumn.AsciiView scratch = new TextColumn.AsciiView();
+            return row -> {
+                CharSequence name = names.view(row, scratch);
+                return name != null && predicate.test(name);
+            };
+        });
+    }
+
+    /**
+     * Returns all employees whose name contains {@code text}, in insertion order. The
+     * fast path for literal name searches: ASCII names are searched byte for byte in
+     * the packed column, with no per-row view or predicate call.
+     * @param parallel scan chunks on the common fork-join pool
+     */
+    public List<Employee> filterByNameContaining(String text, boolean parallel) {
+        byte[] ascii = text.chars().allMatch(c -> c < 0x80) ? text.getBytes(StandardCharsets.US_ASCII) : null;
+        return scan(parallel, () -> row -> names.contains(row, text, ascii));
+    }
+
+    /**
+     * Like {@link #filterByName(Predicate, boolean)}, but hands matches to {@code sink} one
+     * chunk of rows at a time, so a caller can show the first matches long before a large
+     * scan is done, and gives up as soon as {@code cancelled} returns true.
+     * <p>
+     * Each chunk is a consistent read of its own; writes may land between chunks. If rows
+     * move in between (a bulk load or a compaction), the scan starts over from the first
+     * row and skips employees the sink already has, so no one is delivered twice.
+     * </p>
+     * @param cancelled polled before every chunk
+     * @param sink      receives each non-empty batch of matches on the calling thread
+     * @return true if the scan ran to the end, false if it was cancelled
+     */
+    public boolean filterByName(Predicate<? super CharSequence> predicate, BooleanSupplier cancelled,
+                                Consumer<List<Employee>> sink) {
+        TextColumn.AsciiView scratch = new TextColumn.AsciiView();
+        IntPredicate matcher = row -> {
+            CharSequence name = names.view(row, scratch);
+            return name != null && predicate.test(name);
+        };
+        int[] delivered = new int[16];
+        int deliveredCount = 0;
+        BitSet skip = null;
+        int expected = read(() -> layout);
+        int from = 0;
+        while (!cancelled.getAsBoolean()) {
+            int start = from;
+            int version = expected;
+            Chunk chunk = read(() -> layout != version
+                    ? null
+                    : new Chunk(scan(matcher, start, Math.min(rowCount, start + SCAN_CHUNK)),
+                                start + SCAN_CHUNK >= rowCount));
+            if (chunk == null) {
+                skip = new BitSet();
+                for (int i = 0; i < deliveredCount; i++) {
+                    skip.set(delivered[i]);
+                }
+                expected = read(() -> layout);
+                from = 0;
+                continue;
+            }
+            List<Employee> matches = chunk.matches();
+            if (skip != null) {
+                BitSet seen = skip;
+                matches.removeIf(e -> seen.get(e.getEmpID()));
+            }
+            if (!matches.isEmpty()) {
+                if (deliveredCount + matches.size() > delivered.length) {
+                    delivered = Arrays.copyOf(delivered, Math.max(delivered.length * 2, deliveredCount + matches.size()));
+                }
+                for (Employee e : matches) {
+                    delivered[deliveredCount++] = e.getEmpID();
+                }
+                sink.accept(matches);
+            }
+            if (chunk.last()) {
+                return true;
+            }
+            from += SCAN_CHUNK;
+        }
+        return false;
+    }
+
+    private record Chunk(List<Employee> matches, boolean last) {
+    }
+
+    /**
+     * @return all employees in the division (null for none), in insertion order.
+     *         Compares dictionary codes, so no row's text is decoded unless it matches.
+     */
+    public List<Employee> filterByDivision(String division) {
+        // looked up under the scan's read, as loadAll replaces the dictionary
+        return scan(false, () -> byCode(divisionCodes, divisions, division));
+    }
+
+    /**
+     * @return all employees with the job title (null for none), in insertion order.
+     *         Compares dictionary codes, so no row's text is decoded unless it matches.
+     */
+    public List<Employee> filterByJobTitle(String jobTitle) {
+        return scan(false, () -> byCode(jobTitleCodes, jobTitles, jobTitle));
+    }
+
+    private static IntPredicate byCode(int[] codes, StringDictionary dictionary, String value) {
+        int code = dictionary.find(value);
+        if (value != null && code == StringDictionary.NULL_CODE) {
+            return row -> false;   // no row holds this value
+        }
+        return row -> codes[row] == code;
+    }
+
+    /**
+     * Payroll count, sum, min, max and percentiles per division or job title, computed
+     * in a single pass over the code and salary columns without materializing any row.
+     * <p>
+     * With {@code parallel} large caches are split into fixed chunks that are
+     * aggregated on the common fork-join pool and then merged.
+     * </p>
+     * @return one entry per group, in {@link PayrollStats#BY_GROUP} order
+     */
+    public List<PayrollStats> payrollBy(PayrollGrouping grouping, boolean parallel) {
+        return read(() -> {
+            StringDictionary dictionary = grouping == PayrollGrouping.DIVISION ? divisions : jobTitles;
+            int[] codes = grouping == PayrollGrouping.DIVISION ? divisionCodes : jobTitleCodes;
+            long[] cents = salaryCents;
+            boolean[] live = this.live;
+            int groups = dictionary.size() + 1;
+            int end = rowCount;
+            PayrollAccumulator total;
+            if (!parallel || end < 2 * SCAN_CHUNK) {
+                total = new PayrollAccumulator(groups).add(codes, cents, live, 0, end);
+            } else {
+                int chunks = (end + SCAN_CHUNK - 1) / SCAN_CHUNK;
+                total = IntStream.range(0, chunks)
+                        .parallel()
+                        .mapToObj(c -> new PayrollAccumulator(groups)
+                                .add(codes, cents, live, c * SCAN_CHUNK, Math.min(end, (c + 1) * SCAN_CHUNK)))
+                        .reduce(PayrollAccumulator::merge)
+                        .orElseThrow();
+            }
+            return total.toStats(dictionary::decode);
+        });
+    }
+
+    /**
+     * Headcount, salary total and salary histogram per division or job title. These
+     * are kept up to date by every write, so a read costs O(groups) however many
+     * employees there are.
+     * @return one entry per non-empty group, in {@link PayrollSummary#BY_GROUP} order
+     */
+    public List<PayrollSummary> payrollSummaryBy(PayrollGrouping grouping) {
+        return read(() -> grouping == PayrollGrouping.DIVISION
+                ? divisionTotals.summaries(divisions) : jobTitleTotals.summaries(jobTitles));
+    }
+
+    /**
+     * Running payroll figures of a single division or job title, in O(1).
+     * @param group the division or job title; null for employees without one
+     * @return the group's figures, all zero if it has no employees
+     */
+    public PayrollSummary payrollSummary(PayrollGrouping grouping, String group) {
+        return read(() -> grouping == PayrollGrouping.DIVISION
+                ? divisionTotals.summary(divisions, group) : jobTitleTotals.summary(jobTitles, group));
+    }
+
+    /**
+     * Materializes the live rows accepted by a row matcher. {@code matchers} supplies
+     * one matcher per chunk, so matchers can keep per-thread scratch state.
+     */
+    private List<Employee> scan(boolean parallel, Supplier<IntPredicate> matchers) {
+        return read(() -> {
+            int end = rowCount;
+            if (!parallel || end < 2 * SCAN_CHUNK) {
+                return scan(matchers.get(), 0, end);
+            }
+            int chunks = (end + SCAN_CHUNK - 1) / SCAN_CHUNK;
+            List<List<Employee>> parts = IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(c -> scan(matchers.get(), c * SCAN_CHUNK, Math.min(end, (c + 1) * SCAN_CHUNK)))
+                    .toList();
+            List<Employee> result = new ArrayList<>();
+            parts.forEach(result::addAll);
+            return result;
+        });
+    }
+
+    private List<Employee> scan(IntPredicate matcher, int from, int to) {
+        boolean[] live = this.live;
+        List<Employee> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (live[i] && matcher.test(i)) {
+                result.add(materialize(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sets the salary of one cached employee.
+     * @return true if the employee is cached
+     */
+    public boolean updateSalary(int empID, double salary) {
+        long cents = toCents(salary);
+        long stamp = lock.writeLock();
+        try {
+            int row = findRow(empID);
+            if (row < 0) {
+                return false;
+            }
+            salaryIndex.move(empID, toSalary(salaryCents[row]), toSalary(cents));
+            setSalaryCents(row, cents);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sets the salary of one cached employee only if it still holds {@code expected}.
+     * Lets a background writer skip rows that a newer write has already replaced.
+     * @return true if the salary was changed
+     */
+    public boolean compareAndSetSalary(int empID, double expected, double salary) {
+        long expectedCents = toCents(expected);
+        long cents = toCents(salary);
+        long stamp = lock.writeLock();
+        try {
+            int row = findRow(empID);
+            if (row < 0 || salaryCents[row] != expectedCents) {
+                return false;
+            }
+            salaryIndex.move(empID, toSalary(expectedCents), toSalary(cents));
+            setSalaryCents(row, cents);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Rewrites the salary of every employee with min &lt;= salary &lt;= max.
+     * Uses the salary index, so only matching rows are touched.
+     * @param change new salary as a function of the old one; results are rounded to cents
+     * @return number of employees changed
+     */
+    public int raiseSalaries(double min, double max, DoubleUnaryOperator change) {
+        long stamp = lock.writeLock();
+        try {
+            return salaryIndex.rewrite(min, max, s -> toSalary(toCents(change.applyAsDouble(s))),
+                    (empID, salary) -> setSalaryCents(findRow(empID), toCents(salary)));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** @return employees with min &lt;= salary &lt;= max, in ascending salary order */
+    public List<Employee> findBySalaryRange(double min, double max) {
+        long stamp = lock.readLock();
+        try {
+            List<Employee> result = new ArrayList<>();
+            salaryIndex.forEachInRange(min, max, empID -> result.add(materialize(findRow(empID))));
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** @return number of employees with min &lt;= salary &lt;= max */
+    public int countBySalaryRange(double min, double max) {
+        long stamp = lock.readLock();
+        try {
+            return salaryIndex.count(min, max);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** @return total salary of employees with min &lt;= salary &lt;= max */
+    public double sumBySalaryRange(double min, double max) {
+        long stamp = lock.readLock();
+        try {
+            return salaryIndex.sum(min, max);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a read as an optimistic read and validates it; if a write overlapped
+     * (which may also surface as an exception from reading half-updated arrays),
+     * runs it again under the read lock.
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException torn) {
+                if (lock.validate(stamp)) {
+                    throw torn;   // not caused by a concurrent write
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Row encoding -------------------------------------------------------------
+
+    private void setSalaryCents(int row, long cents) {
+        if (salaryCents[row] != cents) {
+            columnChanged(SortColumn.SALARY);
+        }
+        uncountPayroll(row);
+        salaryCents[row] = cents;
+        countPayroll(row);
+    }
+
+    private void countPayroll(int row) {
+        divisionTotals.add(divisionCodes[row], salaryCents[row]);
+        jobTitleTotals.add(jobTitleCodes[row], salaryCents[row]);
+    }
+
+    private void uncountPayroll(int row) {
+        divisionTotals.remove(divisionCodes[row], salaryCents[row]);
+        jobTitleTotals.remove(jobTitleCodes[row], salaryCents[row]);
+    }
+
+    private static long toCents(double salary) {
+        return Math.round(salary * 100);
+    }
+
+    private static double toSalary(long cents) {
+        return cents / 100.0;
+    }
+
+    /** @return a new Employee holding the row's values */
+    private Employee materialize(int row) {
+        Employee e = new Employee();
+        e.setEmpID(ids[row]);
+        e.setName(names.get(row));
+        e.setSSN(ssns.get(row));
+        e.setJobTitle(jobTitles.decode(jobTitleCodes[row]));
+        e.setDivision(divisions.decode(divisionCodes[row]));
+        e.setSalary(toSalary(salaryCents[row]));
+        e.setPayInfo(payInfos.decode(payInfoCodes[row]));
+        return e;
+    }
+
+    /** Read-only Employee over one row position; getters decode lazily. */
+    private final class RowView extends Employee {
+        int row;
+
+        @Override public int getEmpID() { return ids[row]; }
+        @Override public String getName() { return names.get(row); }
+        @Override public String getSSN() { return ssns.get(row); }
+        @Override public String getJobTitle() { return jobTitles.decode(jobTitleCodes[row]); }
+        @Override public String getDivision() { return divisions.decode(divisionCodes[row]); }
+        @Override public double getSalary() { return toSalary(salaryCents[row]); }
+        @Override public String getPayInfo() { return payInfos.decode(payInfoCodes[row]); }
+
+        @Override public void setEmpID(int empID) { throw readOnly(); }
+        @Override public void setName(String name) { throw readOnly(); }
+        @Override public void setSSN(String ssn) { throw readOnly(); }
+        @Override public void setJobTitle(String jobTitle) { throw readOnly(); }
+        @Override public void setDivision(String division) { throw readOnly(); }
+        @Override public void setSalary(double salary) { throw readOnly(); }
+        @Override public void setPayInfo(String payInfo) { throw readOnly(); }
+
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Cached rows are read-only");
+        }
+
+        @Override
+        public String toString() {
+            return materialize(row).toString();
+        }
+    }
+
+    // Primary-key and SSN index ------------------------------------------------
+
+    private static int hash(int key) {
+        // murmur3 finalizer, spreads sequential IDs across the table
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * @return row position of the live employee with this ID, or -1.
+     * Safe to call optimistically: works on local copies of the arrays and never
+     * probes more than the whole table.
+     */
+    private int findRow(int empID) {
+        int[] slots = this.slots;
+        int[] ids = this.ids;
+        boolean[] live = this.live;
+        int mask = slots.length - 1;
+        int i = hash(empID) & mask;
+        for (int probes = 0; probes < slots.length; probes++, i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == 0) {
+                return -1;
+            }
+            int row = slot - 1;
+            if (ids[row] == empID && live[row]) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /** @return row position of the live employee with this SSN (as UTF-8), or -1 */
+    private int findSsnRow(byte[] ssn) {
+        int[] slots = this.ssnSlots;
+        boolean[] live = this.live;
+        TextColumn ssns = this.ssns;
+        int mask = slots.length - 1;
+        int i = hash(TextColumn.hash(ssn)) & mask;
+        for (int probes = 0; probes < slots.length; probes++, i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == 0) {
+                return -1;
+            }
+            int row = slot - 1;
+            if (live[row] && ssns.equalTo(row, ssn)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private static void insertSlot(int[] slots, int key, int row) {
+        int mask = slots.length - 1;
+        int i = hash(key) & mask;
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = row + 1;
+    }
+
+    /** Indexes a row's new SSN, rebuilding the table instead once it is half full. */
+    private void indexSsn(int row, byte[] ssn) {
+        if ((ssnSlotsUsed + 1) * 2 > ssnSlots.length) {
+            rebuildSsnIndex();   // picks up this row too
+            return;
+        }
+        insertSlot(ssnSlots, TextColumn.hash(ssn), row);
+        ssnSlotsUsed++;
+    }
+
+    private void rebuildSsnIndex() {
+        int[] newSlots = new int[Integer.highestOneBit(Math.max(8, size) * 4 - 1) * 2];
+        int used = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (live[row] && !ssns.isNull(row)) {
+                insertSlot(newSlots, ssns.hash(row), row);
+                used++;
+            }
+        }
+        ssnSlots = newSlots;
+        ssnSlotsUsed = used;
+    }
+
+    /**
+     * (Re)allocates column storage for {@code capacity} rows, compacting out deleted
+     * rows and rebuilding both index tables at a load factor of at most 0.5.
+     * New arrays are filled before they are published, so optimistic readers
+     * usually see either the old or the new layout.
+     */
+    private void allocate(int capacity) {
+        int[] keep = new int[rowCount];
+        int count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            if (live[i]) {
+                keep[count++] = i;
+            }
+        }
+        int[] newIds = new int[capacity];
+        boolean[] newLive = new boolean[capacity];
+        long[] newSalaryCents = new long[capacity];
+        int[] newJobTitleCodes = new int[capacity];
+        int[] newDivisionCodes = new int[capacity];
+        int[] newPayInfoCodes = new int[capacity];
+        for (int i = 0; i < count; i++) {
+            int row = keep[i];
+            newIds[i] = ids[row];
+            newLive[i] = true;
+            newSalaryCents[i] = salaryCents[row];
+            newJobTitleCodes[i] = jobTitleCodes[row];
+            newDivisionCodes[i] = divisionCodes[row];
+            newPayInfoCodes[i] = payInfoCodes[row];
+        }
+        TextColumn newNames = count == 0 ? new TextColumn(capacity, capacity * BYTES_PER_ROW)
+                                         : names.compact(keep, count, capacity);
+        TextColumn newSsns = count == 0 ? new TextColumn(capacity, capacity * BYTES_PER_ROW)
+                                        : ssns.compact(keep, count, capacity);
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2;
+        int[] newSlots = new int[tableSize];
+        for (int i = 0; i < count; i++) {
+            insertSlot(newSlots, newIds[i], i);
+        }
+
+        ids = newIds;
+        live = newLive;
+        salaryCents = newSalaryCents;
+        jobTitleCodes = newJobTitleCodes;
+        divisionCodes = newDivisionCodes;
+        payInfoCodes = newPayInfoCodes;
+        names = newNames;
+        ssns = newSsns;
+        slots = newSlots;
+        rowCount = count;
+        layout++;
+        rowsChanged++;
+        size = count;
+        rebuildSsnIndex();
+    }
+}
@@ -0,0 +1,199 @@
+// src/main/java/com/group02/cache/NameSearcher.java
+package com.group02.cache;
+
+import com.group02.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Name search over an {@link EmployeeCache}.
+ * <p>
+ * A search pattern is turned into a matcher once and kept in a small LRU, so
+ * repeated searches (e.g. a filter box re-run on every keystroke) don't
+ * recompile anything. Patterns without regex metacharacters are matched with a
+ * plain substring test; everything else is compiled once into a
+ * {@link Pattern} and matched with {@code find()}. A pattern that is not valid
+ * regex is searched for as literal text rather than failing.
+ * Names are matched in place in the cache's packed name column (see
+ * {@link EmployeeCache#filterByName}); literal text goes through
+ * {@link EmployeeCache#filterByNameContaining}, which compares the packed bytes
+ * directly. Large caches are scanned in parallel.
+ * </p>
+ * <p>
+ * Thread-safe. Lookups of an already compiled pattern take no lock; only compiling
+ * a new pattern (and evicting the least recently used one) is synchronized.
+ * </p>
+ */
+public class NameSearcher {
+    /** Number of distinct patterns kept compiled. */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    /** Caches at or above this size are scanned on all cores. */
+    public static final int PARALLEL_THRESHOLD = 50_000;
+
+    private static final String REGEX_META = "\\.[]{}()<>*+-=!?^$|";
+
+    /** Recency is refreshed at most this often per pattern, to keep hits write-free. */
+    private static final long TOUCH_INTERVAL_NANOS = 1_000_000;
+
+    private final int cacheSize;
+    private final Map<String, Compiled> compiled = new ConcurrentHashMap<>();
+
+    private static final class Compiled {
+        final Predicate<CharSequence> matcher;
+        final String literal;   // the text to find if the pattern is a plain substring, else null
+        volatile long lastUsed = System.nanoTime();
+
+        Compiled(Predicate<CharSequence> matcher, String literal) {
+            this.matcher = matcher;
+            this.literal = literal;
+        }
+    }
+
+    public NameSearcher() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param cacheSize maximum number of compiled patterns to keep
+     */
+    public NameSearcher(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Finds employees whose name contains a match for the pattern.
+     * @param cache   employees to search
+     * @param pattern substring or regular expression
+     * @return copies of matching employees, in cache order
+     */
+    public List<Employee> search(EmployeeCache cache, String pattern) {
+        Compiled entry = lookup(pattern);
+        boolean parallel = cache.size() >= PARALLEL_THRESHOLD;
+        return entry.literal != null ? cache.filterByNameContaining(entry.literal, parallel)
+                                     : cache.filterByName(entry.matcher, parallel);
+    }
+
+    /**
+     * Finds employees whose name contains a match for the pattern and hands them over
+     * in batches as the scan proceeds; see
+     * {@link EmployeeCache#filterByName(Predicate, BooleanSupplier, Consumer)}.
+     * @param cancelled polled between batches; the search stops once it returns true
+     * @param sink      receives copies of matching employees, in cache order
+     * @return true if the search completed, false if it was cancelled
+     */
+    public boolean search(EmployeeCache cache, String pattern, BooleanSupplier cancelled,
+                          Consumer<List<Employee>> sink) {
+        return cache.filterByName(matcher(pattern), cancelled, sink);
+    }
+
+    /**
+     * Returns the (cached) name matcher for a pattern. Matchers are thread-safe.
+     * @param pattern substring or regular expression
+     * @return predicate that is true when a name contains a match
+     */
+    public Predicate<CharSequence> matcher(String pattern) {
+        return lookup(pattern).matcher;
+    }
+
+    private Compiled lookup(String pattern) {
+        String key = pattern == null ? "" : pattern;
+        Compiled entry = compiled.get(key);
+        if (entry == null) {
+            entry = compileAndCache(key);
+        }
+        long now = System.nanoTime();
+        if (now - entry.lastUsed > TOUCH_INTERVAL_NANOS) {
+            entry.lastUsed = now;
+        }
+        return entry;
+    }
+
+    private synchronized Compiled compileAndCache(String key) {
+        Compiled entry = compiled.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        if (compiled.size() >= cacheSize) {
+            // evict the least recently used pattern
+            String eldest = null;
+            long oldest = 0;
+            for (Map.Entry<String, Compiled> e : compiled.entrySet()) {
+                long used = e.getValue().lastUsed;
+                if (eldest == null || used - oldest < 0) {
+                    oldest = used;
+                    eldest = e.getKey();
+                }
+            }
+            if (eldest != null) {
+                compiled.remove(eldest);
+            }
+        }
+        entry = compile(key);
+        compiled.put(key, entry);
+        return entry;
+    }
+
+    private static Compiled compile(String pattern) {
+        if (pattern.isEmpty()) {
+            return new Compiled(name -> true, null);
+        }
+        if (isLiteral(pattern)) {
+            return new Compiled(literal(pattern), pattern);
+        }
+        try {
+            Pattern regex = Pattern.compile(pattern);
+            return new Compiled(name -> regex.matcher(name).find(), null);
+        } catch (PatternSyntaxException e) {
+            // e.g. a half-typed "(" in the filter box: treat as literal text
+            return new Compiled(literal(pattern), pattern);
+        }
+    }
+
+    private static Predicate<CharSequence> literal(String pattern) {
+        // an ASCII name can only contain an ASCII pattern, and then compares byte for byte
+        byte[] ascii = pattern.chars().allMatch(c -> c < 0x80)
+                ? pattern.getBytes(StandardCharsets.US_ASCII) : null;
+        return name -> name instanceof TextColumn.AsciiView view
+                ? ascii != null && view.contains(ascii)
+                : contains(name, pattern);
+    }
+
+    /** Substring test that works on the cache's in-place name views as well as Strings. */
+    private static boolean contains(CharSequence text, String pattern) {
+        if (text instanceof String s) {
+            return s.contains(pattern);
+        }
+        char first = pattern.charAt(0);
+        int last = text.length() - pattern.length();
+        outer:
+        for (int i = 0; i <= last; i++) {
+            if (text.charAt(i) != first) {
+                continue;
+            }
+            for (int j = 1; j < pattern.length(); j++) {
+                if (text.charAt(i + j) != pattern.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (REGEX_META.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,135 @@
+// src/main/java/com/group02/cache/PayrollAccumulator.java
+package com.group02.cache;
+
+import com.group02.repository.PayrollStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Per-group payroll totals gathered in one pass over {@link EmployeeCache}'s code and
+ * salary columns. Groups are indexed by dictionary code + 1, so slot 0 collects rows
+ * without a group. Salaries are kept in cents; each group also keeps its salaries so
+ * exact percentiles can be picked once all chunks are merged. Percentiles are found
+ * by selection rather than sorting, so the whole report stays linear in the row count.
+ */
+final class PayrollAccumulator {
+    private final int[] counts;
+    private final long[] sums;
+    private final long[] mins;
+    private final long[] maxs;
+    private final long[][] salaries;   // per group; the first counts[g] entries are used
+
+    PayrollAccumulator(int groups) {
+        counts = new int[groups];
+        sums = new long[groups];
+        mins = new long[groups];
+        maxs = new long[groups];
+        salaries = new long[groups][];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxs, Long.MIN_VALUE);
+    }
+
+    /** Adds the live rows in [from, to). */
+    PayrollAccumulator add(int[] codes, long[] cents, boolean[] live, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!live[i]) {
+                continue;
+            }
+            int g = codes[i] + 1;
+            long salary = cents[i];
+            int n = counts[g]++;
+            sums[g] += salary;
+            mins[g] = Math.min(mins[g], salary);
+            maxs[g] = Math.max(maxs[g], salary);
+            ensureCapacity(g, n + 1)[n] = salary;
+        }
+        return this;
+    }
+
+    /** Folds another accumulator over the same groups into this one. */
+    PayrollAccumulator merge(PayrollAccumulator other) {
+        for (int g = 0; g < counts.length; g++) {
+            int n = other.counts[g];
+            if (n == 0) {
+                continue;
+            }
+            System.arraycopy(other.salaries[g], 0, ensureCapacity(g, counts[g] + n), counts[g], n);
+            counts[g] += n;
+            sums[g] += other.sums[g];
+            mins[g] = Math.min(mins[g], other.mins[g]);
+            maxs[g] = Math.max(maxs[g], other.maxs[g]);
+        }
+        return this;
+    }
+
+    private long[] ensureCapacity(int g, int needed) {
+        long[] list = salaries[g];
+        if (list == null) {
+            list = salaries[g] = new long[Math.max(16, needed)];
+        } else if (needed > list.length) {
+            list = salaries[g] = Arrays.copyOf(list, Math.max(needed, list.length * 2));
+        }
+        return list;
+    }
+
+    /**
+     * @param groupName name for a dictionary code (-1 for no group)
+     * @return one entry per non-empty group, in {@link PayrollStats#BY_GROUP} order
+     */
+    List<PayrollStats> toStats(IntFunction<String> groupName) {
+        List<PayrollStats> stats = new ArrayList<>();
+        for (int g = 0; g < counts.length; g++) {
+            int n = counts[g];
+            if (n == 0) {
+                continue;
+            }
+            long[] values = salaries[g];
+            // each selection leaves everything from the picked rank up to the end in place
+            // for the next, higher one
+            int p50 = PayrollStats.percentileRank(n, 50) - 1;
+            int p90 = PayrollStats.percentileRank(n, 90) - 1;
+            int p99 = PayrollStats.percentileRank(n, 99) - 1;
+            select(values, 0, n, p50);
+            select(values, p50, n, p90);
+            select(values, p90, n, p99);
+            stats.add(new PayrollStats(groupName.apply(g - 1), n, sums[g] / 100.0, mins[g] / 100.0,
+                                       maxs[g] / 100.0, values[p50] / 100.0, values[p90] / 100.0,
+                                       values[p99] / 100.0));
+        }
+        stats.sort(PayrollStats.BY_GROUP);
+        return stats;
+    }
+
+    /**
+     * Hoare's selection: rearranges a[from..to) so that a[k] holds the value it would
+     * have if the range were sorted, with no larger value before it and no smaller one
+     * after it. Expected O(to - from).
+     */
+    private static void select(long[] a, int from, int to, int k) {
+        int lo = from;
+        int hi = to - 1;
+        while (lo < hi) {
+            long pivot = a[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+                if (i <= j) {
+                    long tmp = a[i];
+                    a[i++] = a[j];
+                    a[j--] = tmp;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return;   // a[j+1..i) all equal the pivot
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+// src/main/java/com/group02/cache/PayrollTotals.java
+package com.group02.cache;
+
+import com.group02.repository.PayrollSummary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Running payroll totals per group of one {@link StringDictionary}-encoded column,
+ * maintained by {@link EmployeeCache} as rows come and go. Groups are indexed by
+ * dictionary code + 1, so slot 0 collects rows without a group. Each change is O(1);
+ * salaries are summed in cents, so totals never drift through rounding.
+ * Mutated only under the cache's write lock.
+ */
+final class PayrollTotals {
+    private static final long BUCKET_WIDTH_CENTS = PayrollSummary.BUCKET_WIDTH * 100L;
+
+    private int[] headcounts = new int[8];
+    private long[] sums = new long[8];
+    private int[] histograms = new int[8 * PayrollSummary.BUCKETS];   // BUCKETS per group
+
+    void clear() {
+        Arrays.fill(headcounts, 0);
+        Arrays.fill(sums, 0);
+        Arrays.fill(histograms, 0);
+    }
+
+    void add(int code, long cents) {
+        change(code, cents, 1);
+    }
+
+    void remove(int code, long cents) {
+        change(code, cents, -1);
+    }
+
+    private void change(int code, long cents, int delta) {
+        int g = code + 1;
+        if (g >= headcounts.length) {
+            int groups = Math.max(g + 1, headcounts.length * 2);
+            headcounts = Arrays.copyOf(headcounts, groups);
+            sums = Arrays.copyOf(sums, groups);
+            histograms = Arrays.copyOf(histograms, groups * PayrollSummary.BUCKETS);
+        }
+        headcounts[g] += delta;
+        sums[g] += delta * cents;
+        histograms[g * PayrollSummary.BUCKETS + bucketOf(cents)] += delta;
+    }
+
+    private static int bucketOf(long cents) {
+        return (int) Math.max(0, Math.min(PayrollSummary.BUCKETS - 1, Math.floorDiv(cents, BUCKET_WIDTH_CENTS)));
+    }
+
+    /** @return non-empty groups, named by {@code dictionary}, in {@link PayrollSummary#BY_GROUP} order */
+    List<PayrollSummary> summaries(StringDictionary dictionary) {
+        List<PayrollSummary> result = new ArrayList<>();
+        int[] headcounts = this.headcounts;
+        long[] sums = this.sums;
+        int[] histograms = this.histograms;
+        for (int g = 0; g < headcounts.length; g++) {
+            if (headcounts[g] > 0) {
+                result.add(summary(dictionary.decode(g - 1), g, headcounts, sums, histograms));
+            }
+        }
+        result.sort(PayrollSummary.BY_GROUP);
+        return result;
+    }
+
+    /** @return the group's figures (all zero if it has no employees) */
+    PayrollSummary summary(StringDictionary dictionary, String group) {
+        int code = dictionary.find(group);
+        int g = code + 1;
+        if ((group != null && code == StringDictionary.NULL_CODE) || g >= headcounts.length) {
+            return new PayrollSummary(group, 0, 0, new int[PayrollSummary.BUCKETS]);
+        }
+        return summary(group, g, headcounts, sums, histograms);
+    }
+
+    private static PayrollSummary summary(String group, int g, int[] headcounts, long[] sums, int[] histograms) {
+        int from = g * PayrollSummary.BUCKETS;
+        return new PayrollSummary(group, headcounts[g], sums[g] / 100.0,
+                                  Arrays.copyOfRange(histograms, from, from + PayrollSummary.BUCKETS));
+    }
+}
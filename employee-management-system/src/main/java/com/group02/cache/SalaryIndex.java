@@ -0,0 +1,138 @@
+// src/main/java/com/group02/cache/SalaryIndex.java
+package com.group02.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * Sorted salary -&gt; empID index used by {@link EmployeeCache}.
+ * <p>
+ * Keys are distinct salaries in a red-black tree; each holds a small primitive
+ * bucket of the empIDs earning it. Range queries, counts and sums walk only the
+ * salaries inside the range, so they cost O(log n + matches) instead of a pass
+ * over the whole workforce.
+ * </p>
+ */
+class SalaryIndex {
+    private final TreeMap<Double, Bucket> bySalary = new TreeMap<>();
+
+    /** Unordered set of empIDs sharing one salary. */
+    private static final class Bucket {
+        int[] ids = new int[2];
+        int size;
+
+        void add(int empID) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = empID;
+        }
+
+        boolean remove(int empID) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == empID) {
+                    ids[i] = ids[--size];   // order inside a bucket doesn't matter
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    void clear() {
+        bySalary.clear();
+    }
+
+    void add(int empID, double salary) {
+        bySalary.computeIfAbsent(salary, s -> new Bucket()).add(empID);
+    }
+
+    void remove(int empID, double salary) {
+        Bucket bucket = bySalary.get(salary);
+        if (bucket != null && bucket.remove(empID) && bucket.size == 0) {
+            bySalary.remove(salary);
+        }
+    }
+
+    void move(int empID, double oldSalary, double newSalary) {
+        if (Double.compare(oldSalary, newSalary) != 0) {
+            remove(empID, oldSalary);
+            add(empID, newSalary);
+        }
+    }
+
+    /** Passes every empID with min &lt;= salary &lt;= max to the consumer, in ascending salary order. */
+    void forEachInRange(double min, double max, IntConsumer consumer) {
+        for (Bucket bucket : range(min, max).values()) {
+            for (int i = 0; i < bucket.size; i++) {
+                consumer.accept(bucket.ids[i]);
+            }
+        }
+    }
+
+    /** @return number of employees with min &lt;= salary &lt;= max */
+    int count(double min, double max) {
+        int count = 0;
+        for (Bucket bucket : range(min, max).values()) {
+            count += bucket.size;
+        }
+        return count;
+    }
+
+    /** @return total salary of employees with min &lt;= salary &lt;= max */
+    double sum(double min, double max) {
+        double sum = 0;
+        for (Map.Entry<Double, Bucket> e : range(min, max).entrySet()) {
+            sum += e.getKey() * e.getValue().size;
+        }
+        return sum;
+    }
+
+    /**
+     * Moves every employee in [min, max] to a new salary computed from the old one.
+     * The matching salaries are detached first, so a raised salary that lands back
+     * inside the range is not raised twice.
+     *
+     * @param onChange receives (empID, newSalary) for each moved employee
+     * @return number of employees moved
+     */
+    int rewrite(double min, double max, DoubleUnaryOperator change, SalaryChange onChange) {
+        NavigableMap<Double, Bucket> range = range(min, max);
+        // copy the pairs out: TreeMap may recycle its entry objects while nodes are removed
+        List<Map.Entry<Double, Bucket>> matched = new ArrayList<>(range.size());
+        for (Map.Entry<Double, Bucket> e : range.entrySet()) {
+            matched.add(Map.entry(e.getKey(), e.getValue()));
+        }
+        range.clear();
+        int moved = 0;
+        for (Map.Entry<Double, Bucket> e : matched) {
+            double newSalary = change.applyAsDouble(e.getKey());
+            Bucket bucket = e.getValue();
+            for (int i = 0; i < bucket.size; i++) {
+                add(bucket.ids[i], newSalary);
+                onChange.changed(bucket.ids[i], newSalary);
+            }
+            moved += bucket.size;
+        }
+        return moved;
+    }
+
+    /** Receives each salary rewritten by {@link #rewrite}. */
+    @FunctionalInterface
+    interface SalaryChange {
+        void changed(int empID, double newSalary);
+    }
+
+    private NavigableMap<Double, Bucket> range(double min, double max) {
+        if (min > max) {
+            return new TreeMap<>();
+        }
+        return bySalary.subMap(min, true, max, true);
+    }
+}
@@ -0,0 +1,58 @@
+// src/main/java/com/group02/cache/StringDictionary.java
+package com.group02.cache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding for a low-cardinality text column (division, job title, ...).
+ * <p>
+ * Each distinct value is stored once and rows hold its small int code, so a
+ * column of a million "Engineering"s costs four bytes a row instead of a String
+ * each. Codes are dense from 0 and never reused; -1 stands for null. Values are
+ * only ever added, which keeps decoding safe for the cache's optimistic readers.
+ * Mutated only under {@link EmployeeCache}'s write lock; a reload replaces the
+ * dictionary rather than emptying it.
+ * </p>
+ */
+final class StringDictionary {
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private String[] values = new String[16];
+    private int size;
+
+    /** @return the code for the value, adding it if new */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    /** @return the code for the value, or {@link #NULL_CODE} if it has never been stored */
+    int find(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NULL_CODE : code;
+    }
+
+    /** @return the value for a code, or null for {@link #NULL_CODE} */
+    String decode(int code) {
+        return code < 0 ? null : values[code];
+    }
+
+    /** @return number of distinct values; codes are 0 .. size-1 */
+    int size() {
+        return size;
+    }
+}
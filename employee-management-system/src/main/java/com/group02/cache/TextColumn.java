@@ -0,0 +1,316 @@
+// src/main/java/com/group02/cache/TextColumn.java
+package com.group02.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Packed storage for a high-cardinality text column (names, SSNs).
+ * <p>
+ * Values are appended as UTF-8 to one shared byte array, and each row keeps a
+ * single long holding the offset and length of its bytes. That replaces a String
+ * object and its backing array per row (about 40 bytes of headers) with eight.
+ * Overwritten values leave garbage behind; the array is repacked once garbage
+ * makes up half of it, or when the cache compacts its rows.
+ * </p>
+ * <p>
+ * Strings are only built when a row is materialized. Scans can look at a value
+ * in place through {@link #view}, which avoids decoding pure-ASCII values
+ * (flagged when stored, so the check costs nothing at scan time).
+ * </p>
+ * <p>
+ * An ASCII value's String is kept once built and handed out again by later reads
+ * until the row is written, so re-reading the same rows (a warm {@code findAll},
+ * repeated filters) allocates nothing for them. Only rows that have been read pay
+ * for a String; the rest stay packed. A kept String is checked against the row's
+ * bytes before reuse, which keeps it correct even if an optimistic reader stored
+ * it while the row was being overwritten.
+ * </p>
+ * <p>
+ * Mutated only under {@link EmployeeCache}'s write lock; readers work on local
+ * copies of the arrays and are validated by the cache's optimistic reads.
+ * </p>
+ */
+final class TextColumn {
+    private static final long NULL_REF = -1L;
+    private static final long NON_ASCII = 1L << 31;   // flag in the length half of a ref
+
+    private long[] refs;        // per row: offset << 32 | flags | length, or NULL_REF
+    private String[] decoded;   // per row: the String last built for an ASCII value, or null
+    private byte[] bytes;
+    private int used;           // bytes appended so far
+    private int garbage;        // bytes no longer referenced by any row
+
+    TextColumn(int capacity, int byteCapacity) {
+        refs = new long[capacity];
+        Arrays.fill(refs, NULL_REF);
+        decoded = new String[capacity];
+        bytes = new byte[Math.max(16, byteCapacity)];
+    }
+
+    static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    void set(int row, String value) {
+        set(row, encode(value));
+    }
+
+    /** Stores already-encoded UTF-8 bytes (null for a null value). */
+    void set(int row, byte[] utf8) {
+        clear(row);
+        if (utf8 == null) {
+            return;
+        }
+        if (used + utf8.length > bytes.length) {
+            makeRoom(utf8.length);
+        }
+        System.arraycopy(utf8, 0, bytes, used, utf8.length);
+        refs[row] = (long) used << 32 | (isAscii(utf8) ? 0 : NON_ASCII) | utf8.length;
+        used += utf8.length;
+    }
+
+    void clear(int row) {
+        long ref = refs[row];
+        if (ref != NULL_REF) {
+            garbage += length(ref);
+            refs[row] = NULL_REF;
+            decoded[row] = null;
+        }
+    }
+
+    /** Repacks live values if that frees enough space, otherwise grows the byte array. */
+    private void makeRoom(int extra) {
+        int liveBytes = used - garbage;
+        int capacity = bytes.length;
+        if (garbage < capacity / 2 || liveBytes + extra > capacity) {
+            capacity = Math.max(capacity * 2, liveBytes + extra);
+        }
+        byte[] packed = new byte[capacity];
+        long[] newRefs = refs.clone();
+        int at = 0;
+        for (int row = 0; row < newRefs.length; row++) {
+            long ref = newRefs[row];
+            if (ref != NULL_REF) {
+                int length = length(ref);
+                System.arraycopy(bytes, offset(ref), packed, at, length);
+                newRefs[row] = (long) at << 32 | (ref & NON_ASCII) | length;
+                at += length;
+            }
+        }
+        bytes = packed;
+        refs = newRefs;
+        used = at;
+        garbage = 0;
+    }
+
+    /**
+     * @return a new column holding rows {@code keep[0..count)} of this one at positions
+     *         0..count-1, with room for {@code capacity} rows
+     */
+    TextColumn compact(int[] keep, int count, int capacity) {
+        long[] refs = this.refs;
+        int liveBytes = 0;
+        for (int i = 0; i < count; i++) {
+            long ref = refs[keep[i]];
+            if (ref != NULL_REF) {
+                liveBytes += length(ref);
+            }
+        }
+        TextColumn column = new TextColumn(capacity, liveBytes + liveBytes / 4);
+        for (int i = 0; i < count; i++) {
+            long ref = refs[keep[i]];
+            if (ref != NULL_REF) {
+                int length = length(ref);
+                System.arraycopy(bytes, offset(ref), column.bytes, column.used, length);
+                column.refs[i] = (long) column.used << 32 | (ref & NON_ASCII) | length;
+                column.decoded[i] = decoded[keep[i]];
+                column.used += length;
+            }
+        }
+        return column;
+    }
+
+    boolean isNull(int row) {
+        return refs[row] == NULL_REF;
+    }
+
+    String get(int row) {
+        long ref = refs[row];
+        if (ref == NULL_REF) {
+            return null;
+        }
+        byte[] bytes = this.bytes;
+        int offset = offset(ref);
+        int length = length(ref);
+        if ((ref & NON_ASCII) != 0) {
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+        String[] decoded = this.decoded;
+        String value = decoded[row];
+        if (value == null || !sameAscii(value, bytes, offset, length)) {
+            // ASCII bytes are valid Latin-1, which the String constructor copies without decoding
+            value = new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+            decoded[row] = value;
+        }
+        return value;
+    }
+
+    private static boolean sameAscii(String value, byte[] bytes, int offset, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return true if the row holds exactly these UTF-8 bytes */
+    boolean equalTo(int row, byte[] utf8) {
+        long ref = refs[row];
+        if (ref == NULL_REF) {
+            return utf8 == null;
+        }
+        int offset = offset(ref);
+        return utf8 != null && Arrays.equals(bytes, offset, offset + length(ref), utf8, 0, utf8.length);
+    }
+
+    /** @return hash of the row's bytes, equal to {@link #hash(byte[])} of the same value */
+    int hash(int row) {
+        long ref = refs[row];
+        int offset = offset(ref);
+        return hash(bytes, offset, offset + length(ref));
+    }
+
+    static int hash(byte[] utf8) {
+        return hash(utf8, 0, utf8.length);
+    }
+
+    private static int hash(byte[] a, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + a[i];
+        }
+        return h;
+    }
+
+    /**
+     * Returns the row's value as a CharSequence without building a String when the value
+     * is pure ASCII; {@code scratch} is reset to point at it and must not be kept.
+     * @return the value, or null if the row holds null
+     */
+    CharSequence view(int row, AsciiView scratch) {
+        long ref = refs[row];
+        if (ref == NULL_REF) {
+            return null;
+        }
+        if ((ref & NON_ASCII) != 0) {
+            return get(row);
+        }
+        return scratch.reset(bytes, offset(ref), length(ref));
+    }
+
+    /**
+     * Substring test done in place: an ASCII value is searched byte for byte, without
+     * building a String or a view; other values are decoded and searched as Strings.
+     * @param ascii {@code text} as ASCII bytes, or null if it is not ASCII (and so
+     *              cannot occur in an ASCII value)
+     * @return true if the row holds a value containing {@code text}
+     */
+    boolean contains(int row, String text, byte[] ascii) {
+        long ref = refs[row];
+        if (ref == NULL_REF) {
+            return false;
+        }
+        if ((ref & NON_ASCII) != 0) {
+            return get(row).contains(text);
+        }
+        return ascii != null && indexOf(bytes, offset(ref), length(ref), ascii) >= 0;
+    }
+
+    /** @return position of {@code needle} in {@code bytes[offset, offset + length)}, or -1 */
+    static int indexOf(byte[] bytes, int offset, int length, byte[] needle) {
+        int n = needle.length;
+        if (n == 0) {
+            return offset;
+        }
+        byte first = needle[0];
+        byte end = needle[n - 1];
+        int last = offset + length - n;
+        for (int i = offset; i <= last; i++) {
+            // testing both ends first skips most false starts in digit-heavy text
+            if (bytes[i] == first && bytes[i + n - 1] == end) {
+                int j = 1;
+                while (j < n - 1 && bytes[i + j] == needle[j]) {
+                    j++;
+                }
+                if (j >= n - 1) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isAscii(byte[] utf8) {
+        for (byte b : utf8) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int offset(long ref) {
+        return (int) (ref >>> 32);
+    }
+
+    private static int length(long ref) {
+        return (int) ref & Integer.MAX_VALUE;
+    }
+
+    /** Reusable CharSequence over a run of ASCII bytes. */
+    static final class AsciiView implements CharSequence {
+        private byte[] bytes;
+        private int offset;
+        private int length;
+
+        AsciiView reset(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            return this;
+        }
+
+        /** @return true if these bytes contain {@code needle}, compared byte for byte */
+        boolean contains(byte[] needle) {
+            return indexOf(bytes, offset, length, needle) >= 0;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return (char) bytes[offset + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -6,19 +6,40 @@ package com.group02.config;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 
 import org.flywaydb.core.Flyway;
 import org.flywaydb.core.api.output.MigrateResult;
 
+import com.group02.metrics.Metrics;
+import com.group02.metrics.PoolMetricsTracker;
 import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
 import com.zaxxer.hikari.HikariDataSource;
 
 public class DatabaseConfig {
     private static HikariDataSource dataSource;
     private static Properties dbProperties;
     private static final String DEFAULT_CONFIG = "config.properties";
+    private static final String DRIVER_PREFIX = "db.datasource.";
+
+    // Driver defaults: cache prepared statements client and server side, batch rewriting,
+    // cursor fetches, and no round trips for session state the driver can track itself
+    private static final Map<String, String> DRIVER_DEFAULTS = Map.ofEntries(
+            Map.entry("cachePrepStmts", "true"),
+            Map.entry("prepStmtCacheSize", "250"),
+            Map.entry("prepStmtCacheSqlLimit", "2048"),
+            Map.entry("useServerPrepStmts", "true"),
+            Map.entry("rewriteBatchedStatements", "true"),
+            Map.entry("useCursorFetch", "true"),
+            Map.entry("useLocalSessionState", "true"),
+            Map.entry("useLocalTransactionState", "true"),
+            Map.entry("cacheResultSetMetadata", "true"),
+            Map.entry("cacheServerConfiguration", "true"),
+            Map.entry("elideSetAutoCommits", "true"),
+            Map.entry("maintainTimeStats", "false"));
 
     // Load database properties
     private static boolean propertiesLoaded = false;
@@ -45,6 +66,15 @@ public class DatabaseConfig {
         }
     }
 
+    /**
+     * Returns a setting from the loaded properties file.
+     * @param key          property name
+     * @param defaultValue returned when the property is not set
+     */
+    public static String getProperty(String key, String defaultValue) {
+        return dbProperties == null ? defaultValue : dbProperties.getProperty(key, defaultValue);
+    }
+
     public static String getUrl() {
         // Ensure database name is included in URL
         String baseUrl = dbProperties.getProperty("db.url");
@@ -68,21 +98,92 @@ public class DatabaseConfig {
             config.setPassword(dbProperties.getProperty("db.password"));
             config.setDriverClassName(dbProperties.getProperty("db.driver"));
 
-            // Connection pool settings
-            config.setMaximumPoolSize(10);
-            config.setMinimumIdle(2);
-            config.setIdleTimeout(300000);
-            config.setConnectionTimeout(20000);
+            // Connection pool settings (db.pool.*)
+            config.setPoolName("employeeData-pool");
+            config.setMaximumPoolSize(intProperty("db.pool.maximumPoolSize", 10));
+            config.setMinimumIdle(intProperty("db.pool.minimumIdle", 2));
+            config.setIdleTimeout(longProperty("db.pool.idleTimeoutMs", 300000));
+            config.setConnectionTimeout(longProperty("db.pool.connectionTimeoutMs", 20000));
+            config.setMaxLifetime(longProperty("db.pool.maxLifetimeMs", 1800000));
+            config.setKeepaliveTime(longProperty("db.pool.keepaliveTimeMs", 0));
+            config.setLeakDetectionThreshold(longProperty("db.pool.leakDetectionThresholdMs", 0));
+            // connection wait and hold times, next to the DAO timings
+            config.setMetricsTrackerFactory((poolName, poolStats) -> new PoolMetricsTracker(Metrics.global()));
+            config.setRegisterMbeans(Boolean.parseBoolean(getProperty("db.pool.registerMbeans", "true")));
+
+            // MySQL driver settings (db.datasource.*)
+            driverProperties().forEach(config::addDataSourceProperty);
 
             dataSource = new HikariDataSource(config);
             System.out.println("Database connection pool initialized successfully for: " +
                     dbProperties.getProperty("db.name"));
+
+            String probe = getProperty("db.pool.probe", "log");
+            if (!probe.equals("off")) {
+                probePoolSize(probe.equals("apply"));
+            }
         } catch (Exception e) {
             System.err.println("Failed to initialize connection pool: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Driver properties passed to every pooled connection: the defaults below, overridden
+     * or extended by any {@code db.datasource.<name>} entry in the properties file.
+     */
+    static Map<String, String> driverProperties() {
+        Map<String, String> props = new LinkedHashMap<>(DRIVER_DEFAULTS);
+        if (dbProperties != null) {
+            for (String key : dbProperties.stringPropertyNames()) {
+                if (key.startsWith(DRIVER_PREFIX)) {
+                    props.put(key.substring(DRIVER_PREFIX.length()), dbProperties.getProperty(key));
+                }
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Times a representative query and logs the pool size it suggests; with {@code apply}
+     * the pool is resized to it. A failed probe leaves the configured size alone.
+     */
+    private static void probePoolSize(boolean apply) {
+        try {
+            int configured = dataSource.getMaximumPoolSize();
+            int cores = intProperty("db.pool.probe.cores", Runtime.getRuntime().availableProcessors());
+            PoolProbe result = PoolProbe.run(dataSource,
+                    getProperty("db.pool.probe.query", "SELECT * FROM employees ORDER BY empID LIMIT 20"),
+                    intProperty("db.pool.probe.samples", 50), cores,
+                    intProperty("db.pool.probe.maxSize", 50));
+            System.out.println("Pool probe: " + result + " (configured " + configured + ")");
+            if (apply && result.suggested() != configured) {
+                HikariConfigMXBean pool = dataSource.getHikariConfigMXBean();
+                pool.setMaximumPoolSize(result.suggested());
+                pool.setMinimumIdle(Math.min(pool.getMinimumIdle(), result.suggested()));
+                System.out.println("Connection pool resized to " + result.suggested());
+            }
+        } catch (SQLException e) {
+            System.err.println("Pool probe failed, keeping the configured size: " + e.getMessage());
+        }
+    }
+
+    /** @return the pool's current maximum size, or the configured one before the pool exists */
+    public static int getMaximumPoolSize() {
+        if (dataSource != null && !dataSource.isClosed()) {
+            return dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+        }
+        return intProperty("db.pool.maximumPoolSize", 10);
+    }
+
+    private static int intProperty(String key, int defaultValue) {
+        return Integer.parseInt(getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
+    private static long longProperty(String key, long defaultValue) {
+        return Long.parseLong(getProperty(key, String.valueOf(defaultValue)).trim());
+    }
+
     // Initialize Flyway migrations with configurable schema name
     public static void initializeDatabaseSchema() {
         try {
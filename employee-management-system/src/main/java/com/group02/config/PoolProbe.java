@@ -0,0 +1,96 @@
+// src/main/java/com/group02/config/PoolProbe.java
+package com.group02.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import javax.sql.DataSource;
+
+/**
+ * Startup probe that suggests a connection pool size from measured query latency.
+ * <p>
+ * A connection is held for the whole round trip, but the database only works on
+ * the query for part of it; the rest is network and driver time. To keep every
+ * database core busy you need about {@code cores * (1 + roundTrip / work)}
+ * connections (Little's law). The probe times a bare {@code SELECT 1} for the
+ * round trip and a representative query for round trip plus work, on a single
+ * pooled connection, and clamps the result so a noisy measurement cannot ask for
+ * an absurd pool.
+ * </p>
+ *
+ * @param roundTripNanos median time of {@code SELECT 1}
+ * @param queryNanos     median time of the probe query
+ * @param cores          database cores assumed by the suggestion
+ * @param suggested      suggested maximum pool size
+ */
+public record PoolProbe(long roundTripNanos, long queryNanos, int cores, int suggested) {
+    private static final int WARMUP = 10;
+
+    /**
+     * Suggests a pool size for {@code cores} database cores.
+     * <p>
+     * Work is taken as the query time beyond the round trip, but never less than a
+     * tenth of the query time, so a query that costs no more than {@code SELECT 1}
+     * (timing noise) does not explode the ratio.
+     * </p>
+     * @param ceiling largest size ever suggested
+     * @return a size between 2 and {@code ceiling}
+     */
+    static int suggest(int cores, long roundTripNanos, long queryNanos, int ceiling) {
+        long work = Math.max(queryNanos - roundTripNanos, queryNanos / 10);
+        if (work <= 0) {
+            return Math.max(2, Math.min(ceiling, cores * 2));
+        }
+        double connections = cores * (1.0 + (double) roundTripNanos / work);
+        return (int) Math.max(2, Math.min(ceiling, Math.ceil(connections)));
+    }
+
+    /**
+     * Times both queries on one connection from {@code dataSource}.
+     * @param query   representative query; it may take no parameters
+     * @param samples timed executions of each query, after a short warm-up
+     * @param cores   database cores, usually {@link Runtime#availableProcessors()}
+     *                when the database shares the host
+     * @param ceiling largest size ever suggested
+     */
+    public static PoolProbe run(DataSource dataSource, String query, int samples, int cores, int ceiling)
+            throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ping = conn.prepareStatement("SELECT 1");
+             PreparedStatement probe = conn.prepareStatement(query)) {
+            long roundTrip = median(ping, samples);
+            long work = median(probe, samples);
+            return new PoolProbe(roundTrip, work, cores, suggest(cores, roundTrip, work, ceiling));
+        }
+    }
+
+    private static long median(PreparedStatement stmt, int samples) throws SQLException {
+        for (int i = 0; i < WARMUP; i++) {
+            execute(stmt);
+        }
+        long[] times = new long[Math.max(1, samples)];
+        for (int i = 0; i < times.length; i++) {
+            long start = System.nanoTime();
+            execute(stmt);
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[times.length / 2];
+    }
+
+    private static void execute(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                // drain the rows; their transfer is part of the cost being measured
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("round trip %.3f ms, probe query %.3f ms, %d cores -> pool size %d",
+                             roundTripNanos / 1e6, queryNanos / 1e6, cores, suggested);
+    }
+}
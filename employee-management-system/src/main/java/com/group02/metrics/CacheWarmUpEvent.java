@@ -0,0 +1,38 @@
+// src/main/java/com/group02/metrics/CacheWarmUpEvent.java
+package com.group02.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning a cache warm-up, from the start of loading until
+ * reads switch to the cache (or the load fails).
+ */
+@Name("com.group02.CacheWarmUp")
+@Label("Cache Warm-up")
+@Category({ "Employee Management", "Cache" })
+@Description("Loading the employee cache at startup")
+@StackTrace(false)
+public final class CacheWarmUpEvent extends Event {
+    @Label("Source")
+    @Description("snapshot or database")
+    public String source;
+
+    @Label("Partitions")
+    @Description("Parallel range loads used when reading the database")
+    public int partitions;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Changes Applied")
+    @Description("Rows written since the snapshot or load mark, caught up before switching on")
+    public long changesApplied;
+
+    @Label("Failed")
+    public boolean failed;
+}
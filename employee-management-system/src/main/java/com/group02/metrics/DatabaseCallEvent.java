@@ -0,0 +1,101 @@
+// src/main/java/com/group02/metrics/DatabaseCallEvent.java
+package com.group02.metrics;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one EmployeeManager call: which method ran which SQL, with
+ * which parameters, how many rows it touched and how long it waited for a pooled
+ * connection. The event's duration is the whole call.
+ * <p>
+ * Parameters are handed over as a {@link Supplier} and only collected and turned into
+ * text when the event is committed, i.e. when a recording has it enabled and the call
+ * passed the threshold; with no recording running {@link #shouldCommit()} is false and
+ * nothing is boxed or formatted. Callers pass
+ * {@link #MASKED} in place of an SSN so it never reaches a recording file.
+ * </p>
+ */
+@Name("com.group02.DatabaseCall")
+@Label("Database Call")
+@Category({ "Employee Management", "Database" })
+@Description("An EmployeeManager call with its SQL, parameters, rows and connection wait")
+@Threshold("0 ms")
+@StackTrace(true)
+public final class DatabaseCallEvent extends Event {
+    /** Stand-in for SSN parameters. */
+    public static final String MASKED = "***";
+
+    @Label("Operation")
+    @Description("EmployeeManager method")
+    public String operation;
+
+    @Label("SQL")
+    @Description("Statement template, with ? placeholders")
+    public String sql;
+
+    @Label("Parameters")
+    public String parameters;
+
+    @Label("Rows")
+    @Description("Rows returned or changed")
+    public long rows;
+
+    @Label("Connection Wait")
+    @Description("Time spent waiting for a pooled connection")
+    @Timespan(Timespan.NANOSECONDS)
+    public long connectionWait;
+
+    @Label("Failed")
+    public boolean failed;
+
+    private transient Supplier<Object[]> values;
+
+    /** Starts timing a call without parameters; pair with {@link #finish()} in a finally block. */
+    public static DatabaseCallEvent start(String operation, String sql) {
+        return start(operation, sql, null);
+    }
+
+    /**
+     * Starts timing a call; pair with {@link #finish()} in a finally block.
+     * @param parameters asked for the call's parameters only if the event is committed,
+     *                   so capture raw values and build the array (and any text) inside it
+     */
+    public static DatabaseCallEvent start(String operation, String sql, Supplier<Object[]> parameters) {
+        DatabaseCallEvent event = new DatabaseCallEvent();
+        event.operation = operation;
+        event.sql = sql;
+        event.values = parameters;
+        event.begin();
+        return event;
+    }
+
+    /** Records the connection wait, given the {@link System#nanoTime()} read before asking the pool. */
+    public void connected(long waitStartNanos) {
+        if (isEnabled()) {
+            connectionWait = System.nanoTime() - waitStartNanos;
+        }
+    }
+
+    /** Marks the call as failed. */
+    public void fail() {
+        failed = true;
+    }
+
+    /** Ends the call and commits the event if a recording wants it. */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            parameters = values == null ? "[]" : Arrays.toString(values.get());
+            commit();
+        }
+    }
+}
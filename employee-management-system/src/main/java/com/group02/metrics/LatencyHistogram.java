@@ -0,0 +1,153 @@
+// src/main/java/com/group02/metrics/LatencyHistogram.java
+package com.group02.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets.
+ * <p>
+ * Each power of two is split into {@value #SUB_BUCKETS} equal buckets, so any
+ * recorded value is reported within about 6% of its true value, from nanoseconds
+ * up to {@link #MAX_NANOS}. Recording is one bucket increment plus a sum and a
+ * max update: no locks and no allocation, so it can sit on every DAO call.
+ * Readers compute percentiles from the bucket counts; a read racing with
+ * recording may be off by the few values recorded meanwhile.
+ * </p>
+ */
+public final class LatencyHistogram implements LatencyMXBean {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    /** Longer durations (about 18 minutes) are recorded as this. */
+    public static final long MAX_NANOS = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Records the time elapsed since {@code startNanos}, a {@link System#nanoTime()} reading. */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /** Records one duration; negative values count as 0. */
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_NANOS));
+        buckets.incrementAndGet(index(value));
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** @return the smallest value that falls into bucket {@code index} */
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BITS);
+    }
+
+    /** @return the largest value that falls into bucket {@code index} */
+    static long upperBound(int index) {
+        return index + 1 < BUCKETS ? lowerBound(index + 1) - 1 : MAX_NANOS;
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @param percent 0 to 100
+     * @return the upper bound, in nanoseconds, of the bucket holding that percentile; 0 when empty
+     */
+    public long percentileNanos(double percent) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percent / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // never report more than was actually recorded
+                return Math.min(upperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long count = getCount();
+        return count == 0 ? 0 : totalNanos.sum() / 1e3 / count;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentileNanos(50) / 1e3;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return percentileNanos(90) / 1e3;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentileNanos(99) / 1e3;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / 1e3;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /** One line: count, mean, p50, p90, p99 and max in milliseconds. */
+    @Override
+    public String toString() {
+        return String.format("%-32s count=%-9d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms",
+                             name, getCount(), getMeanMicros() / 1e3, getP50Micros() / 1e3,
+                             getP90Micros() / 1e3, getP99Micros() / 1e3, getMaxMicros() / 1e3);
+    }
+}
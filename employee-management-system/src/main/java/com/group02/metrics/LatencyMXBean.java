@@ -0,0 +1,18 @@
+// src/main/java/com/group02/metrics/LatencyMXBean.java
+package com.group02.metrics;
+
+/**
+ * JMX view of one {@link LatencyHistogram}, registered as
+ * {@code com.group02:type=Latency,name=<operation>}.
+ */
+public interface LatencyMXBean {
+    long getCount();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP90Micros();
+    double getP99Micros();
+    double getMaxMicros();
+
+    /** Clears the recorded values. */
+    void reset();
+}
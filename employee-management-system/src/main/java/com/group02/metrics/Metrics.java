@@ -0,0 +1,139 @@
+// src/main/java/com/group02/metrics/Metrics.java
+package com.group02.metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Named latency histograms and counters for the repository and service layers.
+ * <p>
+ * Instruments look their histograms and counters up once, when they are
+ * constructed, and keep them in fields; recording is then a plain method call on
+ * a {@link LatencyHistogram} or {@link LongAdder}, with no map lookup or
+ * allocation. The whole registry is published over JMX by {@link #registerMBeans()}
+ * and can be printed periodically by {@link #startDump}.
+ * </p>
+ * <p>
+ * Counters in use: {@code dao.rowsRead}, {@code dao.rowsWritten}, {@code dao.errors},
+ * {@code cache.hits}, {@code cache.misses} and {@code pool.timeouts}; the
+ * {@code pool.wait} and {@code pool.usage} histograms come from the connection pool.
+ * </p>
+ */
+public final class Metrics implements MetricsMXBean {
+    private static final Metrics GLOBAL = new Metrics();
+    private static final String DOMAIN = "com.group02";
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private ScheduledExecutorService dumper;
+
+    /** @return the process-wide registry used by the application */
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    /** @return the histogram with this name, created on first use */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /** @return the counter with this name, created on first use */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        long hits = counter("cache.hits").sum();
+        long total = hits + counter("cache.misses").sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("Metrics at ").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+              .append('\n');
+        for (LatencyHistogram histogram : histograms.values()) {
+            if (histogram.getCount() > 0) {
+                report.append("  ").append(histogram).append('\n');
+            }
+        }
+        getCounters().forEach((name, value) ->
+                report.append(String.format("  %-32s %d%n", name, value)));
+        report.append(String.format("  %-32s %.1f%%%n", "cache.hitRatio", getCacheHitRatio() * 100));
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Publishes this registry and each histogram on the platform MBean server.
+     * Histograms created later are published on the next call; already
+     * registered ones are skipped, so calling this again is safe.
+     */
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, new ObjectName(DOMAIN + ":type=Metrics"), this);
+            for (LatencyHistogram histogram : histograms.values()) {
+                register(server, new ObjectName(DOMAIN + ":type=Latency,name=" +
+                                                ObjectName.quote(histogram.getName())), histogram);
+            }
+        } catch (JMException e) {
+            System.err.println("Failed to register metrics MBeans: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void register(MBeanServer server, ObjectName name, Object bean) throws JMException {
+        if (!server.isRegistered(name)) {
+            server.registerMBean(bean, name);
+        }
+    }
+
+    /**
+     * Prints {@link #getReport()} to {@code out} every {@code period}, replacing any
+     * schedule already running.
+     */
+    public synchronized void startDump(PrintStream out, long period, TimeUnit unit) {
+        stopDump();
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        dumper.scheduleWithFixedDelay(() -> out.print(getReport()), period, period, unit);
+    }
+
+    /** Stops the periodic dump, if running. */
+    public synchronized void stopDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+// src/main/java/com/group02/metrics/MetricsMXBean.java
+package com.group02.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of a {@link Metrics} registry, registered as {@code com.group02:type=Metrics}.
+ */
+public interface MetricsMXBean {
+    /** @return every counter by name, e.g. {@code dao.rowsRead} or {@code cache.hits} */
+    Map<String, Long> getCounters();
+
+    /** @return cache hits as a fraction of cache-eligible reads, or 0 before any read */
+    double getCacheHitRatio();
+
+    /** @return the same text as the periodic dump */
+    String getReport();
+
+    /** Clears all histograms and counters. */
+    void reset();
+}
@@ -0,0 +1,32 @@
+// src/main/java/com/group02/metrics/NameSearchEvent.java
+package com.group02.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one name search through the service, to tie slow
+ * scans or REGEXP queries to the pattern that caused them.
+ */
+@Name("com.group02.NameSearch")
+@Label("Name Search")
+@Category({ "Employee Management", "Cache" })
+@Description("A searchByName call, answered by the cache or the database")
+@Threshold("0 ms")
+@StackTrace(false)
+public final class NameSearchEvent extends Event {
+    @Label("Pattern")
+    public String pattern;
+
+    @Label("Matches")
+    public int matches;
+
+    @Label("From Cache")
+    @Description("False while the cache is warming up and the database answers")
+    public boolean fromCache;
+}
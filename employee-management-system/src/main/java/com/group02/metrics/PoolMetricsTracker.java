@@ -0,0 +1,38 @@
+// src/main/java/com/group02/metrics/PoolMetricsTracker.java
+package com.group02.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feeds HikariCP's connection timings into {@link Metrics}: how long callers waited
+ * for a connection ({@code pool.wait}), how long they held it ({@code pool.usage})
+ * and how often they gave up waiting ({@code pool.timeouts}).
+ */
+public final class PoolMetricsTracker implements IMetricsTracker {
+    private final LatencyHistogram wait;
+    private final LatencyHistogram usage;
+    private final LongAdder timeouts;
+
+    public PoolMetricsTracker(Metrics metrics) {
+        wait = metrics.histogram("pool.wait");
+        usage = metrics.histogram("pool.usage");
+        timeouts = metrics.counter("pool.timeouts");
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        wait.record(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+}
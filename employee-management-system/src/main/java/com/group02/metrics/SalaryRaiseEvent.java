@@ -0,0 +1,38 @@
+// src/main/java/com/group02/metrics/SalaryRaiseEvent.java
+package com.group02.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a bulk salary raise through the service, covering the
+ * database update and the matching cache update.
+ */
+@Name("com.group02.SalaryRaise")
+@Label("Salary Raise")
+@Category({ "Employee Management", "Service" })
+@Description("A bulk salary raise over a salary range")
+public final class SalaryRaiseEvent extends Event {
+    @Label("Minimum Salary")
+    public double minSalary;
+
+    @Label("Maximum Salary")
+    public double maxSalary;
+
+    @Label("Raise Percent")
+    public double raisePercent;
+
+    @Label("Chunked")
+    @Description("Applied in short per-chunk transactions")
+    public boolean chunked;
+
+    @Label("Rows")
+    @Description("Employees raised")
+    public long rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -51,6 +51,20 @@ public class Employee {
         this.SSN = SSN;
     }
 
+    /**
+     * Copy constructor.
+     * @param other employee to copy all fields from
+     */
+    public Employee(Employee other) {
+        this.empID = other.getEmpID();
+        this.employeeName = other.getName();
+        this.SSN = other.getSSN();
+        this.jobTitle = other.getJobTitle();
+        this.division = other.getDivision();
+        this.salary = other.getSalary();
+        this.payInfo = other.getPayInfo();
+    }
+
     /**
      * Returns a human-readable multi-line summary.
      */
@@ -0,0 +1,69 @@
+// src/main/java/com/group02/repository/BatchInsertResult.java
+package com.group02.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk insert.
+ * <p>
+ * Holds the generated empID for every input row (in input order, -1 for rows that
+ * were not inserted) and the list of rows that failed along with the reason.
+ * </p>
+ */
+public class BatchInsertResult {
+
+    /**
+     * A row that could not be inserted.
+     * @param index   position of the row in the input list
+     * @param message database error, e.g. a duplicate SSN
+     */
+    public record Failure(int index, String message) { }
+
+    private final int[] generatedIds;
+    private final List<Failure> failures = new ArrayList<>();
+
+    public BatchInsertResult(int rows) {
+        this.generatedIds = new int[rows];
+        Arrays.fill(generatedIds, -1);
+    }
+
+    void setGeneratedId(int index, int empID) {
+        generatedIds[index] = empID;
+    }
+
+    void addFailure(int index, String message) {
+        failures.add(new Failure(index, message));
+    }
+
+    /** @return generated empID for the row at {@code index}, or -1 if it was not inserted */
+    public int getGeneratedId(int index) {
+        return generatedIds[index];
+    }
+
+    /** @return generated empIDs in input order (-1 for failed rows) */
+    public int[] getGeneratedIds() {
+        return generatedIds.clone();
+    }
+
+    /** @return rows that failed, in input order */
+    public List<Failure> getFailures() {
+        return Collections.unmodifiableList(failures);
+    }
+
+    /** @return number of rows inserted */
+    public int getInsertedCount() {
+        int inserted = 0;
+        for (int id : generatedIds) {
+            if (id > 0) inserted++;
+        }
+        return inserted;
+    }
+
+    /** @return true if every row was inserted */
+    public boolean isComplete() {
+        return failures.isEmpty() && getInsertedCount() == generatedIds.length;
+    }
+}
@@ -0,0 +1,14 @@
+// src/main/java/com/group02/repository/DataAccessException.java
+package com.group02.repository;
+
+/**
+ * Unchecked wrapper for database errors raised where a checked SQLException
+ * cannot be thrown, e.g. while a caller is consuming a row stream.
+ */
+public class DataAccessException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
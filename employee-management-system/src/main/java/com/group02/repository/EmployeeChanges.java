@@ -0,0 +1,21 @@
+// src/main/java/com/group02/repository/EmployeeChanges.java
+package com.group02.repository;
+
+import com.group02.model.Employee;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Rows inserted, updated or deleted since a high-water mark.
+ *
+ * @param changed    current state of every employee modified since the mark, in modification order
+ * @param deletedIds empIDs deleted since the mark
+ * @param asOf       database time the changes were read at; the next high-water mark
+ */
+public record EmployeeChanges(List<Employee> changed, List<Integer> deletedIds, Timestamp asOf) {
+
+    /** @return true if nothing changed */
+    public boolean isEmpty() {
+        return changed.isEmpty() && deletedIds.isEmpty();
+    }
+}
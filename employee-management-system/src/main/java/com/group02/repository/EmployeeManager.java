@@ -1,10 +1,23 @@
 // src/main/java/com/group02/repository/EmployeeManager.java
 package com.group02.repository;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import com.group02.metrics.DatabaseCallEvent;
 import com.group02.model.Employee;
 import com.group02.util.DatabaseUtil;
 
@@ -14,9 +27,33 @@ import com.group02.util.DatabaseUtil;
  * Implements Searchable for read queries and Updatable for single-column updates.
  * Uses DatabaseUtil to obtain JDBC connections.
  * </p>
+ * <p>
+ * Every public call emits a {@link DatabaseCallEvent} to Java Flight Recorder, so a
+ * recording shows which method and SQL caused the JDBC traffic it sees.
+ * </p>
  */
 public class EmployeeManager implements Searchable, Updatable {
 
+    /** Default number of rows sent per JDBC batch by {@link #addEmployees(List)}. */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Rows fetched per server round trip when streaming (needs useCursorFetch on the pool). */
+    public static final int STREAM_FETCH_SIZE = 1000;
+
+    /** Columns {@link #updateField} and {@link #updateFields} may change. */
+    public static final List<String> UPDATABLE_COLUMNS =
+            List.of("employeeName", "division", "SSN", "jobTitle", "salary", "payInfo");
+
+    private static final String INSERT_SQL =
+            "INSERT INTO employees (employeeName, division, SSN, jobTitle, salary, payInfo) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // SSN is UNIQUE, so a row whose SSN exists updates that employee instead; the
+    // row alias replaces VALUES(col), deprecated since MySQL 8.0.20
+    private static final String UPSERT_SQL = INSERT_SQL +
+            " AS new ON DUPLICATE KEY UPDATE employeeName = new.employeeName, division = new.division, " +
+            "jobTitle = new.jobTitle, salary = new.salary, payInfo = new.payInfo";
+
     /**
      * Inserts a new Employee into the DB.
      * Uses RETURN_GENERATED_KEYS to fetch the auto-increment empID.
@@ -25,20 +62,14 @@ public class EmployeeManager implements Searchable, Updatable {
      * @return generated empID (>0) or -1 on failure
      */
     public int addEmployee(Employee employee) {
-        String sql = "INSERT INTO employees (employeeName, division, SSN, jobTitle, salary, payInfo) " +
-                     "VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        DatabaseCallEvent event = DatabaseCallEvent.start("addEmployee", INSERT_SQL, () -> insertParameters(employee));
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
-            // bind parameters in the same order as the INSERT columns
-            stmt.setString(1, employee.getName());
-            stmt.setString(2, employee.getDivision());
-            stmt.setString(3, employee.getSSN());
-            stmt.setString(4, employee.getJobTitle());
-            stmt.setDouble(5, employee.getSalary());
-            stmt.setString(6, employee.getPayInfo());
+            bindInsert(stmt, employee);
 
             int affectedRows = stmt.executeUpdate();
+            event.rows = affectedRows;
             if (affectedRows == 0) {
                 // no insert happened
                 throw new SQLException("Creating employee failed, no rows affected.");
@@ -55,9 +86,202 @@ public class EmployeeManager implements Searchable, Updatable {
                 }
             }
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();  // consider replacing with a logger
             return -1;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * Inserts many employees using JDBC batches of {@link #DEFAULT_BATCH_SIZE} rows.
+     * @see #addEmployees(List, int)
+     */
+    public BatchInsertResult addEmployees(List<Employee> employees) {
+        return addEmployees(employees, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Inserts many employees using JDBC batching on a single connection.
+     * <p>
+     * Each chunk of {@code batchSize} rows is sent as one batch (rewritten into
+     * multi-row INSERTs by the driver) and committed in its own transaction.
+     * If a chunk fails, e.g. on a duplicate SSN, it is rolled back and replayed
+     * row by row so the good rows are still inserted and the bad ones reported.
+     * Successfully inserted employees get their generated empID set.
+     * </p>
+     *
+     * @param employees rows to insert
+     * @param batchSize rows per batch and per transaction (&gt;0)
+     * @return generated IDs per input row and the rows that failed
+     */
+    public BatchInsertResult addEmployees(List<Employee> employees, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        BatchInsertResult result = new BatchInsertResult(employees.size());
+        DatabaseCallEvent event = DatabaseCallEvent.start("addEmployees", INSERT_SQL,
+                () -> new Object[] { employees.size() + " rows" });
+        int from = 0;
+        try (Connection conn = connect(event)) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (; from < employees.size(); from += batchSize) {
+                    int to = Math.min(employees.size(), from + batchSize);
+                    insertChunk(conn, stmt, employees, from, to, result);
+                }
+            } catch (SQLException e) {
+                // don't let restoring auto-commit commit a half-written chunk
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+            // connection-level failure: everything not yet committed is reported as failed
+            for (int i = from; i < employees.size(); i++) {
+                if (result.getGeneratedId(i) < 0) {
+                    result.addFailure(i, e.getMessage());
+                }
+            }
+        } finally {
+            event.rows = result.getInsertedCount();
+            event.finish();
+        }
+        return result;
+    }
+
+    /** Inserts rows [from, to) as one batch; falls back to row-by-row inserts if the batch fails. */
+    private void insertChunk(Connection conn, PreparedStatement stmt, List<Employee> employees,
+                             int from, int to, BatchInsertResult result) throws SQLException {
+        int[] ids = new int[to - from];
+        try {
+            for (int i = from; i < to; i++) {
+                bindInsert(stmt, employees.get(i));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                for (int i = 0; i < ids.length && keys.next(); i++) {
+                    ids[i] = keys.getInt(1);
+                }
+            }
+            conn.commit();
+        } catch (BatchUpdateException e) {
+            conn.rollback();
+            stmt.clearBatch();
+            // a failed INSERT only rolls back itself, so the chunk can be replayed in one transaction
+            for (int i = from; i < to; i++) {
+                try {
+                    bindInsert(stmt, employees.get(i));
+                    stmt.executeUpdate();
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        ids[i - from] = keys.next() ? keys.getInt(1) : 0;
+                    }
+                } catch (SQLException rowError) {
+                    ids[i - from] = 0;
+                    result.addFailure(i, rowError.getMessage());
+                }
+            }
+            conn.commit();
+        }
+        // only publish IDs once the chunk is committed
+        for (int i = from; i < to; i++) {
+            int empID = ids[i - from];
+            if (empID > 0) {
+                employees.get(i).setEmpID(empID);
+                result.setGeneratedId(i, empID);
+            }
+        }
+    }
+
+    /**
+     * Inserts or updates many employees keyed on SSN, as one JDBC batch in one
+     * transaction: a row whose SSN is new becomes a new employee, a row whose SSN
+     * exists overwrites that employee's other fields. The driver rewrites the batch
+     * into multi-row statements. If the batch fails it is rolled back and replayed
+     * row by row, so good rows are still written and bad ones reported.
+     * <p>
+     * The cache does not see these writes until it is refreshed; their lastModified
+     * stamps make {@link #findChangesSince} return them.
+     * </p>
+     *
+     * @param employees rows to write; empIDs are ignored
+     * @return rows that could not be written, by index into {@code employees}
+     */
+    public List<BatchInsertResult.Failure> upsertBySSN(List<Employee> employees) {
+        List<BatchInsertResult.Failure> failures = new ArrayList<>();
+        DatabaseCallEvent event = DatabaseCallEvent.start("upsertBySSN", UPSERT_SQL,
+                () -> new Object[] { employees.size() + " rows" });
+        try (Connection conn = connect(event)) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(UPSERT_SQL)) {
+                try {
+                    for (Employee employee : employees) {
+                        bindInsert(stmt, employee);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                } catch (BatchUpdateException e) {
+                    conn.rollback();
+                    stmt.clearBatch();
+                    for (int i = 0; i < employees.size(); i++) {
+                        try {
+                            bindInsert(stmt, employees.get(i));
+                            stmt.executeUpdate();
+                        } catch (SQLException rowError) {
+                            failures.add(new BatchInsertResult.Failure(i, rowError.getMessage()));
+                        }
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+            failures.clear();
+            for (int i = 0; i < employees.size(); i++) {
+                failures.add(new BatchInsertResult.Failure(i, e.getMessage()));
+            }
+        } finally {
+            event.rows = employees.size() - failures.size();
+            event.finish();
         }
+        return failures;
+    }
+
+    /** INSERT parameters for a recorded event, SSN masked. */
+    private static Object[] insertParameters(Employee employee) {
+        return new Object[] { employee.getName(), employee.getDivision(), DatabaseCallEvent.MASKED,
+                              employee.getJobTitle(), employee.getSalary(), employee.getPayInfo() };
+    }
+
+    /** Takes a pooled connection, charging the time spent waiting for it to the event. */
+    private static Connection connect(DatabaseCallEvent event) throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = DatabaseUtil.getConnection();
+        event.connected(start);
+        return conn;
+    }
+
+    /** Binds employee fields in the same order as the INSERT columns. */
+    private void bindInsert(PreparedStatement stmt, Employee employee) throws SQLException {
+        stmt.setString(1, employee.getName());
+        stmt.setString(2, employee.getDivision());
+        stmt.setString(3, employee.getSSN());
+        stmt.setString(4, employee.getJobTitle());
+        stmt.setDouble(5, employee.getSalary());
+        stmt.setString(6, employee.getPayInfo());
     }
 
     /**
@@ -78,11 +302,16 @@ public class EmployeeManager implements Searchable, Updatable {
         return e;
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Loads the whole table into a list.
+     * Prefer {@link #streamAll()} or {@link #findPage(int, int)} on large tables.
+     * @return all employees
+     */
     public List<Employee> findAll() {
         List<Employee> employees = new ArrayList<>();
         String sql = "SELECT * FROM employees";
-        try (Connection conn = DatabaseUtil.getConnection();
+        DatabaseCallEvent event = DatabaseCallEvent.start("findAll", sql);
+        try (Connection conn = connect(event);
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -90,25 +319,368 @@ public class EmployeeManager implements Searchable, Updatable {
                 employees.add(mapResultSetToEmployee(rs));
             }
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();
+        } finally {
+            event.rows = employees.size();
+            event.finish();
         }
         return employees;
     }
 
+    /**
+     * Streams every employee in empID order without materializing the table.
+     * <p>
+     * Rows are pulled through a server-side cursor {@link #STREAM_FETCH_SIZE} at a time,
+     * so memory stays flat regardless of table size. The stream holds a pooled
+     * connection until it is closed, so always use try-with-resources.
+     * Database errors while iterating surface as {@link DataAccessException}.
+     * </p>
+     * @return open stream of employees; must be closed
+     */
+    public Stream<Employee> streamAll() {
+        return stream("streamAll", "SELECT * FROM employees ORDER BY empID");
+    }
+
+    /**
+     * Passes every employee, in empID order, to the consumer without materializing the table.
+     * @param consumer receives one row at a time
+     * @see #streamAll()
+     */
+    public void streamAll(Consumer<? super Employee> consumer) {
+        try (Stream<Employee> rows = streamAll()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    /**
+     * Passes every employee with {@code afterId < empID <= upToId}, in empID order, to the
+     * consumer. Disjoint ranges can be streamed on separate connections in parallel.
+     * @param afterId  exclusive lower bound on empID
+     * @param upToId   inclusive upper bound on empID
+     * @param consumer receives one row at a time
+     * @see #streamAll()
+     */
+    public void streamRange(int afterId, int upToId, Consumer<? super Employee> consumer) {
+        try (Stream<Employee> rows = stream("streamRange",
+                                            "SELECT * FROM employees WHERE empID > ? AND empID <= ? ORDER BY empID",
+                                            afterId, upToId)) {
+            rows.forEach(consumer);
+        }
+    }
+
+    /**
+     * Streams the employees in a division and/or salary range, in empID order, through
+     * a server-side cursor like {@link #streamAll()}. Null arguments leave that
+     * condition out, so with all three null this is the whole table.
+     * @param division  exact division to keep, or null
+     * @param minSalary lowest salary to keep, or null
+     * @param maxSalary highest salary to keep, or null
+     * @return open stream of employees; must be closed
+     */
+    public Stream<Employee> streamMatching(String division, Double minSalary, Double maxSalary) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM employees WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (division != null) {
+            sql.append(" AND division = ?");
+            params.add(division);
+        }
+        if (minSalary != null) {
+            sql.append(" AND salary >= ?");
+            params.add(minSalary);
+        }
+        if (maxSalary != null) {
+            sql.append(" AND salary <= ?");
+            params.add(maxSalary);
+        }
+        sql.append(" ORDER BY empID");
+        return stream("streamMatching", sql.toString(), params.toArray());
+    }
+
+    /**
+     * Returns the smallest and largest empID in use, read from the primary key index.
+     * @return {min, max}, or {0, 0} if the table is empty
+     * @throws DataAccessException on database errors
+     */
+    public int[] findIdBounds() {
+        String sql = "SELECT COALESCE(MIN(empID), 0), COALESCE(MAX(empID), 0) FROM employees";
+        DatabaseCallEvent event = DatabaseCallEvent.start("findIdBounds", sql);
+        try (Connection conn = connect(event);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            event.rows = 1;
+            return new int[] { rs.getInt(1), rs.getInt(2) };
+        } catch (SQLException e) {
+            event.fail();
+            throw new DataAccessException("Failed to read empID bounds", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * Keyset pagination: returns up to {@code limit} employees with empID greater than
+     * {@code afterId}, in empID order. Pass the last empID of a page to get the next one;
+     * start with 0. Each page is a primary-key range scan, so cost does not grow with depth.
+     *
+     * @param afterId exclusive lower bound on empID
+     * @param limit   maximum rows to return
+     * @return the page (empty when there are no more rows)
+     */
+    public List<Employee> findPage(int afterId, int limit) {
+        String sql = "SELECT * FROM employees WHERE empID > ? ORDER BY empID LIMIT ?";
+        List<Employee> employees = new ArrayList<>(Math.min(limit, STREAM_FETCH_SIZE));
+        DatabaseCallEvent event = DatabaseCallEvent.start("findPage", sql, () -> new Object[] { afterId, limit });
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(mapResultSetToEmployee(rs));
+                }
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+        } finally {
+            event.rows = employees.size();
+            event.finish();
+        }
+        return employees;
+    }
+
+    /**
+     * Offset pagination in any {@link SortColumn} order, for views that jump to an
+     * arbitrary row such as a scrolled table. {@code OFFSET} makes MySQL walk past the
+     * skipped rows, so prefer {@link #findPage(int, int)} when reading in empID order
+     * from the start.
+     *
+     * @param ascending false to reverse the order, ties included
+     * @param offset    position of the first row to return
+     * @param limit     maximum rows to return
+     * @return the rows and the table's current row count (empty rows on failure)
+     */
+    public EmployeeSlice findSlice(SortColumn column, boolean ascending, int offset, int limit) {
+        String direction = ascending ? " ASC" : " DESC";
+        String sql = "SELECT * FROM employees ORDER BY " + column.column + direction
+                     + (column == SortColumn.EMP_ID ? "" : ", empID" + direction) + " LIMIT ? OFFSET ?";
+        List<Employee> employees = new ArrayList<>(Math.min(limit, STREAM_FETCH_SIZE));
+        int total = 0;
+        DatabaseCallEvent event = DatabaseCallEvent.start("findSlice", sql, () -> new Object[] { limit, offset });
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             PreparedStatement count = conn.prepareStatement("SELECT COUNT(*) FROM employees")) {
+
+            stmt.setInt(1, limit);
+            stmt.setInt(2, offset);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(mapResultSetToEmployee(rs));
+                }
+            }
+            try (ResultSet rs = count.executeQuery()) {
+                if (rs.next()) {
+                    total = rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+        } finally {
+            event.rows = employees.size();
+            event.finish();
+        }
+        return new EmployeeSlice(employees, offset, total);
+    }
+
+    /**
+     * Opens a forward-only, read-only cursor for the query and exposes it as a lazy stream
+     * that releases the result set, statement and connection on close. Its event covers
+     * the stream's whole life, up to the close.
+     */
+    private Stream<Employee> stream(String operation, String sql, Object... params) {
+        DatabaseCallEvent event = DatabaseCallEvent.start(operation, sql, () -> params);
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = connect(event);
+            stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            DatabaseUtil.closeResources(conn, stmt, rs);
+            event.fail();
+            event.finish();
+            throw new DataAccessException("Failed to open employee stream", e);
+        }
+
+        final Connection c = conn;
+        final PreparedStatement st = stmt;
+        final ResultSet r = rs;
+        Spliterator<Employee> rows = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Employee> action) {
+                try {
+                    if (!r.next()) {
+                        return false;
+                    }
+                    event.rows++;
+                    action.accept(mapResultSetToEmployee(r));
+                    return true;
+                } catch (SQLException e) {
+                    event.fail();
+                    throw new DataAccessException("Failed to read employee stream", e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false)
+                            .onClose(() -> {
+                                DatabaseUtil.closeResources(c, st, r);
+                                event.finish();
+                            });
+    }
+
+    /**
+     * Reads the database clock, e.g. to take a change-tracking high-water mark
+     * before loading the table.
+     * @return current database time
+     * @throws DataAccessException if the database cannot be reached
+     */
+    public Timestamp currentTimestamp() {
+        String sql = "SELECT CURRENT_TIMESTAMP(6)";
+        DatabaseCallEvent event = DatabaseCallEvent.start("currentTimestamp", sql);
+        try (Connection conn = connect(event);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            event.rows = 1;
+            return rs.getTimestamp(1);
+        } catch (SQLException e) {
+            event.fail();
+            throw new DataAccessException("Failed to read database time", e);
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * Returns employees inserted or updated, and empIDs deleted, after {@code since}.
+     * <p>
+     * Uses the lastModified column and the employees_deleted tombstones maintained by
+     * the database, so changes made by other application nodes or directly in SQL are
+     * seen too. Both queries are index range scans, so the cost follows the number of
+     * changes rather than the table size. A row's timestamp is taken when it is written,
+     * not when it commits, so callers should pass a mark somewhat older than the last
+     * {@link EmployeeChanges#asOf()} to catch slow transactions; re-reading a row is harmless.
+     * </p>
+     *
+     * @param since exclusive lower bound on modification time
+     * @return the changes and the database time they were read at
+     * @throws DataAccessException on database errors
+     */
+    public EmployeeChanges findChangesSince(Timestamp since) {
+        List<Employee> changed = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        DatabaseCallEvent event = DatabaseCallEvent.start("findChangesSince",
+                "SELECT * FROM employees WHERE lastModified > ?; SELECT empID FROM employees_deleted WHERE deletedAt > ?",
+                () -> new Object[] { since });
+        try (Connection conn = connect(event)) {
+            // one transaction, so both queries read the same snapshot and a row is never
+            // reported as both changed and deleted
+            conn.setAutoCommit(false);
+            try {
+                Timestamp asOf;
+                // read the clock first: anything written later is picked up by the next call
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP(6)")) {
+                    rs.next();
+                    asOf = rs.getTimestamp(1);
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT * FROM employees WHERE lastModified > ? ORDER BY lastModified")) {
+                    stmt.setTimestamp(1, since);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            changed.add(mapResultSetToEmployee(rs));
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT empID FROM employees_deleted WHERE deletedAt > ?")) {
+                    stmt.setTimestamp(1, since);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            deleted.add(rs.getInt(1));
+                        }
+                    }
+                }
+                return new EmployeeChanges(changed, deleted, asOf);
+            } finally {
+                // read-only, so this just ends the snapshot
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            event.fail();
+            throw new DataAccessException("Failed to read employee changes", e);
+        } finally {
+            event.rows = changed.size() + deleted.size();
+            event.finish();
+        }
+    }
+
+    /**
+     * Deletes employees_deleted tombstones recorded before {@code cutoff}. Tombstones are
+     * only read by {@link #findChangesSince}, so once every caller's mark is past the
+     * cutoff they are dead weight; the deletedAt index keeps this a range delete.
+     *
+     * @param cutoff exclusive upper bound on deletion time
+     * @return number of tombstones deleted
+     * @throws DataAccessException on database errors
+     */
+    public int purgeDeletedBefore(Timestamp cutoff) {
+        String sql = "DELETE FROM employees_deleted WHERE deletedAt < ?";
+        DatabaseCallEvent event = DatabaseCallEvent.start("purgeDeletedBefore", sql, () -> new Object[] { cutoff });
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, cutoff);
+            int purged = stmt.executeUpdate();
+            event.rows = purged;
+            return purged;
+        } catch (SQLException e) {
+            event.fail();
+            throw new DataAccessException("Failed to purge deleted-employee tombstones", e);
+        } finally {
+            event.finish();
+        }
+    }
+
     /** {@inheritDoc} */
     public Optional<Employee> searchByID(int empID) {
         String sql = "SELECT * FROM employees WHERE empID = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        DatabaseCallEvent event = DatabaseCallEvent.start("searchByID", sql, () -> new Object[] { empID });
+        try (Connection conn = connect(event);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, empID);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
+                    event.rows = 1;
                     return Optional.of(mapResultSetToEmployee(rs));
                 }
             }
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();
+        } finally {
+            event.finish();
         }
         return Optional.empty();
     }
@@ -116,40 +688,125 @@ public class EmployeeManager implements Searchable, Updatable {
     /** {@inheritDoc} */
     public Optional<Employee> searchBySSN(String SSN) {
         String sql = "SELECT * FROM employees WHERE SSN = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        DatabaseCallEvent event = DatabaseCallEvent.start("searchBySSN", sql, () -> new Object[] { DatabaseCallEvent.MASKED });
+        try (Connection conn = connect(event);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, SSN);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
+                    event.rows = 1;
                     return Optional.of(mapResultSetToEmployee(rs));
                 }
             }
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();
+        } finally {
+            event.finish();
         }
         return Optional.empty();
     }
 
-    /** {@inheritDoc} */
+    /** Shortest word InnoDB puts in a FULLTEXT index (innodb_ft_min_token_size default). */
+    private static final int FULLTEXT_MIN_TOKEN = 3;
+
+    /**
+     * Finds employees by name using an index.
+     * <p>
+     * A leading {@code ^} or any word shorter than the FULLTEXT minimum selects a
+     * {@link NameMatch#PREFIX} search; otherwise a {@link NameMatch#WORDS} search is run,
+     * which finds the text at the start of any word of the name (e.g. "Smi" finds
+     * "Jane Smith"). For arbitrary regular expressions use
+     * {@link #searchByName(String, NameMatch)} with {@link NameMatch#REGEXP}.
+     * </p>
+     */
     public List<Employee> searchByName(String namePattern) {
-        String sql = "SELECT * FROM employees WHERE employeeName REGEXP ?";
+        String text = namePattern == null ? "" : namePattern.trim();
+        if (text.startsWith("^")) {
+            return searchByName(text.substring(1), NameMatch.PREFIX);
+        }
+        for (String word : text.split("\\s+")) {
+            if (word.length() < FULLTEXT_MIN_TOKEN) {
+                return searchByName(text, NameMatch.PREFIX);
+            }
+        }
+        if (booleanWordQuery(text).isEmpty()) {
+            return searchByName(text, NameMatch.PREFIX);
+        }
+        return searchByName(text, NameMatch.WORDS);
+    }
+
+    /**
+     * Finds employees by name with an explicit match mode.
+     * @param namePattern text (PREFIX, WORDS) or case-sensitive MySQL regular expression (REGEXP)
+     * @param match       how to match; only REGEXP scans the whole table
+     * @return List of matching Employee objects (may be empty)
+     */
+    public List<Employee> searchByName(String namePattern, NameMatch match) {
+        String text = namePattern == null ? "" : namePattern;
+        String sql;
+        List<String> params = new ArrayList<>();
+        switch (match) {
+            case PREFIX -> {
+                sql = "SELECT * FROM employees WHERE employeeName LIKE ?";
+                params.add(escapeLike(text) + "%");
+            }
+            case WORDS -> {
+                // the FULLTEXT index narrows candidates, LIKE keeps the result to names containing the text
+                sql = "SELECT * FROM employees WHERE MATCH(employeeName) AGAINST (? IN BOOLEAN MODE) " +
+                      "AND employeeName LIKE ?";
+                params.add(booleanWordQuery(text));
+                params.add("%" + escapeLike(text) + "%");
+            }
+            default -> {
+                // 'c': case-sensitive whatever the column's collation, as java.util.regex is
+                sql = "SELECT * FROM employees WHERE REGEXP_LIKE(employeeName, ?, 'c')";
+                params.add(text);
+            }
+        }
+
         List<Employee> employees = new ArrayList<>();
-        try (Connection conn = DatabaseUtil.getConnection();
+        DatabaseCallEvent event = DatabaseCallEvent.start("searchByName", sql, params::toArray);
+        try (Connection conn = connect(event);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setString(1, namePattern);
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setString(i + 1, params.get(i));
+            }
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     employees.add(mapResultSetToEmployee(rs));
                 }
             }
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();
+        } finally {
+            event.rows = employees.size();
+            event.finish();
         }
         return employees;
     }
 
+    /** Escapes LIKE wildcards so the text is matched literally. */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /** Builds a boolean-mode query requiring every word as a word prefix: "+alice* +smi*". */
+    private static String booleanWordQuery(String text) {
+        StringBuilder query = new StringBuilder();
+        for (String word : text.trim().split("\\s+")) {
+            // drop boolean-mode operators so user text can't change the query's meaning
+            String term = word.replaceAll("[+\\-<>()~*\"@]", "");
+            if (!term.isEmpty()) {
+                query.append(query.length() == 0 ? "+" : " +").append(term).append('*');
+            }
+        }
+        return query.toString();
+    }
+
     /**
      * Updates all fields on an existing employee record.
      * @param employee DTO with empID and new field values
@@ -157,7 +814,10 @@ public class EmployeeManager implements Searchable, Updatable {
      */
     public boolean updateEmployee(Employee employee) {
         String sql = "UPDATE employees SET employeeName=?, division=?, SSN=?, jobTitle=?, salary=?, payInfo=? WHERE empID=?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        DatabaseCallEvent event = DatabaseCallEvent.start("updateEmployee", sql, () -> new Object[] {
+                employee.getName(), employee.getDivision(), DatabaseCallEvent.MASKED, employee.getJobTitle(),
+                employee.getSalary(), employee.getPayInfo(), employee.getEmpID() });
+        try (Connection conn = connect(event);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, employee.getName());
@@ -168,38 +828,311 @@ public class EmployeeManager implements Searchable, Updatable {
             stmt.setString(6, employee.getPayInfo());
             stmt.setInt(7, employee.getEmpID());
 
-            return stmt.executeUpdate() > 0;
+            event.rows = stmt.executeUpdate();
+            return event.rows > 0;
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();
             return false;
+        } finally {
+            event.finish();
         }
     }
 
     /** {@inheritDoc} */
     public boolean updateField(int empID, String fieldName, Object fieldValue) {
         // Validate allowed columns
-        List<String> validFields = List.of("employeeName","division","SSN","jobTitle","salary","payInfo");
-        if (!validFields.contains(fieldName)) {
+        if (!UPDATABLE_COLUMNS.contains(fieldName)) {
             throw new IllegalArgumentException("Invalid field: " + fieldName);
         }
         String sql = "UPDATE employees SET " + fieldName + " = ? WHERE empID = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        DatabaseCallEvent event = DatabaseCallEvent.start("updateField", sql, () -> new Object[] {
+                fieldName.equals("SSN") ? DatabaseCallEvent.MASKED : fieldValue, empID });
+        try (Connection conn = connect(event);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            // bind based on runtime type
-            if (fieldValue instanceof String)       stmt.setString(1, (String) fieldValue);
-            else if (fieldValue instanceof Integer) stmt.setInt(1, (Integer) fieldValue);
-            else if (fieldValue instanceof Double)  stmt.setDouble(1, (Double) fieldValue);
-            else if (fieldValue instanceof Boolean) stmt.setBoolean(1, (Boolean) fieldValue);
-            else if (fieldValue == null)            stmt.setNull(1, Types.NULL);
-            else                                    stmt.setString(1, fieldValue.toString());
-
+            bindValue(stmt, 1, fieldValue);
             stmt.setInt(2, empID);
-            return stmt.executeUpdate() > 0;
+            event.rows = stmt.executeUpdate();
+            return event.rows > 0;
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();
             return false;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * Writes column changes for many employees in one transaction: each employee's
+     * changes become one UPDATE of just those columns, and updates that touch the same
+     * columns share a statement and go as one JDBC batch. If a batch fails everything
+     * is rolled back and replayed row by row, so good updates are still written and
+     * bad ones reported.
+     *
+     * @param updates changes to write; an employee should appear at most once
+     * @return updates that failed or matched no employee, by index into {@code updates}
+     * @throws IllegalArgumentException if a column cannot be updated
+     */
+    public List<BatchInsertResult.Failure> updateFields(List<FieldUpdate> updates) {
+        // group by column set, keeping the first-seen order
+        Map<List<String>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            List<String> columns = List.copyOf(updates.get(i).values().keySet());
+            for (String column : columns) {
+                if (!UPDATABLE_COLUMNS.contains(column)) {
+                    throw new IllegalArgumentException("Invalid field: " + column);
+                }
+            }
+            groups.computeIfAbsent(columns, c -> new ArrayList<>()).add(i);
+        }
+        List<BatchInsertResult.Failure> failures = new ArrayList<>();
+        DatabaseCallEvent event = DatabaseCallEvent.start("updateFields", "UPDATE employees SET ... WHERE empID = ?",
+                () -> new Object[] { updates.size() + " rows", groups.size() + " column sets" });
+        try (Connection conn = connect(event)) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                try {
+                    for (Map.Entry<List<String>, List<Integer>> group : groups.entrySet()) {
+                        try (PreparedStatement stmt = conn.prepareStatement(updateSql(group.getKey()))) {
+                            for (int i : group.getValue()) {
+                                bindUpdate(stmt, group.getKey(), updates.get(i));
+                                stmt.addBatch();
+                            }
+                            int[] counts = stmt.executeBatch();
+                            for (int k = 0; k < counts.length; k++) {
+                                if (counts[k] == 0) {
+                                    failures.add(noSuchEmployee(group.getValue().get(k), updates));
+                                }
+                            }
+                        }
+                    }
+                } catch (BatchUpdateException e) {
+                    conn.rollback();
+                    failures.clear();
+                    for (Map.Entry<List<String>, List<Integer>> group : groups.entrySet()) {
+                        try (PreparedStatement stmt = conn.prepareStatement(updateSql(group.getKey()))) {
+                            for (int i : group.getValue()) {
+                                try {
+                                    bindUpdate(stmt, group.getKey(), updates.get(i));
+                                    if (stmt.executeUpdate() == 0) {
+                                        failures.add(noSuchEmployee(i, updates));
+                                    }
+                                } catch (SQLException rowError) {
+                                    failures.add(new BatchInsertResult.Failure(i, rowError.getMessage()));
+                                }
+                            }
+                        }
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+            failures.clear();
+            for (int i = 0; i < updates.size(); i++) {
+                failures.add(new BatchInsertResult.Failure(i, e.getMessage()));
+            }
+        } finally {
+            event.rows = updates.size() - failures.size();
+            event.finish();
         }
+        failures.sort(Comparator.comparingInt(BatchInsertResult.Failure::index));
+        return failures;
+    }
+
+    private static String updateSql(List<String> columns) {
+        return "UPDATE employees SET " + String.join(" = ?, ", columns) + " = ? WHERE empID = ?";
+    }
+
+    private static void bindUpdate(PreparedStatement stmt, List<String> columns, FieldUpdate update)
+            throws SQLException {
+        for (int k = 0; k < columns.size(); k++) {
+            bindValue(stmt, k + 1, update.values().get(columns.get(k)));
+        }
+        stmt.setInt(columns.size() + 1, update.empID());
+    }
+
+    private static BatchInsertResult.Failure noSuchEmployee(int index, List<FieldUpdate> updates) {
+        return new BatchInsertResult.Failure(index, "No employee with empID " + updates.get(index).empID());
+    }
+
+    /** Binds a column value based on its runtime type. */
+    private static void bindValue(PreparedStatement stmt, int index, Object value) throws SQLException {
+        if (value instanceof String)       stmt.setString(index, (String) value);
+        else if (value instanceof Integer) stmt.setInt(index, (Integer) value);
+        else if (value instanceof Double)  stmt.setDouble(index, (Double) value);
+        else if (value instanceof Boolean) stmt.setBoolean(index, (Boolean) value);
+        else if (value == null)            stmt.setNull(index, Types.NULL);
+        else                               stmt.setString(index, value.toString());
+    }
+
+    /**
+     * Finds employees with min &lt;= salary &lt;= max using the salary index.
+     * @return matching employees in ascending salary order
+     */
+    public List<Employee> findBySalaryRange(double min, double max) {
+        String sql = "SELECT * FROM employees WHERE salary BETWEEN ? AND ? ORDER BY salary";
+        List<Employee> employees = new ArrayList<>();
+        DatabaseCallEvent event = DatabaseCallEvent.start("findBySalaryRange", sql, () -> new Object[] { min, max });
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDouble(1, min);
+            stmt.setDouble(2, max);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(mapResultSetToEmployee(rs));
+                }
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+        } finally {
+            event.rows = employees.size();
+            event.finish();
+        }
+        return employees;
+    }
+
+    /** @return number of employees with min &lt;= salary &lt;= max (index-only) */
+    public int countBySalaryRange(double min, double max) {
+        String sql = "SELECT COUNT(*) FROM employees WHERE salary BETWEEN ? AND ?";
+        DatabaseCallEvent event = DatabaseCallEvent.start("countBySalaryRange", sql, () -> new Object[] { min, max });
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDouble(1, min);
+            stmt.setDouble(2, max);
+            try (ResultSet rs = stmt.executeQuery()) {
+                event.rows = 1;
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+            return 0;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /** @return total salary of employees with min &lt;= salary &lt;= max (index-only) */
+    public double sumBySalaryRange(double min, double max) {
+        String sql = "SELECT COALESCE(SUM(salary), 0) FROM employees WHERE salary BETWEEN ? AND ?";
+        DatabaseCallEvent event = DatabaseCallEvent.start("sumBySalaryRange", sql, () -> new Object[] { min, max });
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDouble(1, min);
+            stmt.setDouble(2, max);
+            try (ResultSet rs = stmt.executeQuery()) {
+                event.rows = 1;
+                return rs.next() ? rs.getDouble(1) : 0;
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+            return 0;
+        } finally {
+            event.finish();
+        }
+    }
+
+    /**
+     * Payroll count, sum, min, max and percentiles per division or job title, computed
+     * by the database in one GROUP BY. Percentiles are nearest-rank, picked with
+     * ROW_NUMBER and COUNT windows. The cost is one full pass over the (group, salary)
+     * index, which covers the query, plus the window sort MySQL runs per partition; it
+     * grows with the table, not with the number of groups.
+     *
+     * @return one entry per group, in {@link PayrollStats#BY_GROUP} order
+     */
+    public List<PayrollStats> payrollBy(PayrollGrouping grouping) {
+        String sql =
+                "SELECT grp, COUNT(*), SUM(salary), MIN(salary), MAX(salary), " +
+                "       MIN(CASE WHEN rn >= CEIL(cnt * 50 / 100) THEN salary END), " +
+                "       MIN(CASE WHEN rn >= CEIL(cnt * 90 / 100) THEN salary END), " +
+                "       MIN(CASE WHEN rn >= CEIL(cnt * 99 / 100) THEN salary END) " +
+                "FROM (SELECT " + grouping.column + " AS grp, COALESCE(salary, 0) AS salary, " +
+                "             ROW_NUMBER() OVER (PARTITION BY " + grouping.column + " ORDER BY salary) AS rn, " +
+                "             COUNT(*) OVER (PARTITION BY " + grouping.column + ") AS cnt " +
+                "      FROM employees) ranked " +
+                "GROUP BY grp";
+        List<PayrollStats> stats = new ArrayList<>();
+        DatabaseCallEvent event = DatabaseCallEvent.start("payrollBy", sql);
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                stats.add(new PayrollStats(rs.getString(1), rs.getInt(2), rs.getDouble(3), rs.getDouble(4),
+                                           rs.getDouble(5), rs.getDouble(6), rs.getDouble(7), rs.getDouble(8)));
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+        } finally {
+            event.rows = stats.size();
+            event.finish();
+        }
+        // the column collation orders groups differently from Java; sort here so both engines agree
+        stats.sort(PayrollStats.BY_GROUP);
+        return stats;
+    }
+
+    /**
+     * Headcount, salary total and salary histogram per division or job title, counted
+     * by the database from the (group, salary) index. Used to check the running
+     * totals the service keeps in memory.
+     *
+     * @return one entry per group, in {@link PayrollSummary#BY_GROUP} order
+     * @throws DataAccessException if the query fails, so a check can't mistake an error for an empty table
+     */
+    public List<PayrollSummary> payrollSummaryBy(PayrollGrouping grouping) {
+        String sql =
+                "SELECT grp, bucket, COUNT(*), SUM(salary) " +
+                "FROM (SELECT " + grouping.column + " AS grp, COALESCE(salary, 0) AS salary, " +
+                "             LEAST(GREATEST(FLOOR(COALESCE(salary, 0) / ?), 0), ?) AS bucket " +
+                "      FROM employees) banded " +
+                "GROUP BY grp, bucket";
+        Map<String, int[]> histograms = new HashMap<>();
+        Map<String, BigDecimal> totals = new HashMap<>();
+        DatabaseCallEvent event = DatabaseCallEvent.start("payrollSummaryBy", sql,
+                () -> new Object[] { PayrollSummary.BUCKET_WIDTH, PayrollSummary.BUCKETS - 1 });
+        try (Connection conn = connect(event);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, PayrollSummary.BUCKET_WIDTH);
+            stmt.setInt(2, PayrollSummary.BUCKETS - 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String group = rs.getString(1);
+                    histograms.computeIfAbsent(group, g -> new int[PayrollSummary.BUCKETS])[rs.getInt(2)] = rs.getInt(3);
+                    totals.merge(group, rs.getBigDecimal(4), BigDecimal::add);
+                    event.rows++;
+                }
+            }
+        } catch (SQLException e) {
+            event.fail();
+            throw new DataAccessException("Failed to read payroll summary", e);
+        } finally {
+            event.finish();
+        }
+        List<PayrollSummary> summaries = new ArrayList<>();
+        histograms.forEach((group, histogram) ->
+                summaries.add(new PayrollSummary(group, Arrays.stream(histogram).sum(),
+                                                 totals.get(group).doubleValue(), histogram)));
+        summaries.sort(PayrollSummary.BY_GROUP);
+        return summaries;
     }
 
     /**
@@ -209,22 +1142,146 @@ public class EmployeeManager implements Searchable, Updatable {
      * @param min   lower bound (inclusive)
      * @param max   upper bound (inclusive)
      * @param rate  raise percentage (e.g. 5.0 for +5%)
+     * @return number of employees raised, or -1 on failure
      */
-    public void applySalaryRaise(double min, double max, double rate) {
+    public int applySalaryRaise(double min, double max, double rate) {
         String sql = "UPDATE employees SET salary = salary * (1 + ?/100) WHERE salary BETWEEN ? AND ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        DatabaseCallEvent event = DatabaseCallEvent.start("applySalaryRaise", sql, () -> new Object[] { rate, min, max });
+        try (Connection conn = connect(event);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setDouble(1, rate);
             stmt.setDouble(2, min);
             stmt.setDouble(3, max);
             int updated = stmt.executeUpdate();
-            System.out.println("Applied raise to " + updated + " employees.");
+            event.rows = updated;
+            return updated;
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();
+            return -1;
+        } finally {
+            event.finish();
         }
     }
 
+    /** Default number of employees raised per transaction by the chunked raise. */
+    public static final int DEFAULT_RAISE_CHUNK_SIZE = 500;
+
+    /**
+     * Applies a percentage raise in short transactions, walking matching employees in empID order.
+     * <p>
+     * Each chunk locks at most {@code chunkSize} matching rows (under READ COMMITTED,
+     * so non-matching rows and gaps are not locked), updates them and commits, so
+     * concurrent edits wait for one chunk at most instead of the whole raise. The UPDATE
+     * names the locked rows by empID, so exactly the rows reported to the listener are
+     * raised: a row inserted or moved into the range meanwhile is left to a later chunk
+     * or to the next raise, never raised behind the listener's back. Every employee is
+     * visited once, so a raised salary that lands back inside [min, max] is not raised again.
+     * </p>
+     * <p>
+     * On failure the current chunk is rolled back and the returned progress carries the
+     * error and the last committed empID; call again with that ID as
+     * {@code resumeAfterId} to finish the raise.
+     * </p>
+     *
+     * @param min           lower bound (inclusive)
+     * @param max           upper bound (inclusive)
+     * @param rate          raise percentage (e.g. 5.0 for +5%)
+     * @param chunkSize     matching rows per transaction (&gt;0)
+     * @param resumeAfterId start after this empID (0 for a new raise)
+     * @param listener      notified after each committed chunk; may be null
+     * @return final progress, including any error
+     */
+    public SalaryRaiseProgress applySalaryRaiseChunked(double min, double max, double rate, int chunkSize,
+                                                       int resumeAfterId, SalaryRaiseListener listener) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        // constants, so the event's "select; update" is joined at compile time
+        final String select = "SELECT empID, salary FROM employees WHERE empID > ? AND salary BETWEEN ? AND ? " +
+                              "ORDER BY empID LIMIT ? FOR UPDATE";
+        final String update = "UPDATE employees SET salary = salary * (1 + ?/100) WHERE empID IN (%s)";
+        SalaryRaiseProgress progress = new SalaryRaiseProgress(min, max, rate, resumeAfterId);
+        DatabaseCallEvent event = DatabaseCallEvent.start("applySalaryRaiseChunked", select + "; " + update,
+                () -> new Object[] { rate, min, max, chunkSize, resumeAfterId });
+
+        try (Connection conn = connect(event)) {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            try (PreparedStatement sel = conn.prepareStatement(select);
+                 PreparedStatement fullChunk = conn.prepareStatement(update.formatted(placeholders(chunkSize)))) {
+
+                while (!progress.isDone()) {
+                    int after = progress.getLastEmpID();
+                    int[] ids = new int[chunkSize];
+                    double[] oldSalaries = new double[chunkSize];
+                    double[] salaries = new double[chunkSize];
+                    int n = 0;
+
+                    sel.setInt(1, after);
+                    sel.setDouble(2, min);
+                    sel.setDouble(3, max);
+                    sel.setInt(4, chunkSize);
+                    try (ResultSet rs = sel.executeQuery()) {
+                        while (rs.next()) {
+                            ids[n] = rs.getInt(1);
+                            oldSalaries[n] = rs.getDouble(2);
+                            // same rounding as the DECIMAL(10,2) column
+                            salaries[n] = Math.round(oldSalaries[n] * (1 + rate / 100) * 100) / 100.0;
+                            n++;
+                        }
+                    }
+                    if (n == 0) {
+                        conn.commit();
+                        progress.finish();
+                        break;
+                    }
+
+                    int updated;
+                    // a short (last) chunk needs its own statement for its number of IDs
+                    try (PreparedStatement upd = n == chunkSize
+                            ? null : conn.prepareStatement(update.formatted(placeholders(n)))) {
+                        PreparedStatement stmt = upd == null ? fullChunk : upd;
+                        stmt.setDouble(1, rate);
+                        for (int i = 0; i < n; i++) {
+                            stmt.setInt(i + 2, ids[i]);
+                        }
+                        updated = stmt.executeUpdate();
+                    }
+                    conn.commit();
+
+                    progress.chunkCommitted(ids[n - 1], updated);
+                    if (n < chunkSize) {
+                        progress.finish();
+                    }
+                    if (listener != null) {
+                        listener.chunkCommitted(Arrays.copyOf(ids, n), Arrays.copyOf(oldSalaries, n),
+                                                Arrays.copyOf(salaries, n), progress);
+                    }
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            event.fail();
+            e.printStackTrace();
+            progress.fail(e);
+        } finally {
+            event.rows = progress.getRowsUpdated();
+            event.finish();
+        }
+        return progress;
+    }
+
+    /** @return {@code n} comma-separated JDBC placeholders, for an IN list */
+    private static String placeholders(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+
     /**
      * Deletes an employee by empID.
      * @param empID primary key
@@ -232,14 +1289,19 @@ public class EmployeeManager implements Searchable, Updatable {
      */
     public boolean deleteEmployee(int empID) {
         String sql = "DELETE FROM employees WHERE empID = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        DatabaseCallEvent event = DatabaseCallEvent.start("deleteEmployee", sql, () -> new Object[] { empID });
+        try (Connection conn = connect(event);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, empID);
-            return stmt.executeUpdate() > 0;
+            event.rows = stmt.executeUpdate();
+            return event.rows > 0;
         } catch (SQLException e) {
+            event.fail();
             e.printStackTrace();
             return false;
+        } finally {
+            event.finish();
         }
     }
 }
@@ -0,0 +1,15 @@
+// src/main/java/com/group02/repository/EmployeeSlice.java
+package com.group02.repository;
+
+import com.group02.model.Employee;
+import java.util.List;
+
+/**
+ * One window of the employee table in some {@link SortColumn} order.
+ *
+ * @param employees rows at positions {@code offset .. offset + employees.size() - 1}
+ * @param offset    position of the first row
+ * @param total     number of employees in the whole table when the slice was read
+ */
+public record EmployeeSlice(List<Employee> employees, int offset, int total) {
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/group02/repository/FieldUpdate.java
+package com.group02.repository;
+
+import java.util.Map;
+
+/**
+ * Column changes for one employee, written together by {@link EmployeeManager#updateFields}.
+ *
+ * @param empID  primary key of the employee
+ * @param values new values by column name, as accepted by {@link Updatable#updateField}
+ */
+public record FieldUpdate(int empID, Map<String, Object> values) { }
@@ -0,0 +1,546 @@
+// src/main/java/com/group02/repository/InstrumentedEmployeeManager.java
+package com.group02.repository;
+
+import com.group02.metrics.LatencyHistogram;
+import com.group02.metrics.Metrics;
+import com.group02.model.Employee;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * EmployeeManager that times every call of another one and counts the rows it reads
+ * and writes.
+ * <p>
+ * Each public operation records into its own {@code dao.<method>} histogram; rows
+ * go to the {@code dao.rowsRead} and {@code dao.rowsWritten} counters, and calls
+ * ending in an exception to {@code dao.errors}. The histograms are looked up
+ * once here, so a call only adds two {@link System#nanoTime()} reads and a few
+ * atomic increments. Streaming reads are timed until their stream is closed.
+ * </p>
+ */
+public class InstrumentedEmployeeManager extends EmployeeManager {
+    private final EmployeeManager dao;
+
+    private final LatencyHistogram addEmployee;
+    private final LatencyHistogram addEmployees;
+    private final LatencyHistogram upsertBySSN;
+    private final LatencyHistogram findAll;
+    private final LatencyHistogram streamAll;
+    private final LatencyHistogram streamRange;
+    private final LatencyHistogram streamMatching;
+    private final LatencyHistogram findIdBounds;
+    private final LatencyHistogram findPage;
+    private final LatencyHistogram findSlice;
+    private final LatencyHistogram currentTimestamp;
+    private final LatencyHistogram findChangesSince;
+    private final LatencyHistogram purgeDeletedBefore;
+    private final LatencyHistogram searchByID;
+    private final LatencyHistogram searchBySSN;
+    private final LatencyHistogram searchByName;
+    private final LatencyHistogram updateEmployee;
+    private final LatencyHistogram updateField;
+    private final LatencyHistogram updateFields;
+    private final LatencyHistogram findBySalaryRange;
+    private final LatencyHistogram countBySalaryRange;
+    private final LatencyHistogram sumBySalaryRange;
+    private final LatencyHistogram payrollBy;
+    private final LatencyHistogram payrollSummaryBy;
+    private final LatencyHistogram applySalaryRaise;
+    private final LatencyHistogram applySalaryRaiseChunked;
+    private final LatencyHistogram deleteEmployee;
+    private final LongAdder rowsRead;
+    private final LongAdder rowsWritten;
+    private final LongAdder errors;
+
+    /** Instruments {@code dao}, recording into {@link Metrics#global()}. */
+    public InstrumentedEmployeeManager(EmployeeManager dao) {
+        this(dao, Metrics.global());
+    }
+
+    public InstrumentedEmployeeManager(EmployeeManager dao, Metrics metrics) {
+        this.dao = dao;
+        addEmployee = metrics.histogram("dao.addEmployee");
+        addEmployees = metrics.histogram("dao.addEmployees");
+        upsertBySSN = metrics.histogram("dao.upsertBySSN");
+        findAll = metrics.histogram("dao.findAll");
+        streamAll = metrics.histogram("dao.streamAll");
+        streamRange = metrics.histogram("dao.streamRange");
+        streamMatching = metrics.histogram("dao.streamMatching");
+        findIdBounds = metrics.histogram("dao.findIdBounds");
+        findPage = metrics.histogram("dao.findPage");
+        findSlice = metrics.histogram("dao.findSlice");
+        currentTimestamp = metrics.histogram("dao.currentTimestamp");
+        findChangesSince = metrics.histogram("dao.findChangesSince");
+        purgeDeletedBefore = metrics.histogram("dao.purgeDeletedBefore");
+        searchByID = metrics.histogram("dao.searchByID");
+        searchBySSN = metrics.histogram("dao.searchBySSN");
+        searchByName = metrics.histogram("dao.searchByName");
+        updateEmployee = metrics.histogram("dao.updateEmployee");
+        updateField = metrics.histogram("dao.updateField");
+        updateFields = metrics.histogram("dao.updateFields");
+        findBySalaryRange = metrics.histogram("dao.findBySalaryRange");
+        countBySalaryRange = metrics.histogram("dao.countBySalaryRange");
+        sumBySalaryRange = metrics.histogram("dao.sumBySalaryRange");
+        payrollBy = metrics.histogram("dao.payrollBy");
+        payrollSummaryBy = metrics.histogram("dao.payrollSummaryBy");
+        applySalaryRaise = metrics.histogram("dao.applySalaryRaise");
+        applySalaryRaiseChunked = metrics.histogram("dao.applySalaryRaiseChunked");
+        deleteEmployee = metrics.histogram("dao.deleteEmployee");
+        rowsRead = metrics.counter("dao.rowsRead");
+        rowsWritten = metrics.counter("dao.rowsWritten");
+        errors = metrics.counter("dao.errors");
+    }
+
+    @Override
+    public int addEmployee(Employee employee) {
+        long start = System.nanoTime();
+        try {
+            int id = dao.addEmployee(employee);
+            if (id > 0) {
+                rowsWritten.increment();
+            }
+            return id;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            addEmployee.recordSince(start);
+        }
+    }
+
+    @Override
+    public BatchInsertResult addEmployees(List<Employee> employees) {
+        return addEmployees(employees, DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    public BatchInsertResult addEmployees(List<Employee> employees, int batchSize) {
+        long start = System.nanoTime();
+        try {
+            BatchInsertResult result = dao.addEmployees(employees, batchSize);
+            rowsWritten.add(result.getInsertedCount());
+            return result;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            addEmployees.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<BatchInsertResult.Failure> upsertBySSN(List<Employee> employees) {
+        long start = System.nanoTime();
+        try {
+            List<BatchInsertResult.Failure> failures = dao.upsertBySSN(employees);
+            rowsWritten.add(employees.size() - failures.size());
+            return failures;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            upsertBySSN.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        long start = System.nanoTime();
+        try {
+            List<Employee> rows = dao.findAll();
+            rowsRead.add(rows.size());
+            return rows;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            findAll.recordSince(start);
+        }
+    }
+
+    /** {@inheritDoc} Timed from opening until the stream is closed. */
+    @Override
+    public Stream<Employee> streamAll() {
+        long start = System.nanoTime();
+        try {
+            return dao.streamAll()
+                    .peek(e -> rowsRead.increment())
+                    .onClose(() -> streamAll.recordSince(start));
+        } catch (RuntimeException e) {
+            errors.increment();
+            streamAll.recordSince(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void streamAll(Consumer<? super Employee> consumer) {
+        long start = System.nanoTime();
+        try {
+            dao.streamAll(counting(consumer));
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            streamAll.recordSince(start);
+        }
+    }
+
+    @Override
+    public void streamRange(int afterId, int upToId, Consumer<? super Employee> consumer) {
+        long start = System.nanoTime();
+        try {
+            dao.streamRange(afterId, upToId, counting(consumer));
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            streamRange.recordSince(start);
+        }
+    }
+
+    /** {@inheritDoc} Timed from opening until the stream is closed. */
+    @Override
+    public Stream<Employee> streamMatching(String division, Double minSalary, Double maxSalary) {
+        long start = System.nanoTime();
+        try {
+            return dao.streamMatching(division, minSalary, maxSalary)
+                    .peek(e -> rowsRead.increment())
+                    .onClose(() -> streamMatching.recordSince(start));
+        } catch (RuntimeException e) {
+            errors.increment();
+            streamMatching.recordSince(start);
+            throw e;
+        }
+    }
+
+    private Consumer<Employee> counting(Consumer<? super Employee> consumer) {
+        return e -> {
+            rowsRead.increment();
+            consumer.accept(e);
+        };
+    }
+
+    @Override
+    public int[] findIdBounds() {
+        long start = System.nanoTime();
+        try {
+            return dao.findIdBounds();
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            findIdBounds.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> findPage(int afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            List<Employee> page = dao.findPage(afterId, limit);
+            rowsRead.add(page.size());
+            return page;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            findPage.recordSince(start);
+        }
+    }
+
+    @Override
+    public EmployeeSlice findSlice(SortColumn column, boolean ascending, int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            EmployeeSlice slice = dao.findSlice(column, ascending, offset, limit);
+            rowsRead.add(slice.employees().size());
+            return slice;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            findSlice.recordSince(start);
+        }
+    }
+
+    @Override
+    public Timestamp currentTimestamp() {
+        long start = System.nanoTime();
+        try {
+            return dao.currentTimestamp();
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            currentTimestamp.recordSince(start);
+        }
+    }
+
+    @Override
+    public EmployeeChanges findChangesSince(Timestamp since) {
+        long start = System.nanoTime();
+        try {
+            EmployeeChanges changes = dao.findChangesSince(since);
+            rowsRead.add(changes.changed().size() + changes.deletedIds().size());
+            return changes;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            findChangesSince.recordSince(start);
+        }
+    }
+
+    @Override
+    public int purgeDeletedBefore(Timestamp cutoff) {
+        long start = System.nanoTime();
+        try {
+            int purged = dao.purgeDeletedBefore(cutoff);
+            rowsWritten.add(purged);
+            return purged;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            purgeDeletedBefore.recordSince(start);
+        }
+    }
+
+    @Override
+    public Optional<Employee> searchByID(int empID) {
+        long start = System.nanoTime();
+        try {
+            Optional<Employee> found = dao.searchByID(empID);
+            if (found.isPresent()) {
+                rowsRead.increment();
+            }
+            return found;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            searchByID.recordSince(start);
+        }
+    }
+
+    @Override
+    public Optional<Employee> searchBySSN(String SSN) {
+        long start = System.nanoTime();
+        try {
+            Optional<Employee> found = dao.searchBySSN(SSN);
+            if (found.isPresent()) {
+                rowsRead.increment();
+            }
+            return found;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            searchBySSN.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> searchByName(String namePattern) {
+        long start = System.nanoTime();
+        try {
+            List<Employee> rows = dao.searchByName(namePattern);
+            rowsRead.add(rows.size());
+            return rows;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            searchByName.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> searchByName(String namePattern, NameMatch match) {
+        long start = System.nanoTime();
+        try {
+            List<Employee> rows = dao.searchByName(namePattern, match);
+            rowsRead.add(rows.size());
+            return rows;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            searchByName.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean updateEmployee(Employee employee) {
+        long start = System.nanoTime();
+        try {
+            boolean ok = dao.updateEmployee(employee);
+            if (ok) {
+                rowsWritten.increment();
+            }
+            return ok;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            updateEmployee.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean updateField(int empID, String fieldName, Object fieldValue) {
+        long start = System.nanoTime();
+        try {
+            boolean ok = dao.updateField(empID, fieldName, fieldValue);
+            if (ok) {
+                rowsWritten.increment();
+            }
+            return ok;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            updateField.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<BatchInsertResult.Failure> updateFields(List<FieldUpdate> updates) {
+        long start = System.nanoTime();
+        try {
+            List<BatchInsertResult.Failure> failures = dao.updateFields(updates);
+            rowsWritten.add(updates.size() - failures.size());
+            return failures;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            updateFields.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> findBySalaryRange(double min, double max) {
+        long start = System.nanoTime();
+        try {
+            List<Employee> rows = dao.findBySalaryRange(min, max);
+            rowsRead.add(rows.size());
+            return rows;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            findBySalaryRange.recordSince(start);
+        }
+    }
+
+    @Override
+    public int countBySalaryRange(double min, double max) {
+        long start = System.nanoTime();
+        try {
+            return dao.countBySalaryRange(min, max);
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            countBySalaryRange.recordSince(start);
+        }
+    }
+
+    @Override
+    public double sumBySalaryRange(double min, double max) {
+        long start = System.nanoTime();
+        try {
+            return dao.sumBySalaryRange(min, max);
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            sumBySalaryRange.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PayrollStats> payrollBy(PayrollGrouping grouping) {
+        long start = System.nanoTime();
+        try {
+            return dao.payrollBy(grouping);
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            payrollBy.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PayrollSummary> payrollSummaryBy(PayrollGrouping grouping) {
+        long start = System.nanoTime();
+        try {
+            return dao.payrollSummaryBy(grouping);
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            payrollSummaryBy.recordSince(start);
+        }
+    }
+
+    @Override
+    public int applySalaryRaise(double min, double max, double rate) {
+        long start = System.nanoTime();
+        try {
+            int raised = dao.applySalaryRaise(min, max, rate);
+            if (raised > 0) {
+                rowsWritten.add(raised);
+            }
+            return raised;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            applySalaryRaise.recordSince(start);
+        }
+    }
+
+    @Override
+    public SalaryRaiseProgress applySalaryRaiseChunked(double min, double max, double rate, int chunkSize,
+                                                       int resumeAfterId, SalaryRaiseListener listener) {
+        long start = System.nanoTime();
+        try {
+            SalaryRaiseProgress progress = dao.applySalaryRaiseChunked(min, max, rate, chunkSize, resumeAfterId, listener);
+            rowsWritten.add(progress.getRowsUpdated());
+            if (progress.getError() != null) {
+                errors.increment();
+            }
+            return progress;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            applySalaryRaiseChunked.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(int empID) {
+        long start = System.nanoTime();
+        try {
+            boolean ok = dao.deleteEmployee(empID);
+            if (ok) {
+                rowsWritten.increment();
+            }
+            return ok;
+        } catch (RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            deleteEmployee.recordSince(start);
+        }
+    }
+}
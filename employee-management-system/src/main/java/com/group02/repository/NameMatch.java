@@ -0,0 +1,17 @@
+// src/main/java/com/group02/repository/NameMatch.java
+package com.group02.repository;
+
+/**
+ * How {@link EmployeeManager#searchByName(String, NameMatch)} matches names in SQL.
+ */
+public enum NameMatch {
+    /** Names starting with the text: {@code LIKE 'text%'} on the employeeName index. */
+    PREFIX,
+    /** Names containing words that start with each word of the text: FULLTEXT {@code MATCH ... AGAINST}. */
+    WORDS,
+    /**
+     * Case-sensitive MySQL (ICU) regular expression: {@code REGEXP_LIKE(employeeName, ?, 'c')}.
+     * Scans the whole table; use only when needed.
+     */
+    REGEXP
+}
@@ -0,0 +1,19 @@
+// src/main/java/com/group02/repository/PayrollGrouping.java
+package com.group02.repository;
+
+/**
+ * Column that payroll aggregates are grouped by, see {@link PayrollStats}.
+ */
+public enum PayrollGrouping {
+    /** One group per division. */
+    DIVISION("division"),
+    /** One group per job title. */
+    JOB_TITLE("jobTitle");
+
+    /** Column in the employees table; a constant, so safe to put into SQL. */
+    final String column;
+
+    PayrollGrouping(String column) {
+        this.column = column;
+    }
+}
@@ -0,0 +1,44 @@
+// src/main/java/com/group02/repository/PayrollStats.java
+package com.group02.repository;
+
+import java.util.Comparator;
+
+/**
+ * Payroll figures for one group of employees (a division or a job title).
+ * <p>
+ * Percentiles use the nearest-rank method: the p-th percentile is the smallest
+ * salary such that at least p% of the group earn that much or less, so it is
+ * always an actual salary in the group. The database and the in-memory engine
+ * both compute it this way and give identical results.
+ * </p>
+ *
+ * @param group the division or job title; null for employees without one
+ * @param count number of employees in the group
+ * @param sum   total salary
+ * @param min   lowest salary
+ * @param max   highest salary
+ * @param p50   median salary
+ * @param p90   90th percentile salary
+ * @param p99   99th percentile salary
+ */
+public record PayrollStats(String group, int count, double sum, double min, double max,
+                           double p50, double p90, double p99) {
+
+    /** Order results are returned in: employees without a group first, then by group name. */
+    public static final Comparator<PayrollStats> BY_GROUP =
+            Comparator.comparing(PayrollStats::group, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /** @return average salary */
+    public double average() {
+        return sum / count;
+    }
+
+    /**
+     * @param count   number of salaries, &gt;0
+     * @param percent percentile, 1..100
+     * @return 1-based rank, in ascending salary order, of the nearest-rank percentile
+     */
+    public static int percentileRank(int count, int percent) {
+        return (int) (((long) count * percent + 99) / 100);
+    }
+}
@@ -0,0 +1,52 @@
+// src/main/java/com/group02/repository/PayrollSummary.java
+package com.group02.repository;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Running headcount, salary total and salary histogram for one division or job title.
+ * <p>
+ * Unlike {@link PayrollStats} these figures can be kept up to date on every write in
+ * constant time, so dashboards can poll them freely. The histogram counts employees
+ * per {@link #BUCKET_WIDTH} salary band: bucket {@code i} holds salaries from
+ * {@code i * BUCKET_WIDTH} up to the next band, and the last bucket everything above.
+ * </p>
+ *
+ * @param group     the division or job title; null for employees without one
+ * @param headcount number of employees in the group
+ * @param total     total salary
+ * @param histogram employees per salary band, {@link #BUCKETS} entries
+ */
+public record PayrollSummary(String group, int headcount, double total, int[] histogram) {
+
+    /** Width of one histogram band, in salary units. */
+    public static final int BUCKET_WIDTH = 10_000;
+
+    /** Number of histogram bands; the last one is open-ended. */
+    public static final int BUCKETS = 31;
+
+    /** Order summaries are returned in: employees without a group first, then by group name. */
+    public static final Comparator<PayrollSummary> BY_GROUP =
+            Comparator.comparing(PayrollSummary::group, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /** @return histogram band of a salary */
+    public static int bucketOf(double salary) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.floor(salary / BUCKET_WIDTH)));
+    }
+
+    /** @return average salary, or 0 for an empty group */
+    public double average() {
+        return headcount == 0 ? 0 : total / headcount;
+    }
+
+    /**
+     * @return true if both hold the same headcount, total (to the cent) and histogram;
+     *         records compare arrays by identity, so use this instead of equals
+     */
+    public boolean sameFigures(PayrollSummary other) {
+        return headcount == other.headcount
+                && Math.round(total * 100) == Math.round(other.total * 100)
+                && Arrays.equals(histogram, other.histogram);
+    }
+}
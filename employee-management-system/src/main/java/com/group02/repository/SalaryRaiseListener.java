@@ -0,0 +1,16 @@
+// src/main/java/com/group02/repository/SalaryRaiseListener.java
+package com.group02.repository;
+
+/**
+ * Callback invoked after each committed chunk of a chunked salary raise.
+ */
+@FunctionalInterface
+public interface SalaryRaiseListener {
+    /**
+     * @param empIDs      employees raised in this chunk, ascending
+     * @param oldSalaries their salaries before the raise, same order
+     * @param newSalaries their salaries after the raise, same order
+     * @param progress    running totals and resume checkpoint
+     */
+    void chunkCommitted(int[] empIDs, double[] oldSalaries, double[] newSalaries, SalaryRaiseProgress progress);
+}
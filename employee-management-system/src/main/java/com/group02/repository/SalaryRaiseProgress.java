@@ -0,0 +1,86 @@
+// src/main/java/com/group02/repository/SalaryRaiseProgress.java
+package com.group02.repository;
+
+/**
+ * Progress of a chunked salary raise.
+ * <p>
+ * Chunks are committed in ascending empID order, so {@link #getLastEmpID()} is a
+ * checkpoint: every matching employee up to and including it has been raised.
+ * After a failure, pass it as {@code resumeAfterId} to continue where the raise stopped
+ * without raising anyone twice.
+ * </p>
+ */
+public class SalaryRaiseProgress {
+    private final double minSalary;
+    private final double maxSalary;
+    private final double raisePercent;
+    private volatile int lastEmpID;
+    private volatile int rowsUpdated;
+    private volatile int chunksCommitted;
+    private volatile boolean done;
+    private volatile Exception error;
+
+    public SalaryRaiseProgress(double minSalary, double maxSalary, double raisePercent, int resumeAfterId) {
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.raisePercent = raisePercent;
+        this.lastEmpID = resumeAfterId;
+    }
+
+    void chunkCommitted(int lastEmpID, int rows) {
+        this.lastEmpID = lastEmpID;
+        this.rowsUpdated += rows;
+        this.chunksCommitted++;
+    }
+
+    void finish() {
+        this.done = true;
+    }
+
+    void fail(Exception error) {
+        this.error = error;
+    }
+
+    public double getMinSalary() {
+        return minSalary;
+    }
+
+    public double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public double getRaisePercent() {
+        return raisePercent;
+    }
+
+    /** @return highest empID covered by a committed chunk; resume after this ID */
+    public int getLastEmpID() {
+        return lastEmpID;
+    }
+
+    /** @return rows raised so far (in this run) */
+    public int getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    /** @return chunks committed so far (in this run) */
+    public int getChunksCommitted() {
+        return chunksCommitted;
+    }
+
+    /** @return true once every matching employee has been raised */
+    public boolean isDone() {
+        return done;
+    }
+
+    /** @return the error that stopped the raise, or null */
+    public Exception getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "Raised " + rowsUpdated + " employees in " + chunksCommitted + " chunks, through empID "
+                + lastEmpID + (done ? " (done)" : error != null ? " (failed: " + error.getMessage() + ")" : "");
+    }
+}
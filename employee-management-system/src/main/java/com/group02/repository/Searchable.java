@@ -18,6 +18,7 @@ public interface Searchable {
 
     /**
      * Find employees whose names match the given pattern.
+     * Implementations document whether the pattern is a regex, substring or prefix.
      * @param name regex or substring to match
      * @return List of matching Employee objects (may be empty)
      */
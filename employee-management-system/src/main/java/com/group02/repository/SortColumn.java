@@ -0,0 +1,49 @@
+// src/main/java/com/group02/repository/SortColumn.java
+package com.group02.repository;
+
+import com.group02.model.Employee;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Column that a slice of the employee table is ordered by, see
+ * {@link EmployeeManager#findSlice}. Nulls sort first, text ignores case, and ties
+ * are broken by empID so every row has a fixed position.
+ */
+public enum SortColumn {
+    EMP_ID("empID"),
+    NAME("employeeName"),
+    SSN("SSN"),
+    JOB_TITLE("jobTitle"),
+    DIVISION("division"),
+    SALARY("salary");
+
+    /** Column in the employees table; a constant, so safe to put into SQL. */
+    final String column;
+
+    SortColumn(String column) {
+        this.column = column;
+    }
+
+    /**
+     * @return this order over Employee objects, for sorting rows already in memory;
+     *         descending reverses ties too, as in SQL
+     */
+    public Comparator<Employee> comparator(boolean ascending) {
+        Comparator<Employee> order = switch (this) {
+            case EMP_ID -> Comparator.comparingInt(Employee::getEmpID);
+            case NAME -> text(Employee::getName);
+            case SSN -> text(Employee::getSSN);
+            case JOB_TITLE -> text(Employee::getJobTitle);
+            case DIVISION -> text(Employee::getDivision);
+            case SALARY -> Comparator.comparingDouble(Employee::getSalary)
+                                     .thenComparingInt(Employee::getEmpID);
+        };
+        return ascending ? order : order.reversed();
+    }
+
+    private static Comparator<Employee> text(Function<Employee, String> field) {
+        return Comparator.comparing(field, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                         .thenComparingInt(Employee::getEmpID);
+    }
+}
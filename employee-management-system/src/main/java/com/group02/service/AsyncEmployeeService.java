@@ -0,0 +1,65 @@
+// src/main/java/com/group02/service/AsyncEmployeeService.java
+package com.group02.service;
+
+import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import com.group02.repository.SalaryRaiseProgress;
+import com.group02.repository.SortColumn;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}: every operation returns at once
+ * with a future that completes with the same result the blocking call would return,
+ * or exceptionally with the exception it would throw.
+ * <p>
+ * Callers can fan out many lookups and combine them with
+ * {@link CompletableFuture#allOf} instead of managing threads themselves.
+ * Results are completed on the implementation's worker threads, so UI callers must
+ * hop back to their own thread before touching widgets.
+ * </p>
+ */
+public interface AsyncEmployeeService {
+    CompletableFuture<Integer> add(Employee e);
+    CompletableFuture<BatchInsertResult> addAll(List<Employee> employees);
+    CompletableFuture<Boolean> update(Employee e);
+    CompletableFuture<Boolean> delete(int empID);
+    CompletableFuture<List<Employee>> findAll();
+
+    /** @see EmployeeService#findPage(int, int) */
+    CompletableFuture<List<Employee>> findPage(int afterId, int limit);
+    CompletableFuture<EmployeeSlice> findSlice(SortColumn column, boolean ascending, int offset, int limit);
+    CompletableFuture<Optional<Employee>> searchByID(int empID);
+    CompletableFuture<List<Employee>> searchByName(String pattern);
+
+    /**
+     * @see EmployeeService#searchByName(String, BooleanSupplier, Consumer)
+     * @param onBatch called on a worker thread as batches are found
+     * @return completes with false if the search was cancelled
+     */
+    CompletableFuture<Boolean> searchByName(String pattern, BooleanSupplier cancelled,
+                                            Consumer<List<Employee>> onBatch);
+    CompletableFuture<Optional<Employee>> searchBySSN(String ssn);
+    CompletableFuture<List<Employee>> findBySalaryRange(double minSalary, double maxSalary);
+    CompletableFuture<Integer> countBySalaryRange(double minSalary, double maxSalary);
+    CompletableFuture<Double> sumBySalaryRange(double minSalary, double maxSalary);
+    CompletableFuture<Void> applySalaryRaise(double minSalary, double maxSalary, double raisePercent);
+    CompletableFuture<List<PayrollStats>> payrollBy(PayrollGrouping grouping);
+    CompletableFuture<List<PayrollSummary>> payrollSummaryBy(PayrollGrouping grouping);
+
+    /** @see EmployeeService#applySalaryRaiseChunked */
+    CompletableFuture<SalaryRaiseProgress> applySalaryRaiseChunked(double minSalary, double maxSalary,
+                                                                   double raisePercent, int resumeAfterId,
+                                                                   Consumer<SalaryRaiseProgress> onProgress);
+    CompletableFuture<Integer> refresh();
+
+    /** @see EmployeeService#whenReady() */
+    CompletableFuture<Void> whenReady();
+}
@@ -0,0 +1,206 @@
+// src/main/java/com/group02/service/AsyncEmployeeServiceImpl.java
+package com.group02.service;
+
+import com.group02.config.DatabaseConfig;
+import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import com.group02.repository.SalaryRaiseProgress;
+import com.group02.repository.SortColumn;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs each call of a blocking {@link EmployeeService} as its own task, by default one
+ * virtual thread per call, so thousands of requests in flight cost a few kilobytes each.
+ * <p>
+ * Calls that reach the database (every write, and reads while the cache is still
+ * warming up) first take one of {@code maxDatabaseCalls} permits, the connection pool
+ * size by default. Excess callers then wait here, as parked virtual threads, rather
+ * than in the pool's connection queue where they would run into its timeout. It
+ * also matters for the MySQL 8.0 driver, which does its socket I/O inside
+ * {@code synchronized} blocks and so pins a virtual thread to its carrier for the
+ * duration of a query: the permits cap how many carriers can be pinned at once.
+ * Reads answered by the warm cache take no permit.
+ * </p>
+ */
+public class AsyncEmployeeServiceImpl implements AsyncEmployeeService, AutoCloseable {
+    private final EmployeeService service;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Semaphore databaseCalls;
+
+    /**
+     * Runs on a virtual thread per call, with database calls bounded by the connection
+     * pool's maximum size. {@link #close()} shuts the executor down.
+     */
+    public AsyncEmployeeServiceImpl(EmployeeService service) {
+        this(service, Executors.newVirtualThreadPerTaskExecutor(), DatabaseConfig.getMaximumPoolSize(), true);
+    }
+
+    /**
+     * @param executor         runs the calls; left running by {@link #close()}
+     * @param maxDatabaseCalls calls allowed to use the database at once (&gt;0)
+     */
+    public AsyncEmployeeServiceImpl(EmployeeService service, ExecutorService executor, int maxDatabaseCalls) {
+        this(service, executor, maxDatabaseCalls, false);
+    }
+
+    private AsyncEmployeeServiceImpl(EmployeeService service, ExecutorService executor, int maxDatabaseCalls,
+                                     boolean ownsExecutor) {
+        if (maxDatabaseCalls <= 0) {
+            throw new IllegalArgumentException("maxDatabaseCalls must be positive: " + maxDatabaseCalls);
+        }
+        this.service = service;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.databaseCalls = new Semaphore(maxDatabaseCalls);
+    }
+
+    /** Runs a call that uses the database, once a permit is free. */
+    private <T> CompletableFuture<T> database(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            databaseCalls.acquireUninterruptibly();
+            try {
+                return call.get();
+            } finally {
+                databaseCalls.release();
+            }
+        }, executor);
+    }
+
+    /** Runs a read, without a permit when the warm cache will answer it. */
+    private <T> CompletableFuture<T> read(Supplier<T> call) {
+        CompletableFuture<Void> ready = service.whenReady();
+        if (ready.isDone() && !ready.isCompletedExceptionally()) {
+            return CompletableFuture.supplyAsync(call, executor);
+        }
+        return database(call);
+    }
+
+    @Override
+    public CompletableFuture<Integer> add(Employee e) {
+        return database(() -> service.add(e));
+    }
+
+    @Override
+    public CompletableFuture<BatchInsertResult> addAll(List<Employee> employees) {
+        return database(() -> service.addAll(employees));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> update(Employee e) {
+        return database(() -> service.update(e));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(int empID) {
+        return database(() -> service.delete(empID));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> findAll() {
+        return read(service::findAll);
+    }
+
+    /** {@inheritDoc} Takes a permit, since the service may page from the database. */
+    @Override
+    public CompletableFuture<List<Employee>> findPage(int afterId, int limit) {
+        return database(() -> service.findPage(afterId, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeSlice> findSlice(SortColumn column, boolean ascending, int offset, int limit) {
+        return read(() -> service.findSlice(column, ascending, offset, limit));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Employee>> searchByID(int empID) {
+        return read(() -> service.searchByID(empID));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> searchByName(String pattern) {
+        return read(() -> service.searchByName(pattern));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> searchByName(String pattern, BooleanSupplier cancelled,
+                                                   Consumer<List<Employee>> onBatch) {
+        return read(() -> service.searchByName(pattern, cancelled, onBatch));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Employee>> searchBySSN(String ssn) {
+        return read(() -> service.searchBySSN(ssn));
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> findBySalaryRange(double minSalary, double maxSalary) {
+        return read(() -> service.findBySalaryRange(minSalary, maxSalary));
+    }
+
+    @Override
+    public CompletableFuture<Integer> countBySalaryRange(double minSalary, double maxSalary) {
+        return read(() -> service.countBySalaryRange(minSalary, maxSalary));
+    }
+
+    @Override
+    public CompletableFuture<Double> sumBySalaryRange(double minSalary, double maxSalary) {
+        return read(() -> service.sumBySalaryRange(minSalary, maxSalary));
+    }
+
+    @Override
+    public CompletableFuture<Void> applySalaryRaise(double minSalary, double maxSalary, double raisePercent) {
+        return database(() -> {
+            service.applySalaryRaise(minSalary, maxSalary, raisePercent);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<PayrollStats>> payrollBy(PayrollGrouping grouping) {
+        return read(() -> service.payrollBy(grouping));
+    }
+
+    @Override
+    public CompletableFuture<List<PayrollSummary>> payrollSummaryBy(PayrollGrouping grouping) {
+        return read(() -> service.payrollSummaryBy(grouping));
+    }
+
+    @Override
+    public CompletableFuture<SalaryRaiseProgress> applySalaryRaiseChunked(double minSalary, double maxSalary,
+                                                                          double raisePercent, int resumeAfterId,
+                                                                          Consumer<SalaryRaiseProgress> onProgress) {
+        return database(() -> service.applySalaryRaiseChunked(minSalary, maxSalary, raisePercent,
+                                                              resumeAfterId, onProgress));
+    }
+
+    @Override
+    public CompletableFuture<Integer> refresh() {
+        return database(service::refresh);
+    }
+
+    @Override
+    public CompletableFuture<Void> whenReady() {
+        return service.whenReady();
+    }
+
+    /** Shuts down the executor if this instance created it, waiting for calls in flight. */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.close();
+        }
+    }
+}
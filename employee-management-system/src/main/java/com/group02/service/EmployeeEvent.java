@@ -0,0 +1,30 @@
+// src/main/java/com/group02/service/EmployeeEvent.java
+package com.group02.service;
+
+import com.group02.model.Employee;
+
+/**
+ * A change to the employee table, as published to {@link EmployeeListener}s.
+ * Employees carried by events are copies and may be kept.
+ */
+public sealed interface EmployeeEvent {
+
+    /** A new employee, with its generated empID. */
+    record Added(Employee employee) implements EmployeeEvent { }
+
+    /** An employee's new values. */
+    record Updated(Employee employee) implements EmployeeEvent { }
+
+    /** An employee that no longer exists. */
+    record Deleted(int empID) implements EmployeeEvent { }
+
+    /**
+     * A bulk raise, or one committed chunk of a chunked raise. Reported once rather
+     * than per employee; re-read the affected salary range if you need the figures.
+     * @param rows employees raised
+     */
+    record Raised(double minSalary, double maxSalary, double raisePercent, int rows) implements EmployeeEvent { }
+
+    /** The whole cache was (re)loaded; anything may have changed. */
+    record Reloaded() implements EmployeeEvent { }
+}
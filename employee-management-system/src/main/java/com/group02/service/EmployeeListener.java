@@ -0,0 +1,24 @@
+// src/main/java/com/group02/service/EmployeeListener.java
+package com.group02.service;
+
+import java.util.List;
+
+/**
+ * Callback for changes to the employee table, see {@link EmployeeService#addListener}.
+ */
+@FunctionalInterface
+public interface EmployeeListener {
+    /**
+     * Called once per write, with every change that write made: one event for a
+     * single-row write, all rows of a batch insert or background refresh together.
+     * Runs on the writing thread while the write still holds its locks, so events for
+     * the same employee arrive in order. Return quickly and do not write back to the
+     * service from here; hand anything slow to another thread.
+     *
+     * @param events   the changes, in the order they were applied
+     * @param external true if the changes were made elsewhere (another node or direct
+     *                 SQL) and pulled into this service's cache, false for writes made
+     *                 through this service
+     */
+    void changed(List<EmployeeEvent> events, boolean external);
+}
@@ -2,8 +2,18 @@
 package com.group02.service;
 
 import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import com.group02.repository.SalaryRaiseProgress;
+import com.group02.repository.SortColumn;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /**
  * Business-layer API for Employee operations.
@@ -11,11 +21,105 @@ import java.util.Optional;
  */
 public interface EmployeeService {
     int add(Employee e);
+
+    /**
+     * Inserts many employees with batched JDBC inserts.
+     * @param employees rows to insert; successful rows get their empID set
+     * @return generated IDs per row and the rows that failed (e.g. duplicate SSN)
+     */
+    BatchInsertResult addAll(List<Employee> employees);
+
     boolean update(Employee e);
     boolean delete(int empID);
     List<Employee> findAll();
+
+    /**
+     * Keyset pagination by empID: up to {@code limit} employees with empID greater than
+     * {@code afterId}, in empID order. Start with 0 and pass the last empID of each page.
+     */
+    List<Employee> findPage(int afterId, int limit);
+
+    /**
+     * Offset pagination in any column order, for views that jump to an arbitrary row,
+     * such as a scrolled table: up to {@code limit} employees starting at position
+     * {@code offset}, plus the current total.
+     * @param ascending false to reverse the order, ties included
+     */
+    EmployeeSlice findSlice(SortColumn column, boolean ascending, int offset, int limit);
     Optional<Employee> searchByID(int empID);
     List<Employee> searchByName(String pattern);
+
+    /**
+     * Name search that hands matches over in batches, so a UI can show the first ones
+     * while the rest are still being found, and that can be abandoned part way.
+     * The default runs {@link #searchByName(String)} and delivers its result as one batch.
+     * @param cancelled polled between batches; the search stops once it returns true
+     * @param onBatch   receives each non-empty batch on the calling thread
+     * @return true if the search completed, false if it was cancelled
+     */
+    default boolean searchByName(String pattern, BooleanSupplier cancelled, Consumer<List<Employee>> onBatch) {
+        List<Employee> found = searchByName(pattern);
+        if (cancelled.getAsBoolean()) {
+            return false;
+        }
+        if (!found.isEmpty()) {
+            onBatch.accept(found);
+        }
+        return true;
+    }
     Optional<Employee> searchBySSN(String ssn);
+
+    /** @return employees with minSalary &lt;= salary &lt;= maxSalary, in ascending salary order */
+    List<Employee> findBySalaryRange(double minSalary, double maxSalary);
+
+    /** @return number of employees with minSalary &lt;= salary &lt;= maxSalary */
+    int countBySalaryRange(double minSalary, double maxSalary);
+
+    /** @return total salary of employees with minSalary &lt;= salary &lt;= maxSalary */
+    double sumBySalaryRange(double minSalary, double maxSalary);
     void applySalaryRaise(double minSalary, double maxSalary, double raisePercent);
+
+    /**
+     * Headcount, total, min, max, average and percentile salary per division or job title.
+     * @return one entry per group, in {@link PayrollStats#BY_GROUP} order
+     */
+    List<PayrollStats> payrollBy(PayrollGrouping grouping);
+
+    /**
+     * Headcount, salary total and salary histogram per division or job title. Kept up
+     * to date on every write, so this is cheap enough to poll.
+     * @return one entry per non-empty group, in {@link PayrollSummary#BY_GROUP} order
+     */
+    List<PayrollSummary> payrollSummaryBy(PayrollGrouping grouping);
+
+    /**
+     * Applies a raise in short per-chunk transactions so concurrent edits are not blocked.
+     * @param resumeAfterId 0 for a new raise, or {@link SalaryRaiseProgress#getLastEmpID()} of a failed one
+     * @param onProgress    called after each committed chunk; may be null
+     * @return final progress; check {@link SalaryRaiseProgress#getError()} and resume if set
+     */
+    SalaryRaiseProgress applySalaryRaiseChunked(double minSalary, double maxSalary, double raisePercent,
+                                                int resumeAfterId, Consumer<SalaryRaiseProgress> onProgress);
+
+    /**
+     * Pulls rows inserted, updated or deleted by other nodes or directly in SQL since
+     * the last refresh into the cache.
+     * @return number of changed and deleted rows applied
+     */
+    int refresh();
+
+    /**
+     * Completes once the in-memory cache is loaded; reads made before then are
+     * answered by the database. Completes exceptionally if loading failed.
+     */
+    CompletableFuture<Void> whenReady();
+
+    /**
+     * Subscribes to adds, updates, deletes and raises, whether made through this
+     * service or pulled in by {@link #refresh()}. Bulk writes are reported as one
+     * batch; see {@link EmployeeListener#changed}.
+     */
+    void addListener(EmployeeListener listener);
+
+    void removeListener(EmployeeListener listener);
 }
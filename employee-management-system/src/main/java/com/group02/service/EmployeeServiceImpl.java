@@ -1,106 +1,1112 @@
 // src/main/java/com/group02/service/EmployeeServiceImpl.java
 package com.group02.service;
 
+import com.group02.cache.CacheSnapshot;
+import com.group02.cache.EmployeeCache;
+import com.group02.cache.NameSearcher;
+import com.group02.metrics.CacheWarmUpEvent;
+import com.group02.metrics.Metrics;
+import com.group02.metrics.NameSearchEvent;
+import com.group02.metrics.SalaryRaiseEvent;
 import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.DataAccessException;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.EmployeeChanges;
 import com.group02.repository.EmployeeManager;
+import com.group02.repository.NameMatch;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import com.group02.repository.SalaryRaiseProgress;
+import com.group02.repository.SortColumn;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of EmployeeService.
  * <p>
- * Fetches initial data into an in-memory List cache, then
- * delegates all writes to EmployeeManager. Updates cache on success.
+ * Fetches initial data into an in-memory {@link EmployeeCache} indexed by
+ * empID and SSN, then delegates all writes to EmployeeManager. Updates cache on success.
+ * </p>
+ * <p>
+ * Thread-safe. Reads go straight to the cache, whose lookups are lock-free in the
+ * common case. A write to one employee holds that employee's lock stripe while it
+ * updates the database and then the cache, so concurrent writes to the same row reach
+ * both in the same order, while writes to different rows proceed in parallel. A
+ * single-statement bulk raise excludes row writes for its duration, since it changes
+ * rows the service cannot enumerate up front.
+ * </p>
+ * <p>
+ * Changes made by other application nodes or directly in SQL are pulled in by
+ * {@link #refresh()}, either on demand or on a schedule via {@link #startAutoRefresh}.
+ * Each refresh reads only the rows changed or deleted since the previous one.
+ * Deletions are read from tombstones the database keeps for
+ * {@link #TOMBSTONE_RETENTION_MILLIS}; refreshes purge older ones about hourly, and
+ * a cache that has fallen further behind than {@link #SNAPSHOT_MAX_AGE_MILLIS} is
+ * reloaded in full rather than caught up, as some of its deletions may be gone.
+ * </p>
+ * <p>
+ * The cache can also be warmed up in the background (see
+ * {@link #EmployeeServiceImpl(EmployeeManager, int)}); until {@link #whenReady()}
+ * completes, reads are served straight from the database.
+ * </p>
+ * <p>
+ * Reads answered by the cache count as {@code cache.hits} in {@link Metrics#global()},
+ * reads that had to go to the database as {@code cache.misses}.
+ * </p>
+ * <p>
+ * Every change that reaches the cache is published to {@link EmployeeListener}s right
+ * after it is applied. Events are only built while someone is listening.
+ * </p>
+ * <p>
+ * In write-behind mode (see {@link #startWriteBehind}) {@link #update} changes the cache
+ * at once and queues just the changed columns, which are written in batches later.
+ * Whole-table operations flush the queue first, so they never act on a database that
+ * lags behind the cache.
  * </p>
  */
 public class EmployeeServiceImpl implements EmployeeService {
-    private final EmployeeManager dao = new EmployeeManager();
-    private final List<Employee> cache = new ArrayList<>();
+    private static final int LOCK_STRIPES = 64;   // power of two
+
+    /**
+     * Each refresh re-reads changes this far behind the last high-water mark, so rows
+     * stamped before the mark by a transaction that committed after it are not missed.
+     */
+    static final long REFRESH_OVERLAP_MILLIS = 5_000;
+
+    /** Snapshots older than this are ignored; a full load is cheaper than a day's worth of changes. */
+    public static final long SNAPSHOT_MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    /**
+     * Deletion tombstones are kept this long: the oldest change read any cache or
+     * snapshot may still ask for is its mark, at most {@link #SNAPSHOT_MAX_AGE_MILLIS}
+     * old, less the refresh overlap. Anything further behind reloads in full.
+     */
+    public static final long TOMBSTONE_RETENTION_MILLIS = SNAPSHOT_MAX_AGE_MILLIS + REFRESH_OVERLAP_MILLIS;
+
+    /** Least time between two tombstone purges by one service. */
+    static final long TOMBSTONE_PURGE_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final EmployeeManager dao;
+    private final EmployeeCache cache = new EmployeeCache();
+    private final NameSearcher nameSearcher = new NameSearcher();
+    private final LongAdder cacheHits = Metrics.global().counter("cache.hits");
+    private final LongAdder cacheMisses = Metrics.global().counter("cache.misses");
+
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    {
+        // shared by both constructors
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // row writes share it, whole-table writes take it exclusively
+    private final ReadWriteLock bulkLock = new ReentrantReadWriteLock();
+
+    private Timestamp highWater;   // guarded by bulkLock's write lock once constructed
+    private volatile long lastPurge;   // database time of the last tombstone purge, 0 before the first
+    private ScheduledExecutorService refresher;
+    private ScheduledExecutorService snapshotter;
+    private ScheduledExecutorService payrollChecker;
+
+    // false while a background warm-up is running; reads then go to the DAO
+    private volatile boolean ready;
+    private final CompletableFuture<Void> readyFuture = new CompletableFuture<>();
+
+    private final List<EmployeeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile WriteBehindQueue writeBehind;   // null unless in write-behind mode
+    private Thread writeBehindHook;
 
     /** Load initial cache from DB on startup. */
     public EmployeeServiceImpl() {
-        cache.addAll(dao.findAll());
+        this(new EmployeeManager());
+    }
+
+    /**
+     * Load initial cache through the given DAO.
+     * @param dao repository used for all reads and writes
+     */
+    public EmployeeServiceImpl(EmployeeManager dao) {
+        this.dao = dao;
+        CacheWarmUpEvent event = new CacheWarmUpEvent();
+        event.begin();
+        // taken before the load, so anything written while loading is re-read by the first refresh
+        highWater = dao.currentTimestamp();
+        // stream straight into the cache instead of materializing an intermediate list
+        dao.streamAll(cache::put);
+        ready = true;
+        readyFuture.complete(null);
+        if (event.shouldCommit()) {
+            event.source = "database";
+            event.partitions = 1;
+            event.rows = cache.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns at once and loads the cache in the background, splitting the empID range
+     * into {@code warmUpPartitions} slices that are read on parallel connections. Reads
+     * are answered by the database until {@link #whenReady()} completes. Writes made
+     * during the warm-up are picked up through change tracking before the cache is
+     * switched on, so none are lost. If the warm-up fails the service keeps reading
+     * from the database and the future completes exceptionally.
+     *
+     * @param dao              repository used for all reads and writes
+     * @param warmUpPartitions number of parallel range loads (&gt;0); keep below the pool size
+     */
+    public EmployeeServiceImpl(EmployeeManager dao, int warmUpPartitions) {
+        this(dao, warmUpPartitions, null);
+    }
+
+    /**
+     * Like {@link #EmployeeServiceImpl(EmployeeManager, int)}, but warms up from a snapshot
+     * file written by {@link #saveSnapshot} when there is one, so only rows changed since
+     * the snapshot are read from the database. A missing, corrupt, incompatible or
+     * too old (see {@link #SNAPSHOT_MAX_AGE_MILLIS}) snapshot is skipped in favour of a
+     * full parallel load.
+     *
+     * @param dao              repository used for all reads and writes
+     * @param warmUpPartitions number of parallel range loads (&gt;0); keep below the pool size
+     * @param snapshotFile     snapshot to start from; may be null
+     */
+    public EmployeeServiceImpl(EmployeeManager dao, int warmUpPartitions, Path snapshotFile) {
+        if (warmUpPartitions <= 0) {
+            throw new IllegalArgumentException("warmUpPartitions must be positive: " + warmUpPartitions);
+        }
+        this.dao = dao;
+        warmUp(warmUpPartitions, snapshotFile);
+    }
+
+    private void warmUp(int partitions, Path snapshotFile) {
+        ExecutorService loaders = Executors.newFixedThreadPool(partitions, daemonThreads("employee-cache-warmup"));
+        CacheWarmUpEvent event = new CacheWarmUpEvent();
+        event.partitions = partitions;
+        event.begin();
+        CompletableFuture.supplyAsync(() -> readSnapshot(snapshotFile), loaders).thenCompose(snapshot -> {
+            event.source = snapshot != null ? "snapshot" : "database";
+            return snapshot != null ? CompletableFuture.completedFuture(snapshot) : loadFromDatabase(partitions, loaders);
+        }).thenAccept(loaded -> {
+            event.rows = loaded.rows().size();
+            event.changesApplied = install(loaded);
+        }).whenComplete((v, error) -> {
+            loaders.shutdown();
+            event.failed = error != null;
+            event.commit();
+            if (error != null) {
+                System.err.println("Cache warm-up failed, reading from the database: " + error.getMessage());
+                error.printStackTrace();
+                readyFuture.completeExceptionally(error);
+            } else {
+                readyFuture.complete(null);
+            }
+        });
+    }
+
+    /** @return the snapshot in the file, or null if there is none or it can't be used */
+    private CacheSnapshot readSnapshot(Path file) {
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try {
+            CacheSnapshot snapshot = CacheSnapshot.read(file);
+            long age = dao.currentTimestamp().getTime() - snapshot.highWater().getTime();
+            if (age > SNAPSHOT_MAX_AGE_MILLIS) {
+                System.err.println("Ignoring snapshot " + file + ": " + TimeUnit.MILLISECONDS.toHours(age) + " hours old");
+                return null;
+            }
+            return snapshot;
+        } catch (IOException e) {
+            System.err.println("Ignoring snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Reads the table as {@code partitions} empID slices in parallel. */
+    private CompletableFuture<CacheSnapshot> loadFromDatabase(int partitions, Executor loaders) {
+        return CompletableFuture.supplyAsync(dao::currentTimestamp, loaders).thenCompose(mark -> {
+            int[] bounds = dao.findIdBounds();
+            // equal slices of [min, max]; each is a primary-key range scan
+            long span = (long) bounds[1] - bounds[0] + 1;
+            List<CompletableFuture<List<Employee>>> slices = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                int afterId = (int) (bounds[0] - 1 + span * p / partitions);
+                int upToId = (int) (bounds[0] - 1 + span * (p + 1) / partitions);
+                slices.add(CompletableFuture.supplyAsync(() -> {
+                    List<Employee> rows = new ArrayList<>();
+                    dao.streamRange(afterId, upToId, rows::add);
+                    return rows;
+                }, loaders));
+            }
+            return CompletableFuture.allOf(slices.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+                // concatenated in slice order, so the cache ends up in empID order
+                List<Employee> all = new ArrayList<>();
+                slices.forEach(slice -> all.addAll(slice.join()));
+                return new CacheSnapshot(all, mark);
+            });
+        });
+    }
+
+    /**
+     * Swaps in the warmed-up rows, catches up on writes made since their mark, and switches reads to the cache.
+     * @return number of changed and deleted rows caught up on
+     */
+    private int install(CacheSnapshot loaded) {
+        Lock exclusive = bulkLock.writeLock();
+        exclusive.lock();
+        try {
+            flushPending();
+            highWater = loaded.highWater();
+            cache.loadAll(loaded.rows());
+            int changes = applyChanges(null);
+            ready = true;
+            publish(List.of(new EmployeeEvent.Reloaded()), true);
+            return changes;
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CompletableFuture<Void> whenReady() {
+        return readyFuture;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addListener(EmployeeListener listener) {
+        listeners.add(listener);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeListener(EmployeeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /** @return true if events need to be built at all */
+    private boolean listening() {
+        return !listeners.isEmpty();
+    }
+
+    /** Hands one write's events to every listener; a failing listener does not stop the rest. */
+    private void publish(List<EmployeeEvent> events, boolean external) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<EmployeeEvent> batch = List.copyOf(events);
+        for (EmployeeListener listener : listeners) {
+            try {
+                listener.changed(batch, external);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /** @return the lock guarding writes to this empID */
+    private Lock stripe(int empID) {
+        // Fibonacci hashing spreads sequential IDs over the stripes
+        return stripes[(empID * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(LOCK_STRIPES))];
     }
 
     /** {@inheritDoc} */
     @Override
     public int add(Employee e) {
-        int id = dao.addEmployee(e);
-        if (id > 0) {
-            cache.add(e);
+        Lock shared = bulkLock.readLock();
+        shared.lock();
+        try {
+            int id = dao.addEmployee(e);
+            if (id > 0) {
+                cache.put(e);
+                if (listening()) {
+                    publish(List.of(new EmployeeEvent.Added(new Employee(e))), false);
+                }
+            }
+            return id;
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BatchInsertResult addAll(List<Employee> employees) {
+        Lock shared = bulkLock.readLock();
+        shared.lock();
+        try {
+            BatchInsertResult result = dao.addEmployees(employees);
+            List<EmployeeEvent> events = new ArrayList<>();
+            boolean listening = listening();
+            for (int i = 0; i < employees.size(); i++) {
+                if (result.getGeneratedId(i) > 0) {
+                    cache.put(employees.get(i));
+                    if (listening) {
+                        events.add(new EmployeeEvent.Added(new Employee(employees.get(i))));
+                    }
+                }
+            }
+            publish(events, false);
+            return result;
+        } finally {
+            shared.unlock();
         }
-        return id;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean update(Employee e) {
-        boolean ok = dao.updateEmployee(e);
-        if (ok) {
-            // sync cache
-            for (int i = 0; i < cache.size(); i++) {
-                if (cache.get(i).getEmpID() == e.getEmpID()) {
-                    cache.set(i, e);
-                    break;
+        Lock shared = bulkLock.readLock();
+        Lock row = stripe(e.getEmpID());
+        shared.lock();
+        row.lock();
+        try {
+            WriteBehindQueue queue = writeBehind;
+            Optional<Employee> cached = queue != null && ready ? cache.get(e.getEmpID()) : Optional.empty();
+            boolean ok = false;
+            boolean queued = false;
+            if (cached.isPresent() && Objects.equals(cached.get().getSSN(), e.getSSN())) {
+                // the cache takes the edit now, the database at the next flush
+                try {
+                    Map<String, Object> changed = changedColumns(cached.get(), e);
+                    if (!changed.isEmpty()) {
+                        queue.enqueue(e.getEmpID(), changed);
+                    }
+                    ok = queued = true;
+                } catch (IllegalStateException stopped) {
+                    // write-behind was switched off meanwhile; write through below
                 }
             }
+            if (!queued) {
+                if (queue != null) {
+                    // SSN changes (checked for uniqueness now) and rows not cached yet write
+                    // through; changes queued for the row must not land after this write
+                    queue.flush();
+                }
+                ok = dao.updateEmployee(e);
+            }
+            if (ok) {
+                // sync cache
+                cache.put(e);
+                if (listening()) {
+                    publish(List.of(new EmployeeEvent.Updated(new Employee(e))), false);
+                }
+            }
+            return ok;
+        } finally {
+            row.unlock();
+            shared.unlock();
         }
-        return ok;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean delete(int empID) {
-        boolean ok = dao.deleteEmployee(empID);
-        if (ok) {
-            cache.removeIf(emp -> emp.getEmpID() == empID);
+        Lock shared = bulkLock.readLock();
+        Lock row = stripe(empID);
+        shared.lock();
+        row.lock();
+        try {
+            // a queued update of the row must not land after the delete
+            flushPending();
+            boolean ok = dao.deleteEmployee(empID);
+            if (ok) {
+                cache.remove(empID);
+                publish(List.of(new EmployeeEvent.Deleted(empID)), false);
+            }
+            return ok;
+        } finally {
+            row.unlock();
+            shared.unlock();
         }
-        return ok;
     }
 
     /** {@inheritDoc} */
     @Override
     public List<Employee> findAll() {
-        return new ArrayList<>(cache);
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.findAll();
+        }
+        cacheHits.increment();
+        return cache.values();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Employee> findPage(int afterId, int limit) {
+        if (ready && cache.isSorted()) {
+            try {
+                List<Employee> page = cache.page(afterId, limit);
+                cacheHits.increment();
+                return page;
+            } catch (IllegalStateException reordered) {
+                // a concurrent add landed out of ID order after the check; fall through
+            }
+        }
+        cacheMisses.increment();
+        // rows were cached out of ID order; the primary key index can still page cheaply
+        return dao.findPage(afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The warm cache sorts once per column and write, then slices from memory. Before
+     * that the database sorts, and deep offsets cost it a walk past the skipped rows.
+     * </p>
+     */
+    @Override
+    public EmployeeSlice findSlice(SortColumn column, boolean ascending, int offset, int limit) {
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.findSlice(column, ascending, offset, limit);
+        }
+        cacheHits.increment();
+        return cache.slice(column, ascending, offset, limit);
     }
 
     /** {@inheritDoc} */
     @Override
     public Optional<Employee> searchByID(int empID) {
-        return cache.stream()
-                    .filter(e -> e.getEmpID() == empID)
-                    .findFirst();
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.searchByID(empID);
+        }
+        cacheHits.increment();
+        return cache.get(empID);
     }
 
     /** {@inheritDoc} */
     @Override
     public List<Employee> searchByName(String pattern) {
-        // regex match in memory
-        return cache.stream()
-                    .filter(e -> e.getName().matches(".*" + pattern + ".*"))
-                    .toList();
+        NameSearchEvent event = new NameSearchEvent();
+        event.begin();
+        boolean fromCache = ready;
+        List<Employee> found;
+        if (!fromCache) {
+            cacheMisses.increment();
+            // MySQL's ICU regex, case-sensitive like the cache's; filtering its rows with
+            // the cache's matcher drops what ICU-only syntax matched beyond that. A pattern
+            // java.util.regex rejects is literal text to the cache but an error (no rows)
+            // to MySQL, so a half-typed regex finds nothing until the cache is ready.
+            Predicate<CharSequence> matcher = nameSearcher.matcher(pattern);
+            found = dao.searchByName(pattern, NameMatch.REGEXP).stream()
+                    .filter(e -> e.getName() != null && matcher.test(e.getName()))
+                    .collect(Collectors.toList());
+        } else {
+            cacheHits.increment();
+            // substring or precompiled regex, matched anywhere in the name
+            found = nameSearcher.search(cache, pattern);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.pattern = pattern;
+            event.matches = found.size();
+            event.fromCache = fromCache;
+            event.commit();
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * From the cache, matches are delivered a scan chunk at a time. Before the cache
+     * is ready the database answers and its result arrives as a single batch.
+     * </p>
+     */
+    @Override
+    public boolean searchByName(String pattern, BooleanSupplier cancelled, Consumer<List<Employee>> onBatch) {
+        NameSearchEvent event = new NameSearchEvent();
+        event.begin();
+        boolean fromCache = ready;
+        int[] matches = new int[1];
+        Consumer<List<Employee>> counting = batch -> {
+            matches[0] += batch.size();
+            onBatch.accept(batch);
+        };
+        boolean completed;
+        if (!fromCache) {
+            cacheMisses.increment();
+            completed = EmployeeService.super.searchByName(pattern, cancelled, counting);
+        } else {
+            cacheHits.increment();
+            completed = nameSearcher.search(cache, pattern, cancelled, counting);
+        }
+        event.end();
+        if (completed && event.shouldCommit()) {
+            event.pattern = pattern;
+            event.matches = matches[0];
+            event.fromCache = fromCache;
+            event.commit();
+        }
+        return completed;
     }
 
     /** {@inheritDoc} */
     @Override
     public Optional<Employee> searchBySSN(String ssn) {
-        return cache.stream()
-                    .filter(e -> e.getSSN().equals(ssn))
-                    .findFirst();
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.searchBySSN(ssn);
+        }
+        cacheHits.increment();
+        return cache.getBySSN(ssn);
     }
 
     /** {@inheritDoc} */
     @Override
     public void applySalaryRaise(double minSalary, double maxSalary, double raisePercent) {
-        dao.applySalaryRaise(minSalary, maxSalary, raisePercent);
-        // update cached objects as well
-        for (Employee emp : cache) {
-            double sal = emp.getSalary();
-            if (sal >= minSalary && sal <= maxSalary) {
-                // round to 2 decimals
-                emp.setSalary(Math.round(sal * (1 + raisePercent / 100) * 100) / 100.0);
+        SalaryRaiseEvent event = new SalaryRaiseEvent();
+        event.begin();
+        Lock exclusive = bulkLock.writeLock();
+        exclusive.lock();
+        try {
+            flushPending();
+            int raised = dao.applySalaryRaise(minSalary, maxSalary, raisePercent);
+            // update cached objects as well, via the salary index
+            int cached = cache.raiseSalaries(minSalary, maxSalary,
+                    // round to 2 decimals
+                    sal -> Math.round(sal * (1 + raisePercent / 100) * 100) / 100.0);
+            if (cached > 0) {
+                publish(List.of(new EmployeeEvent.Raised(minSalary, maxSalary, raisePercent, cached)), false);
+            }
+            event.rows = Math.max(raised, 0);
+            event.failed = raised < 0;
+        } finally {
+            exclusive.unlock();
+            commitRaise(event, minSalary, maxSalary, raisePercent, false);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Employee> findBySalaryRange(double minSalary, double maxSalary) {
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.findBySalaryRange(minSalary, maxSalary);
+        }
+        cacheHits.increment();
+        return cache.findBySalaryRange(minSalary, maxSalary);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int countBySalaryRange(double minSalary, double maxSalary) {
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.countBySalaryRange(minSalary, maxSalary);
+        }
+        cacheHits.increment();
+        return cache.countBySalaryRange(minSalary, maxSalary);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double sumBySalaryRange(double minSalary, double maxSalary) {
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.sumBySalaryRange(minSalary, maxSalary);
+        }
+        cacheHits.increment();
+        return cache.sumBySalaryRange(minSalary, maxSalary);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Once the cache is warm this is one parallel pass over its columns; before that
+     * the database computes it with a GROUP BY.
+     * </p>
+     */
+    @Override
+    public List<PayrollStats> payrollBy(PayrollGrouping grouping) {
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.payrollBy(grouping);
+        }
+        cacheHits.increment();
+        return cache.payrollBy(grouping, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Served from running totals the cache adjusts on every add, update, delete and
+     * raise, in time proportional to the number of groups. Before the cache is warm
+     * the database counts them.
+     * </p>
+     */
+    @Override
+    public List<PayrollSummary> payrollSummaryBy(PayrollGrouping grouping) {
+        if (!ready) {
+            cacheMisses.increment();
+            return dao.payrollSummaryBy(grouping);
+        }
+        cacheHits.increment();
+        return cache.payrollSummaryBy(grouping);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SalaryRaiseProgress applySalaryRaiseChunked(double minSalary, double maxSalary, double raisePercent,
+                                                       int resumeAfterId, Consumer<SalaryRaiseProgress> onProgress) {
+        SalaryRaiseEvent event = new SalaryRaiseEvent();
+        event.begin();
+        // edits queued from here on are safe: the per-row compare below leaves them alone
+        flushPending();
+        SalaryRaiseProgress result = dao.applySalaryRaiseChunked(minSalary, maxSalary, raisePercent,
+                EmployeeManager.DEFAULT_RAISE_CHUNK_SIZE, resumeAfterId,
+                (ids, oldSalaries, newSalaries, progress) -> {
+                    // touch only the rows the chunk changed; taking each row's stripe orders this
+                    // after any in-flight update of the row, and the compare skips rows such an
+                    // update has already overwritten
+                    Lock shared = bulkLock.readLock();
+                    shared.lock();
+                    try {
+                        for (int i = 0; i < ids.length; i++) {
+                            Lock row = stripe(ids[i]);
+                            row.lock();
+                            try {
+                                cache.compareAndSetSalary(ids[i], oldSalaries[i], newSalaries[i]);
+                            } finally {
+                                row.unlock();
+                            }
+                        }
+                        if (ids.length > 0) {
+                            // one event per chunk, not per row
+                            publish(List.of(new EmployeeEvent.Raised(minSalary, maxSalary, raisePercent, ids.length)),
+                                    false);
+                        }
+                    } finally {
+                        shared.unlock();
+                    }
+                    if (onProgress != null) {
+                        onProgress.accept(progress);
+                    }
+                });
+        event.rows = result.getRowsUpdated();
+        event.failed = result.getError() != null;
+        commitRaise(event, minSalary, maxSalary, raisePercent, true);
+        return result;
+    }
+
+    private static void commitRaise(SalaryRaiseEvent event, double minSalary, double maxSalary,
+                                    double raisePercent, boolean chunked) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.minSalary = minSalary;
+            event.maxSalary = maxSalary;
+            event.raisePercent = raisePercent;
+            event.chunked = chunked;
+            event.commit();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Runs under the bulk lock, so no local write can slip in between reading the
+     * changes and applying them and be overwritten by an older database state.
+     * Afterwards, at most once per {@link #TOMBSTONE_PURGE_INTERVAL_MILLIS}, deletion
+     * tombstones older than {@link #TOMBSTONE_RETENTION_MILLIS} are purged.
+     * </p>
+     */
+    @Override
+    public int refresh() {
+        if (!ready) {
+            return 0;   // the warm-up catches up on changes itself once loaded
+        }
+        int changes;
+        Timestamp asOf;
+        Lock exclusive = bulkLock.writeLock();
+        exclusive.lock();
+        try {
+            flushPending();
+            List<EmployeeEvent> events = new ArrayList<>();
+            changes = applyChanges(events);
+            asOf = highWater;
+            publish(events, true);
+        } finally {
+            exclusive.unlock();
+        }
+        purgeTombstones(asOf);
+        return changes;
+    }
+
+    /** Deletes tombstones no cache or snapshot can still need, unless that was done recently. */
+    private void purgeTombstones(Timestamp now) {
+        if (now.getTime() - lastPurge < TOMBSTONE_PURGE_INTERVAL_MILLIS) {
+            return;
+        }
+        lastPurge = now.getTime();
+        try {
+            dao.purgeDeletedBefore(new Timestamp(now.getTime() - TOMBSTONE_RETENTION_MILLIS));
+        } catch (DataAccessException e) {
+            // the refresh itself succeeded; the tombstones go on the next attempt
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Applies changes since the high-water mark to the cache; caller holds the bulk write lock.
+     * @param events receives an event per row that changed the cache while anyone listens; may be null
+     */
+    private int applyChanges(List<EmployeeEvent> events) {
+        EmployeeChanges changes = dao.findChangesSince(
+                new Timestamp(highWater.getTime() - REFRESH_OVERLAP_MILLIS));
+        boolean listening = events != null && listening();
+        long behind = changes.asOf().getTime() - highWater.getTime();
+        if (behind > SNAPSHOT_MAX_AGE_MILLIS) {
+            // tombstones this old may have been purged, so deletions could be missed
+            System.err.println("Cache is " + TimeUnit.MILLISECONDS.toHours(behind)
+                               + " hours behind the database, reloading it");
+            int loaded = reload();
+            if (listening) {
+                events.add(new EmployeeEvent.Reloaded());
+            }
+            return loaded;
+        }
+        for (Employee e : changes.changed()) {
+            // the overlap re-reads rows already applied; they are not news
+            if (listening) {
+                Optional<Employee> cached = cache.get(e.getEmpID());
+                if (cached.isEmpty()) {
+                    events.add(new EmployeeEvent.Added(new Employee(e)));
+                } else if (!sameValues(cached.get(), e)) {
+                    events.add(new EmployeeEvent.Updated(new Employee(e)));
+                }
+            }
+            cache.put(e);
+        }
+        for (int empID : changes.deletedIds()) {
+            if (cache.remove(empID) && listening) {
+                events.add(new EmployeeEvent.Deleted(empID));
             }
         }
+        highWater = changes.asOf();
+        return changes.changed().size() + changes.deletedIds().size();
+    }
+
+    /**
+     * Replaces the cache with a full read of the table; caller holds the bulk write lock.
+     * @return number of rows loaded
+     */
+    private int reload() {
+        highWater = dao.currentTimestamp();
+        List<Employee> rows = new ArrayList<>();
+        dao.streamAll(rows::add);
+        cache.loadAll(rows);
+        return rows.size();
+    }
+
+    /** @return the columns whose values the edit changes, by column name */
+    private static Map<String, Object> changedColumns(Employee cached, Employee edited) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        if (!Objects.equals(cached.getName(), edited.getName())) {
+            changed.put("employeeName", edited.getName());
+        }
+        if (!Objects.equals(cached.getJobTitle(), edited.getJobTitle())) {
+            changed.put("jobTitle", edited.getJobTitle());
+        }
+        if (!Objects.equals(cached.getDivision(), edited.getDivision())) {
+            changed.put("division", edited.getDivision());
+        }
+        if (Math.round(cached.getSalary() * 100) != Math.round(edited.getSalary() * 100)) {
+            changed.put("salary", edited.getSalary());
+        }
+        if (!Objects.equals(cached.getPayInfo(), edited.getPayInfo())) {
+            changed.put("payInfo", edited.getPayInfo());
+        }
+        return changed;
+    }
+
+    private static boolean sameValues(Employee a, Employee b) {
+        return Objects.equals(a.getName(), b.getName())
+            && Objects.equals(a.getSSN(), b.getSSN())
+            && Objects.equals(a.getJobTitle(), b.getJobTitle())
+            && Objects.equals(a.getDivision(), b.getDivision())
+            && Objects.equals(a.getPayInfo(), b.getPayInfo())
+            && Math.round(a.getSalary() * 100) == Math.round(b.getSalary() * 100);
+    }
+
+    /**
+     * Starts refreshing the cache in the background every {@code period}, replacing any
+     * schedule already running. A failed refresh is logged and retried on the next run
+     * from the same high-water mark.
+     * @param period delay between the end of one refresh and the start of the next
+     * @param unit   unit of {@code period}
+     */
+    public synchronized void startAutoRefresh(long period, TimeUnit unit) {
+        stopAutoRefresh();
+        refresher = Executors.newSingleThreadScheduledExecutor(daemonThreads("employee-cache-refresh"));
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                // an exception would cancel the schedule
+                e.printStackTrace();
+            }
+        }, period, period, unit);
+    }
+
+    /** Stops background refreshing, if running. */
+    public synchronized void stopAutoRefresh() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    /**
+     * Compares the running payroll totals with figures counted by the database. Runs
+     * under the bulk lock right after pulling in external changes, so both sides
+     * describe the same rows unless another node writes in between. On a mismatch
+     * the cache is reloaded from the database, which rebuilds the totals as well.
+     *
+     * @return true if the totals matched, or the cache is still warming up
+     */
+    public boolean checkPayrollTotals() {
+        if (!ready) {
+            return true;
+        }
+        Lock exclusive = bulkLock.writeLock();
+        exclusive.lock();
+        try {
+            flushPending();
+            List<EmployeeEvent> events = new ArrayList<>();
+            applyChanges(events);
+            publish(events, true);
+            List<String> mismatches = new ArrayList<>();
+            for (PayrollGrouping grouping : PayrollGrouping.values()) {
+                Map<String, PayrollSummary> expected = new HashMap<>();
+                dao.payrollSummaryBy(grouping).forEach(s -> expected.put(s.group(), s));
+                for (PayrollSummary actual : cache.payrollSummaryBy(grouping)) {
+                    PayrollSummary counted = expected.remove(actual.group());
+                    if (counted == null || !counted.sameFigures(actual)) {
+                        mismatches.add(grouping + " " + actual.group());
+                    }
+                }
+                expected.keySet().forEach(group -> mismatches.add(grouping + " " + group));
+            }
+            if (mismatches.isEmpty()) {
+                return true;
+            }
+            System.err.println("Payroll totals differ from the database for " + mismatches + ", reloading the cache");
+            reload();
+            publish(List.of(new EmployeeEvent.Reloaded()), true);
+            return false;
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    /**
+     * Switches {@link #update} to write-behind, replacing any queue already running.
+     * <p>
+     * An update of a cached employee that keeps its SSN is applied to the cache and
+     * published at once, and its changed columns are queued; several updates to one
+     * employee before the next flush are merged into one UPDATE. Queued changes are
+     * written every {@code delay}, as soon as {@code maxPending} employees are waiting,
+     * before any whole-table operation, and when write-behind is stopped, which a JVM
+     * shutdown hook also does. Updates block while {@code maxPending} other employees
+     * are waiting. SSN changes still write through, so a duplicate is refused at once.
+     * </p>
+     * <p>
+     * If the database refuses a queued change, the employee is re-read into the cache
+     * (and an update event published) before {@code onError} is told. If it cannot be
+     * read either, the cache keeps the edit until the row changes or is reloaded.
+     * </p>
+     *
+     * @param maxPending employees whose changes may wait at once
+     * @param delay      longest time a change waits before it is written
+     * @param onError    receives each change that could not be written, on a background thread; may be null
+     */
+    public synchronized void startWriteBehind(int maxPending, long delay, TimeUnit unit,
+                                              Consumer<WriteBehindFailure> onError) {
+        stopWriteBehind();
+        writeBehind = new WriteBehindQueue(dao, maxPending, delay, unit, failure -> writeFailed(failure, onError),
+                                           EmployeeServiceImpl::daemonThreads);
+        writeBehindHook = new Thread(this::stopWriteBehind, "employee-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(writeBehindHook);
+    }
+
+    /** Writes the changes still queued and switches updates back to writing through, if in write-behind mode. */
+    public synchronized void stopWriteBehind() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue == null) {
+            return;
+        }
+        writeBehind = null;
+        queue.close();
+        if (Thread.currentThread() != writeBehindHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(writeBehindHook);
+            } catch (IllegalStateException e) {
+                // the JVM is shutting down; the hook has nothing left to do
+            }
+        }
+        writeBehindHook = null;
+    }
+
+    /** Writes the changes queued in write-behind mode now. */
+    public void flushWrites() {
+        flushPending();
+    }
+
+    private void flushPending() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) {
+            queue.flush();
+        }
+    }
+
+    /** Puts back what the database holds for a row whose queued change failed, then reports it. */
+    private void writeFailed(WriteBehindFailure failure, Consumer<WriteBehindFailure> onError) {
+        int empID = failure.empID();
+        Lock shared = bulkLock.readLock();
+        Lock row = stripe(empID);
+        shared.lock();
+        row.lock();
+        try {
+            WriteBehindQueue queue = writeBehind;
+            // a newer edit still queued is kept; it is reported in turn if it fails too
+            if (queue == null || !queue.isPending(empID)) {
+                Optional<Employee> stored = dao.searchByID(empID);
+                if (stored.isPresent()) {
+                    cache.put(stored.get());
+                    if (listening()) {
+                        publish(List.of(new EmployeeEvent.Updated(new Employee(stored.get()))), false);
+                    }
+                }
+            }
+        } finally {
+            row.unlock();
+            shared.unlock();
+        }
+        if (onError != null) {
+            onError.accept(failure);
+        } else {
+            System.err.println("Write-behind update of employee " + empID + " failed: " + failure.message());
+        }
+    }
+
+    /**
+     * Runs {@link #checkPayrollTotals()} in the background every {@code period}, replacing
+     * any schedule already running. A failed check is logged and retried on the next run.
+     */
+    public synchronized void startPayrollCheck(long period, TimeUnit unit) {
+        stopPayrollCheck();
+        payrollChecker = Executors.newSingleThreadScheduledExecutor(daemonThreads("employee-payroll-check"));
+        payrollChecker.scheduleWithFixedDelay(() -> {
+            try {
+                checkPayrollTotals();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, period, period, unit);
+    }
+
+    /** Stops background payroll checks, if running. */
+    public synchronized void stopPayrollCheck() {
+        if (payrollChecker != null) {
+            payrollChecker.shutdownNow();
+            payrollChecker = null;
+        }
+    }
+
+    /**
+     * Writes the cache and its high-water mark to a snapshot file, for a later start
+     * through {@link #EmployeeServiceImpl(EmployeeManager, int, Path)}. Writers wait only
+     * while the rows are copied, not while the file is written; rows they change after
+     * the copy are re-read from the database on that start. Changes queued in
+     * write-behind mode are written first, and no edit can be queued between that and
+     * the copy: a snapshot must not hold an edit the database lacks, since a start from
+     * it would never correct the row.
+     *
+     * @param file snapshot to create or replace
+     * @return false if the cache is still warming up, so there is nothing to save
+     * @throws IOException if the file cannot be written
+     */
+    public boolean saveSnapshot(Path file) throws IOException {
+        if (!ready) {
+            return false;
+        }
+        CacheSnapshot snapshot;
+        // excludes refreshes, so the rows are at least as new as the mark, and row
+        // writes, which in write-behind mode reach the cache before the database
+        Lock exclusive = bulkLock.writeLock();
+        exclusive.lock();
+        try {
+            flushPending();
+            snapshot = new CacheSnapshot(cache.values(), highWater);
+        } finally {
+            exclusive.unlock();
+        }
+        snapshot.write(file);
+        return true;
+    }
+
+    /**
+     * Saves a snapshot in the background every {@code period}, replacing any schedule
+     * already running. A failed save is logged and retried on the next run.
+     */
+    public synchronized void startAutoSnapshot(Path file, long period, TimeUnit unit) {
+        stopAutoSnapshot();
+        snapshotter = Executors.newSingleThreadScheduledExecutor(daemonThreads("employee-cache-snapshot"));
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                saveSnapshot(file);
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, period, period, unit);
+    }
+
+    /** Stops background snapshots, if running. */
+    public synchronized void stopAutoSnapshot() {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+            snapshotter = null;
+        }
     }
 }
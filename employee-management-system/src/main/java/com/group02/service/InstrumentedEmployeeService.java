@@ -0,0 +1,280 @@
+// src/main/java/com/group02/service/InstrumentedEmployeeService.java
+package com.group02.service;
+
+import com.group02.metrics.LatencyHistogram;
+import com.group02.metrics.Metrics;
+import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import com.group02.repository.SalaryRaiseProgress;
+import com.group02.repository.SortColumn;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * EmployeeService that times every call of another one into a {@code service.<method>}
+ * histogram, the latency callers actually see whether a read came from the cache or
+ * the database. Pair it with an {@link com.group02.repository.InstrumentedEmployeeManager}
+ * underneath to see how much of that time is spent in the database.
+ */
+public class InstrumentedEmployeeService implements EmployeeService {
+    private final EmployeeService service;
+
+    private final LatencyHistogram add;
+    private final LatencyHistogram addAll;
+    private final LatencyHistogram update;
+    private final LatencyHistogram delete;
+    private final LatencyHistogram findAll;
+    private final LatencyHistogram findPage;
+    private final LatencyHistogram findSlice;
+    private final LatencyHistogram searchByID;
+    private final LatencyHistogram searchByName;
+    private final LatencyHistogram searchBySSN;
+    private final LatencyHistogram findBySalaryRange;
+    private final LatencyHistogram countBySalaryRange;
+    private final LatencyHistogram sumBySalaryRange;
+    private final LatencyHistogram applySalaryRaise;
+    private final LatencyHistogram payrollBy;
+    private final LatencyHistogram payrollSummaryBy;
+    private final LatencyHistogram applySalaryRaiseChunked;
+    private final LatencyHistogram refresh;
+
+    /** Instruments {@code service}, recording into {@link Metrics#global()}. */
+    public InstrumentedEmployeeService(EmployeeService service) {
+        this(service, Metrics.global());
+    }
+
+    public InstrumentedEmployeeService(EmployeeService service, Metrics metrics) {
+        this.service = service;
+        add = metrics.histogram("service.add");
+        addAll = metrics.histogram("service.addAll");
+        update = metrics.histogram("service.update");
+        delete = metrics.histogram("service.delete");
+        findAll = metrics.histogram("service.findAll");
+        findPage = metrics.histogram("service.findPage");
+        findSlice = metrics.histogram("service.findSlice");
+        searchByID = metrics.histogram("service.searchByID");
+        searchByName = metrics.histogram("service.searchByName");
+        searchBySSN = metrics.histogram("service.searchBySSN");
+        findBySalaryRange = metrics.histogram("service.findBySalaryRange");
+        countBySalaryRange = metrics.histogram("service.countBySalaryRange");
+        sumBySalaryRange = metrics.histogram("service.sumBySalaryRange");
+        applySalaryRaise = metrics.histogram("service.applySalaryRaise");
+        payrollBy = metrics.histogram("service.payrollBy");
+        payrollSummaryBy = metrics.histogram("service.payrollSummaryBy");
+        applySalaryRaiseChunked = metrics.histogram("service.applySalaryRaiseChunked");
+        refresh = metrics.histogram("service.refresh");
+    }
+
+    @Override
+    public int add(Employee e) {
+        long start = System.nanoTime();
+        try {
+            return service.add(e);
+        } finally {
+            add.recordSince(start);
+        }
+    }
+
+    @Override
+    public BatchInsertResult addAll(List<Employee> employees) {
+        long start = System.nanoTime();
+        try {
+            return service.addAll(employees);
+        } finally {
+            addAll.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean update(Employee e) {
+        long start = System.nanoTime();
+        try {
+            return service.update(e);
+        } finally {
+            update.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean delete(int empID) {
+        long start = System.nanoTime();
+        try {
+            return service.delete(empID);
+        } finally {
+            delete.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        long start = System.nanoTime();
+        try {
+            return service.findAll();
+        } finally {
+            findAll.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> findPage(int afterId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return service.findPage(afterId, limit);
+        } finally {
+            findPage.recordSince(start);
+        }
+    }
+
+    @Override
+    public EmployeeSlice findSlice(SortColumn column, boolean ascending, int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return service.findSlice(column, ascending, offset, limit);
+        } finally {
+            findSlice.recordSince(start);
+        }
+    }
+
+    @Override
+    public Optional<Employee> searchByID(int empID) {
+        long start = System.nanoTime();
+        try {
+            return service.searchByID(empID);
+        } finally {
+            searchByID.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> searchByName(String pattern) {
+        long start = System.nanoTime();
+        try {
+            return service.searchByName(pattern);
+        } finally {
+            searchByName.recordSince(start);
+        }
+    }
+
+    @Override
+    public boolean searchByName(String pattern, BooleanSupplier cancelled, Consumer<List<Employee>> onBatch) {
+        long start = System.nanoTime();
+        try {
+            return service.searchByName(pattern, cancelled, onBatch);
+        } finally {
+            searchByName.recordSince(start);
+        }
+    }
+
+    @Override
+    public Optional<Employee> searchBySSN(String ssn) {
+        long start = System.nanoTime();
+        try {
+            return service.searchBySSN(ssn);
+        } finally {
+            searchBySSN.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<Employee> findBySalaryRange(double minSalary, double maxSalary) {
+        long start = System.nanoTime();
+        try {
+            return service.findBySalaryRange(minSalary, maxSalary);
+        } finally {
+            findBySalaryRange.recordSince(start);
+        }
+    }
+
+    @Override
+    public int countBySalaryRange(double minSalary, double maxSalary) {
+        long start = System.nanoTime();
+        try {
+            return service.countBySalaryRange(minSalary, maxSalary);
+        } finally {
+            countBySalaryRange.recordSince(start);
+        }
+    }
+
+    @Override
+    public double sumBySalaryRange(double minSalary, double maxSalary) {
+        long start = System.nanoTime();
+        try {
+            return service.sumBySalaryRange(minSalary, maxSalary);
+        } finally {
+            sumBySalaryRange.recordSince(start);
+        }
+    }
+
+    @Override
+    public void applySalaryRaise(double minSalary, double maxSalary, double raisePercent) {
+        long start = System.nanoTime();
+        try {
+            service.applySalaryRaise(minSalary, maxSalary, raisePercent);
+        } finally {
+            applySalaryRaise.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PayrollStats> payrollBy(PayrollGrouping grouping) {
+        long start = System.nanoTime();
+        try {
+            return service.payrollBy(grouping);
+        } finally {
+            payrollBy.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<PayrollSummary> payrollSummaryBy(PayrollGrouping grouping) {
+        long start = System.nanoTime();
+        try {
+            return service.payrollSummaryBy(grouping);
+        } finally {
+            payrollSummaryBy.recordSince(start);
+        }
+    }
+
+    @Override
+    public SalaryRaiseProgress applySalaryRaiseChunked(double minSalary, double maxSalary, double raisePercent,
+                                                       int resumeAfterId, Consumer<SalaryRaiseProgress> onProgress) {
+        long start = System.nanoTime();
+        try {
+            return service.applySalaryRaiseChunked(minSalary, maxSalary, raisePercent, resumeAfterId, onProgress);
+        } finally {
+            applySalaryRaiseChunked.recordSince(start);
+        }
+    }
+
+    @Override
+    public int refresh() {
+        long start = System.nanoTime();
+        try {
+            return service.refresh();
+        } finally {
+            refresh.recordSince(start);
+        }
+    }
+
+    @Override
+    public void addListener(EmployeeListener listener) {
+        service.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(EmployeeListener listener) {
+        service.removeListener(listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> whenReady() {
+        return service.whenReady();
+    }
+}
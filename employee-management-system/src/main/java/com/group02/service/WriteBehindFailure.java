@@ -0,0 +1,15 @@
+// src/main/java/com/group02/service/WriteBehindFailure.java
+package com.group02.service;
+
+import java.util.Map;
+
+/**
+ * A queued update the database refused, reported by write-behind mode (see
+ * {@link EmployeeServiceImpl#startWriteBehind}). By the time it is reported the cache
+ * has been put back to what the database holds.
+ *
+ * @param empID   employee the update was for
+ * @param values  column values that were not written
+ * @param message why, e.g. the employee was deleted meanwhile
+ */
+public record WriteBehindFailure(int empID, Map<String, Object> values, String message) { }
@@ -0,0 +1,195 @@
+// src/main/java/com/group02/service/WriteBehindQueue.java
+package com.group02.service;
+
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeManager;
+import com.group02.repository.FieldUpdate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Column changes waiting to be written, coalesced per employee: a second change to the
+ * same employee is merged into the first, so however many edits arrive between two
+ * flushes each employee costs one UPDATE. A flush sends everything pending to
+ * {@link EmployeeManager#updateFields} as one batch.
+ * <p>
+ * Flushes run every {@code delay} on a writer thread, as soon as {@code maxPending}
+ * employees are waiting, or when {@link #flush()} is called. Once {@code maxPending}
+ * employees are waiting, a change to yet another one blocks until a flush has taken
+ * them, so the queue never grows past that while the database is slow or down. Only
+ * one flush runs at a time, so changes to an employee reach the database in order.
+ * </p>
+ * <p>
+ * Failed updates are passed to the failure callback on a thread of their own. It may
+ * therefore take locks that a writer blocked on a full queue holds, without stalling
+ * the flushes that writer is waiting for.
+ * </p>
+ */
+final class WriteBehindQueue {
+    private final EmployeeManager dao;
+    private final int maxPending;
+    private final Consumer<WriteBehindFailure> onFailure;
+    private final ScheduledExecutorService writer;
+    private final ExecutorService callbacks;
+
+    private final Map<Integer, Map<String, Object>> pending = new LinkedHashMap<>();   // guarded by this
+    private boolean flushRequested;   // guarded by this
+    private boolean closed;           // guarded by this
+
+    // one flush at a time
+    private final ReentrantLock flushing = new ReentrantLock();
+
+    /**
+     * @param maxPending employees that may wait before writers block
+     * @param delay      time between scheduled flushes
+     * @param onFailure  receives each update the database refused
+     * @param threads    creates the writer and callback threads, given their name
+     */
+    WriteBehindQueue(EmployeeManager dao, int maxPending, long delay, TimeUnit unit,
+                     Consumer<WriteBehindFailure> onFailure, Function<String, ThreadFactory> threads) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending must be positive");
+        }
+        this.dao = dao;
+        this.maxPending = maxPending;
+        this.onFailure = onFailure;
+        this.writer = Executors.newSingleThreadScheduledExecutor(threads.apply("employee-write-behind"));
+        this.callbacks = Executors.newSingleThreadExecutor(threads.apply("employee-write-behind-errors"));
+        writer.scheduleWithFixedDelay(this::flushQuietly, delay, delay, unit);
+    }
+
+    /**
+     * Queues column changes for an employee, merging them into any already waiting.
+     * Blocks while the queue is full and the employee is not in it yet.
+     * @throws IllegalStateException if the queue has been closed
+     */
+    synchronized void enqueue(int empID, Map<String, Object> values) {
+        boolean interrupted = false;
+        while (!closed && pending.size() >= maxPending && !pending.containsKey(empID)) {
+            requestFlush();
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;   // the edit is already in the cache; it must not be dropped
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (closed) {
+            throw new IllegalStateException("Write-behind queue is closed");
+        }
+        pending.computeIfAbsent(empID, id -> new LinkedHashMap<>()).putAll(values);
+        if (pending.size() >= maxPending) {
+            requestFlush();
+        }
+    }
+
+    /** @return true if changes to the employee are waiting to be written */
+    synchronized boolean isPending(int empID) {
+        return pending.containsKey(empID);
+    }
+
+    /** @return number of employees with changes waiting */
+    synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * Writes everything pending now, waiting for a flush already under way to finish
+     * first. Failures are handed to the callback thread, not awaited.
+     */
+    void flush() {
+        flushing.lock();
+        try {
+            List<FieldUpdate> batch;
+            synchronized (this) {
+                flushRequested = false;
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending.size());
+                pending.forEach((empID, values) -> batch.add(new FieldUpdate(empID, values)));
+                pending.clear();
+                notifyAll();   // writers waiting for room may go on
+            }
+            List<BatchInsertResult.Failure> failures;
+            try {
+                failures = dao.updateFields(batch);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                failures = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    failures.add(new BatchInsertResult.Failure(i, e.toString()));
+                }
+            }
+            for (BatchInsertResult.Failure failure : failures) {
+                FieldUpdate update = batch.get(failure.index());
+                callbacks.execute(() -> {
+                    try {
+                        onFailure.accept(new WriteBehindFailure(update.empID(), update.values(), failure.message()));
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                });
+            }
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    /** Stops the writer thread, writes what is still pending, and waits for failure callbacks. */
+    void close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        writer.shutdown();
+        awaitQuietly(writer);
+        flush();
+        callbacks.shutdown();
+        awaitQuietly(callbacks);
+    }
+
+    private void requestFlush() {
+        // caller holds the monitor
+        if (!flushRequested && !writer.isShutdown()) {
+            flushRequested = true;
+            writer.execute(this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // an exception would cancel the schedule
+            e.printStackTrace();
+        }
+    }
+
+    private static void awaitQuietly(ExecutorService executor) {
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,22 +1,71 @@
 // src/main/java/com/group02/ui/ConsoleUI.java
 package com.group02.ui;
 
+import com.group02.bulk.EmployeeExporter;
+import com.group02.bulk.EmployeeImporter;
+import com.group02.bulk.ExportFilter;
+import com.group02.bulk.ExportFormat;
+import com.group02.bulk.ExportStats;
+import com.group02.bulk.ImportStats;
+import com.group02.repository.DataAccessException;
 import com.group02.model.Employee;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.SalaryRaiseProgress;
+import com.group02.service.EmployeeEvent;
 import com.group02.service.EmployeeService;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Text-based UI for the Employee Management System.
- * Presents a menu loop for CRUD + bulk raise, with improved formatting.
+ * Presents a menu loop for CRUD, bulk raise, payroll reports, CSV import and export, with improved formatting.
+ * Before each menu it mentions changes made elsewhere that the background refresh pulled in.
  */
 public class ConsoleUI {
+    private static final int PAGE_SIZE = 500;
+
     private final Scanner scanner = new Scanner(System.in);
     private final EmployeeService service;
+    private final EmployeeImporter importer;
+    private final EmployeeExporter exporter;
+
+    // changes made by other users since the last menu, counted on the refresh thread
+    private final AtomicInteger externalAdds = new AtomicInteger();
+    private final AtomicInteger externalUpdates = new AtomicInteger();
+    private final AtomicInteger externalDeletes = new AtomicInteger();
+    private volatile boolean externalReload;
 
     public ConsoleUI(EmployeeService service) {
+        this(service, null, null);
+    }
+
+    /**
+     * @param importer backs the Import CSV option; null leaves it unavailable
+     * @param exporter backs the Export option; null leaves it unavailable
+     */
+    public ConsoleUI(EmployeeService service, EmployeeImporter importer, EmployeeExporter exporter) {
         this.service = service;
+        this.importer = importer;
+        this.exporter = exporter;
+        service.addListener((events, external) -> {
+            if (!external) {
+                return;   // the user made these themselves
+            }
+            for (EmployeeEvent event : events) {
+                switch (event) {
+                    case EmployeeEvent.Added added -> externalAdds.incrementAndGet();
+                    case EmployeeEvent.Updated updated -> externalUpdates.incrementAndGet();
+                    case EmployeeEvent.Deleted deleted -> externalDeletes.incrementAndGet();
+                    case EmployeeEvent.Raised raised -> externalUpdates.addAndGet(raised.rows());
+                    case EmployeeEvent.Reloaded reloaded -> externalReload = true;
+                }
+            }
+        });
     }
 
     public void run() {
@@ -31,6 +80,9 @@ public class ConsoleUI {
                 case 4 -> update();
                 case 5 -> delete();
                 case 6 -> bulkRaise();
+                case 7 -> payrollReport();
+                case 8 -> importCsv();
+                case 9 -> export();
                 case 0 -> running = false;
                 default -> System.out.println("Invalid option. Please try again.");
             }
@@ -40,11 +92,23 @@ public class ConsoleUI {
     }
 
     private void displayMenu() {
+        int added = externalAdds.getAndSet(0);
+        int updated = externalUpdates.getAndSet(0);
+        int deleted = externalDeletes.getAndSet(0);
+        if (added + updated + deleted > 0) {
+            System.out.printf("%n(Since your last command, elsewhere: %d added, %d updated, %d deleted)%n",
+                              added, updated, deleted);
+        }
+        if (externalReload) {
+            externalReload = false;
+            System.out.println("\n(Employee data was reloaded from the database)");
+        }
         System.out.println("\n╔══════════ Employee Manager ══════════╗");
         System.out.println("║ 1) Add        2) View All           ║");
         System.out.println("║ 3) Search     4) Update             ║");
         System.out.println("║ 5) Delete     6) Bulk Raise         ║");
-        System.out.println("║ 0) Exit                            ║");
+        System.out.println("║ 7) Payroll    8) Import CSV         ║");
+        System.out.println("║ 9) Export     0) Exit               ║");
         System.out.println("╚══════════════════════════════════════╝");
     }
 
@@ -62,19 +126,23 @@ public class ConsoleUI {
     }
 
     private void viewAll() {
-        List<Employee> list = service.findAll();
-        if (list.isEmpty()) {
+        // walk the table a page at a time instead of copying it all at once
+        List<Employee> page = service.findPage(0, PAGE_SIZE);
+        if (page.isEmpty()) {
             System.out.println("No employees found.");
             return;
         }
         System.out.printf("%-5s %-20s %-10s %-15s %-10s%n",
                           "ID", "Name", "SSN", "Job Title", "Salary");
         System.out.println("---------------------------------------------------------------");
-        for (Employee e : list) {
-            System.out.printf("%-5d %-20s %-10s %-15s $%,10.2f%n",
-                              e.getEmpID(), e.getName(),
-                              e.getSSN(), e.getJobTitle(),
-                              e.getSalary());
+        while (!page.isEmpty()) {
+            for (Employee e : page) {
+                System.out.printf("%-5d %-20s %-10s %-15s $%,10.2f%n",
+                                  e.getEmpID(), e.getName(),
+                                  e.getSSN(), e.getJobTitle(),
+                                  e.getSalary());
+            }
+            page = service.findPage(page.get(page.size() - 1).getEmpID(), PAGE_SIZE);
         }
     }
 
@@ -149,10 +217,96 @@ public class ConsoleUI {
         double min = getDouble("Min Salary: ");
         double max = getDouble("Max Salary: ");
         double pct = getDouble("Raise %: ");
-        service.applySalaryRaise(min, max, pct);
+        SalaryRaiseProgress progress = service.applySalaryRaiseChunked(min, max, pct, 0,
+                p -> System.out.print("\rRaised " + p.getRowsUpdated() + " employees..."));
+        System.out.println();
+        while (progress.getError() != null) {
+            System.out.println("Raise stopped after empID " + progress.getLastEmpID()
+                               + ": " + progress.getError().getMessage());
+            String retry = getString("Resume from there? (y/N): ");
+            if (!retry.equalsIgnoreCase("y")) {
+                System.out.println("Raise incomplete.");
+                return;
+            }
+            progress = service.applySalaryRaiseChunked(min, max, pct, progress.getLastEmpID(),
+                    p -> System.out.print("\rRaised " + p.getRowsUpdated() + " more employees..."));
+            System.out.println();
+        }
         System.out.println("Raise applied.");
     }
 
+    private void importCsv() {
+        System.out.println("\n-- Import CSV --");
+        if (importer == null) {
+            System.out.println("Import is not available.");
+            return;
+        }
+        Path csv = Path.of(getString("CSV file: "));
+        Path rejects = Path.of(csv + ".rejects.csv");
+        try {
+            ImportStats stats = importer.importCsv(csv, rejects,
+                    p -> System.out.printf("\rImported %,d rows, %,d rejected...", p.imported(), p.rejected()));
+            System.out.println();
+            System.out.println(stats);
+            if (stats.rejected() > 0) {
+                System.out.println("Rejected rows and reasons: " + rejects);
+            }
+        } catch (IOException e) {
+            System.out.println();
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    private void export() {
+        System.out.println("\n-- Export --");
+        if (exporter == null) {
+            System.out.println("Export is not available.");
+            return;
+        }
+        System.out.println("1) CSV   2) JSON Lines   3) Binary");
+        int o = getInt("Format: ");
+        if (o < 1 || o > 3) {
+            System.out.println("Invalid format.");
+            return;
+        }
+        ExportFormat format = ExportFormat.values()[o - 1];
+        Path file = Path.of(getString("File: "));
+        String division = getOpt("Division (blank for all): ");
+        String min = getOpt("Min Salary (blank for none): ");
+        String max = getOpt("Max Salary (blank for none): ");
+        boolean mask = !getOpt("Mask SSNs? (Y/n): ").equalsIgnoreCase("n");
+        try {
+            ExportFilter filter = new ExportFilter(division.isEmpty() ? null : division,
+                                                   min.isEmpty() ? null : Double.valueOf(min),
+                                                   max.isEmpty() ? null : Double.valueOf(max));
+            ExportStats stats = exporter.export(file, format, filter, mask);
+            System.out.println("Exported " + stats + " to " + file);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid salary range: " + e.getMessage());
+        } catch (IOException | DataAccessException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
+
+    private void payrollReport() {
+        System.out.println("\n-- Payroll Report --");
+        System.out.println("1) By Division   2) By Job Title");
+        int o = getInt("Option: ");
+        if (o != 1 && o != 2) {
+            System.out.println("Invalid report option.");
+            return;
+        }
+        List<PayrollStats> report = service.payrollBy(o == 1 ? PayrollGrouping.DIVISION : PayrollGrouping.JOB_TITLE);
+        System.out.printf("%-20s %6s %15s %12s %12s %12s %12s%n",
+                          "Group", "Count", "Total", "Average", "Median", "P90", "Max");
+        System.out.println("---------------------------------------------------------------------------------------------");
+        for (PayrollStats s : report) {
+            System.out.printf("%-20s %6d $%,14.2f $%,11.2f $%,11.2f $%,11.2f $%,11.2f%n",
+                              s.group() == null ? "(none)" : s.group(), s.count(), s.sum(),
+                              s.average(), s.p50(), s.p90(), s.max());
+        }
+    }
+
     // Input helpers ----------------------------------------------------------
 
     private String getString(String prompt) {
@@ -1,11 +1,19 @@
 // src/main/java/com/group02/ui/EmployeeApp.java
 package com.group02.ui;
 
+import com.group02.cache.NameSearcher;
+import com.group02.config.DatabaseConfig;
 import com.group02.model.Employee;
-import com.group02.service.EmployeeService;
+import com.group02.repository.EmployeeManager;
+import com.group02.repository.SortColumn;
+import com.group02.service.AsyncEmployeeServiceImpl;
+import com.group02.service.EmployeeEvent;
 import com.group02.service.EmployeeServiceImpl;
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
@@ -13,16 +21,64 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 
 /**
  * JavaFX GUI for the Employee Management System.
+ * <p>
+ * Nothing that touches the cache or the database runs on the FX thread. The full
+ * table is a {@link LazyEmployeeList}: only the pages being looked at are fetched,
+ * and clicking a column header sorts in the service, not in the table. The filter
+ * box waits for a short pause in typing, then searches on a worker thread; matches
+ * are streamed into the table a batch at a time, and a search that a newer one has
+ * replaced stops scanning and its late batches are dropped. Adds, edits and deletes
+ * also run in the background.
+ * </p>
+ * <p>
+ * The table is never reloaded wholesale after a change. The service's change events
+ * are queued and applied on the FX thread, a burst at a time, as small edits to the
+ * rows shown: an edited row is replaced where it stands, a deleted search match is
+ * removed and a new one appended.
+ * </p>
  */
 public class EmployeeApp extends Application {
-    private final EmployeeService service = new EmployeeServiceImpl();
+    // warms its cache in the background, so a large table doesn't hold up the window
+    private final EmployeeServiceImpl service = new EmployeeServiceImpl(new EmployeeManager(),
+            Integer.parseInt(DatabaseConfig.getProperty("cache.warmup.partitions", "4")));
+    private final AsyncEmployeeServiceImpl async = new AsyncEmployeeServiceImpl(service);
     private final TableView<Employee> table = new TableView<>();
-    private final ObservableList<Employee> data = FXCollections.observableArrayList();
+    private final LazyEmployeeList allRows = new LazyEmployeeList(async, 200, 10);
+    private final ObservableList<Employee> data = FXCollections.observableArrayList();   // search matches
+    private final TextField searchField = new TextField();
+    private final Label status = new Label();
+
+    // wait this long after the last keystroke before searching
+    private final PauseTransition searchDelay = new PauseTransition(Duration.millis(250));
+
+    // bumped by every search; a search whose number is no longer current is stale
+    private final AtomicLong searchGeneration = new AtomicLong();
+    private long shownGeneration;   // search whose rows the table holds; FX thread only
+    private String shownPattern;    // filter of the search matches in data; FX thread only
+    private final NameSearcher nameSearcher = new NameSearcher();
+    private Map<Integer, Integer> matchPositions;   // empID -> index in data; null when stale
+
+    // change events waiting for the FX thread, applied in one go
+    private final Queue<EmployeeEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean eventsScheduled = new AtomicBoolean();
 
     @Override
     public void start(Stage primaryStage) {
@@ -31,26 +87,72 @@ public class EmployeeApp extends Application {
         // Table columns
         TableColumn<Employee, Integer> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("empID"));
+        idCol.setUserData(SortColumn.EMP_ID);
         TableColumn<Employee, String> nameCol = new TableColumn<>("Name");
         nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
+        nameCol.setUserData(SortColumn.NAME);
         TableColumn<Employee, String> ssnCol = new TableColumn<>("SSN");
         ssnCol.setCellValueFactory(new PropertyValueFactory<>("SSN"));
+        ssnCol.setUserData(SortColumn.SSN);
         TableColumn<Employee, String> jobCol = new TableColumn<>("Job Title");
         jobCol.setCellValueFactory(new PropertyValueFactory<>("jobTitle"));
+        jobCol.setUserData(SortColumn.JOB_TITLE);
         TableColumn<Employee, String> divCol = new TableColumn<>("Division");
         divCol.setCellValueFactory(new PropertyValueFactory<>("division"));
+        divCol.setUserData(SortColumn.DIVISION);
         TableColumn<Employee, Double> salCol = new TableColumn<>("Salary");
         salCol.setCellValueFactory(new PropertyValueFactory<>("salary"));
+        salCol.setUserData(SortColumn.SALARY);
 
         table.getColumns().addAll(idCol, nameCol, ssnCol, jobCol, divCol, salCol);
-        refreshTable();
+        table.setItems(allRows);
+        // the full table is sorted by the service; search matches are few enough to sort here
+        table.setSortPolicy(t -> {
+            if (t.getItems() != allRows) {
+                return TableView.DEFAULT_SORT_POLICY.call(t);
+            }
+            if (t.getSortOrder().isEmpty()) {
+                allRows.sort(SortColumn.EMP_ID, true);
+            } else {
+                TableColumn<Employee, ?> by = t.getSortOrder().get(0);
+                allRows.sort((SortColumn) by.getUserData(), by.getSortType() == TableColumn.SortType.ASCENDING);
+            }
+            return true;
+        });
+        allRows.addListener((ListChangeListener<Employee>) change -> {
+            if (table.getItems() == allRows) {
+                status.setText(allRows.size() + " employees");
+            }
+        });
+        allRows.setOnError(error -> {
+            error.printStackTrace();
+            status.setText("Loading failed: " + rootCause(error).getMessage());
+        });
+        // edits show at once and are saved in coalesced batches; the row is put back if saving fails
+        int writeBehindPending = Integer.parseInt(DatabaseConfig.getProperty("writebehind.max.pending", "0"));
+        if (writeBehindPending > 0) {
+            service.startWriteBehind(writeBehindPending,
+                    Long.parseLong(DatabaseConfig.getProperty("writebehind.flush.millis", "500")), TimeUnit.MILLISECONDS,
+                    failure -> Platform.runLater(() -> new Alert(Alert.AlertType.ERROR, "Saving employee "
+                            + failure.empID() + " failed: " + failure.message()).show()));
+        }
+        table.setPlaceholder(new Label("Loading employees..."));
+        service.addListener((events, external) -> {
+            pendingEvents.addAll(events);
+            if (eventsScheduled.compareAndSet(false, true)) {
+                Platform.runLater(this::applyEvents);
+            }
+        });
+        // fill the table once the cache is loaded (or has failed, then it reads from the DB)
+        service.whenReady().whenComplete((v, error) -> Platform.runLater(this::refreshTable));
 
-        // Search field
-        TextField searchField = new TextField();
+        // Search field: restart the delay on every keystroke, search once typing pauses
         searchField.setPromptText("Filter by name...");
-        searchField.textProperty().addListener((obs, oldVal, newVal) ->
-            data.setAll(service.searchByName(newVal))
-        );
+        searchDelay.setOnFinished(e -> search(searchField.getText()));
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
+            searchGeneration.incrementAndGet();   // stop a running search right away
+            searchDelay.playFromStart();
+        });
 
         // Buttons
         Button addBtn = new Button("Add");
@@ -64,12 +166,11 @@ public class EmployeeApp extends Application {
         delBtn.setOnAction(e -> {
             Employee sel = table.getSelectionModel().getSelectedItem();
             if (sel != null && confirm("Delete " + sel.getName() + "?")) {
-                service.delete(sel.getEmpID());
-                refreshTable();
+                write(async.delete(sel.getEmpID()), "Delete");
             }
         });
 
-        HBox toolbar = new HBox(10, addBtn, editBtn, delBtn);
+        HBox toolbar = new HBox(10, addBtn, editBtn, delBtn, status);
         toolbar.setPadding(new Insets(10));
 
         VBox root = new VBox(10, searchField, table, toolbar);
@@ -78,9 +179,172 @@ public class EmployeeApp extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        searchGeneration.incrementAndGet();
+        async.close();
+        service.stopWriteBehind();
+    }
+
+    /** Applies the queued change events to the lists behind the table. */
+    private void applyEvents() {
+        eventsScheduled.set(false);
+        List<EmployeeEvent> events = new ArrayList<>();
+        for (EmployeeEvent event; (event = pendingEvents.poll()) != null; ) {
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        allRows.apply(events);
+        if (table.getItems() == data) {
+            applyToMatches(events);
+        }
+    }
+
+    /** Keeps the search matches up to date without searching again, unless a bulk change leaves no choice. */
+    private void applyToMatches(List<EmployeeEvent> events) {
+        Predicate<CharSequence> matches = nameSearcher.matcher(shownPattern);
+        for (EmployeeEvent event : events) {
+            switch (event) {
+                case EmployeeEvent.Added added -> {
+                    if (matches(matches, added.employee())) {
+                        data.add(added.employee());
+                        matchPositions = null;
+                    }
+                }
+                case EmployeeEvent.Updated updated -> {
+                    Integer index = matchPositions().get(updated.employee().getEmpID());
+                    boolean match = matches(matches, updated.employee());
+                    if (index != null && match) {
+                        data.set(index, updated.employee());
+                    } else if (index != null) {
+                        data.remove((int) index);   // renamed out of the filter
+                        matchPositions = null;
+                    } else if (match) {
+                        data.add(updated.employee());
+                        matchPositions = null;
+                    }
+                }
+                case EmployeeEvent.Deleted deleted -> {
+                    Integer index = matchPositions().get(deleted.empID());
+                    if (index != null) {
+                        data.remove((int) index);
+                        matchPositions = null;
+                    }
+                }
+                case EmployeeEvent.Raised raised -> {
+                    refreshTable();   // salaries of unknown rows changed
+                    return;
+                }
+                case EmployeeEvent.Reloaded reloaded -> {
+                    refreshTable();
+                    return;
+                }
+            }
+        }
+        status.setText(data.size() + " employees");
+    }
+
+    private static boolean matches(Predicate<CharSequence> matcher, Employee employee) {
+        return employee.getName() != null && matcher.test(employee.getName());
+    }
+
+    private Map<Integer, Integer> matchPositions() {
+        if (matchPositions == null) {
+            matchPositions = new HashMap<>();
+            for (int i = 0; i < data.size(); i++) {
+                matchPositions.put(data.get(i).getEmpID(), i);
+            }
+        }
+        return matchPositions;
+    }
+
+    /** Re-runs the current filter now. */
     private void refreshTable() {
-        data.setAll(service.findAll());
-        table.setItems(data);
+        searchDelay.stop();
+        search(searchField.getText());
+    }
+
+    /**
+     * Shows the full table for an empty filter. Otherwise starts a background search and
+     * streams its matches into the table: the first batch replaces the rows shown, later
+     * ones are appended. Must run on the FX thread.
+     */
+    private void search(String pattern) {
+        long generation = searchGeneration.incrementAndGet();
+        if (pattern == null || pattern.isEmpty()) {
+            showItems(allRows);
+            allRows.refresh();
+            return;
+        }
+        BooleanSupplier stale = () -> searchGeneration.get() != generation;
+        shownPattern = pattern;
+        status.setText("Searching...");
+        CompletableFuture<Boolean> search = async.searchByName(pattern, stale,
+                batch -> Platform.runLater(() -> show(generation, batch)));
+        // queued behind the batches, so it runs after the last of them
+        search.whenComplete((completed, error) -> Platform.runLater(() -> {
+            if (stale.getAsBoolean()) {
+                return;
+            }
+            if (error != null) {
+                error.printStackTrace();
+                status.setText("Search failed: " + rootCause(error).getMessage());
+                return;
+            }
+            if (shownGeneration != generation) {
+                data.clear();   // nothing matched
+                shownGeneration = generation;
+                matchPositions = null;
+                showItems(data);
+            }
+            status.setText(data.size() + " employees");
+        }));
+    }
+
+    private void show(long generation, List<Employee> batch) {
+        if (searchGeneration.get() != generation) {
+            return;   // superseded while queued
+        }
+        if (shownGeneration != generation) {
+            data.setAll(batch);
+            shownGeneration = generation;
+            showItems(data);
+        } else {
+            data.addAll(batch);
+        }
+        matchPositions = null;
+        status.setText(data.size() + " employees so far...");
+    }
+
+    private void showItems(ObservableList<Employee> items) {
+        if (table.getItems() != items) {
+            table.setItems(items);
+            table.sort();   // apply the column order the user picked to the new items
+        }
+    }
+
+    /** Reports the outcome of a background write; the table follows through change events. */
+    private void write(CompletableFuture<?> write, String action) {
+        status.setText("Saving...");
+        write.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                error.printStackTrace();
+                new Alert(Alert.AlertType.ERROR, action + " failed: " + rootCause(error).getMessage()).show();
+            } else if (Boolean.FALSE.equals(result) || (result instanceof Integer id && id <= 0)) {
+                new Alert(Alert.AlertType.WARNING, action + " did not change any employee.").show();
+            } else {
+                status.setText(action + " saved");
+            }
+        }));
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        while (error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
     }
 
     private void showEmployeeDialog(Employee employee) {
@@ -119,7 +383,8 @@ public class EmployeeApp extends Application {
 
         dialog.setResultConverter(btn -> {
             if (btn == ButtonType.OK) {
-                Employee e = employee == null ? new Employee() : employee;
+                // edit a copy: the original is still on screen while the update runs
+                Employee e = employee == null ? new Employee() : new Employee(employee);
                 e.setName(nameField.getText());
                 e.setSSN(ssnField.getText());
                 e.setJobTitle(jobField.getText());
@@ -137,9 +402,8 @@ public class EmployeeApp extends Application {
 
         Optional<Employee> result = dialog.showAndWait();
         result.ifPresent(e -> {
-            if (employee == null) service.add(e);
-            else service.update(e);
-            refreshTable();
+            if (employee == null) write(async.add(e), "Add");
+            else write(async.update(e), "Update");
         });
     }
 
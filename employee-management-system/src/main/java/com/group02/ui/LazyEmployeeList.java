@@ -0,0 +1,288 @@
+// src/main/java/com/group02/ui/LazyEmployeeList.java
+package com.group02.ui;
+
+import com.group02.model.Employee;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.SortColumn;
+import com.group02.service.AsyncEmployeeService;
+import com.group02.service.EmployeeEvent;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Table items that are fetched a page at a time as the table scrolls to them.
+ * <p>
+ * A TableView only builds cells for the rows on screen and asks its items for just
+ * those, so this list holds a handful of pages of the current sort order and nothing
+ * else. {@link #get} of a row whose page is not in memory returns null (an empty row)
+ * and requests the page in the background; when it arrives the rows are reported as
+ * replaced and the table redraws them. The least recently used page is dropped once
+ * more than {@code maxPages} are held. Sorting is done by the service, see
+ * {@link #sort}; the list itself cannot be modified.
+ * </p>
+ * <p>
+ * Changes published by the service are applied through {@link #apply}: an edited row
+ * that is in memory is replaced in place, found through an empID index of the loaded
+ * rows; changes that move rows re-read the loaded pages once per batch.
+ * </p>
+ * <p>
+ * Must only be used on the FX thread.
+ * </p>
+ */
+public class LazyEmployeeList extends ObservableListBase<Employee> {
+    private final AsyncEmployeeService service;
+    private final int pageSize;
+    private final Map<Integer, List<Employee>> pages;
+    private final Map<Integer, Integer> positions = new HashMap<>();   // empID -> index, loaded rows only
+    private final Set<Integer> loading = new HashSet<>();
+    private Consumer<Throwable> onError = Throwable::printStackTrace;
+
+    private SortColumn column = SortColumn.EMP_ID;
+    private boolean ascending = true;
+    private int size;
+    private long generation;   // bumped by sort and refresh; older page loads are dropped
+
+    /**
+     * @param pageSize rows fetched per request
+     * @param maxPages pages kept in memory
+     */
+    public LazyEmployeeList(AsyncEmployeeService service, int pageSize, int maxPages) {
+        this.service = service;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Employee>> eldest) {
+                if (size() <= maxPages) {
+                    return false;
+                }
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /** @param onError called on the FX thread when a page cannot be loaded */
+    public void setOnError(Consumer<Throwable> onError) {
+        this.onError = onError;
+    }
+
+    /** @return the loaded employee at {@code index}, or null while its page is being fetched */
+    @Override
+    public Employee get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        int page = index / pageSize;
+        List<Employee> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            return null;
+        }
+        int i = index - page * pageSize;
+        return i < rows.size() ? rows.get(i) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Only searches the pages in memory, so that it never loads the whole table. */
+    @Override
+    public int indexOf(Object o) {
+        for (Map.Entry<Integer, List<Employee>> page : pages.entrySet()) {
+            int i = page.getValue().indexOf(o);
+            if (i >= 0) {
+                return page.getKey() * pageSize + i;
+            }
+        }
+        return -1;
+    }
+
+    /** Only searches the pages in memory, so that it never loads the whole table. */
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    /** Only searches the pages in memory, so that it never loads the whole table. */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Switches to a new order. Pages in memory are dropped and the rows they covered
+     * reported as replaced, so the table fetches what it now shows. Pages still being
+     * fetched are requested again in the new order, since the table has already asked
+     * for them and will not ask twice.
+     */
+    public void sort(SortColumn column, boolean ascending) {
+        if (column == this.column && ascending == this.ascending) {
+            return;
+        }
+        this.column = column;
+        this.ascending = ascending;
+        List<Integer> inFlight = restartLoads();
+        List<Map.Entry<Integer, List<Employee>>> dropped = new ArrayList<>(pages.entrySet());
+        pages.clear();
+        positions.clear();
+        beginChange();
+        for (Map.Entry<Integer, List<Employee>> page : dropped) {
+            replaced(page.getKey(), page.getValue());
+        }
+        endChange();
+        if (size == 0) {
+            load(0);
+        }
+        for (Integer page : inFlight) {
+            load(page);
+        }
+    }
+
+    /**
+     * Re-reads the pages in memory, e.g. after a write. Their current rows stay on
+     * screen until the fresh ones arrive, so the table does not flicker or lose its
+     * scroll position. Pages still being fetched are fetched again, as their answer
+     * may predate the write. The first call loads the first page and the row count.
+     */
+    public void refresh() {
+        List<Integer> inFlight = restartLoads();
+        if (pages.isEmpty()) {
+            load(0);
+        }
+        for (Integer page : new ArrayList<>(pages.keySet())) {
+            load(page);
+        }
+        for (Integer page : inFlight) {
+            load(page);
+        }
+    }
+
+    /**
+     * Applies one batch of change events. Updates to loaded rows that leave their sort
+     * key alone are shown in place; adds, deletes, raises, reloads and updates that
+     * change the sort key re-read the loaded pages, once for the whole batch.
+     */
+    public void apply(List<EmployeeEvent> events) {
+        boolean reread = false;
+        beginChange();
+        for (EmployeeEvent event : events) {
+            if (!(event instanceof EmployeeEvent.Updated updated)) {
+                reread = true;
+                continue;
+            }
+            Employee employee = updated.employee();
+            Integer index = positions.get(employee.getEmpID());
+            List<Employee> rows = index == null ? null : pages.get(index / pageSize);
+            if (rows == null) {
+                continue;   // not in memory; it is read fresh when scrolled to
+            }
+            int i = index % pageSize;
+            Employee old = rows.get(i);
+            if (column.comparator(true).compare(old, employee) != 0) {
+                reread = true;   // the row moves
+            } else {
+                rows.set(i, employee);
+                nextSet(index, old);
+            }
+        }
+        endChange();
+        if (reread) {
+            refresh();
+        }
+    }
+
+    /**
+     * Makes every outstanding page load stale, so its answer is dropped when it arrives.
+     * @return the pages that were being fetched, for the caller to request again
+     */
+    private List<Integer> restartLoads() {
+        generation++;
+        List<Integer> inFlight = new ArrayList<>(loading);
+        loading.clear();
+        return inFlight;
+    }
+
+    private void load(int page) {
+        if (!loading.add(page)) {
+            return;
+        }
+        long requested = generation;
+        service.findSlice(column, ascending, page * pageSize, pageSize)
+               .whenComplete((slice, error) -> Platform.runLater(() -> loaded(requested, page, slice, error)));
+    }
+
+    private void loaded(long requested, int page, EmployeeSlice slice, Throwable error) {
+        if (requested != generation) {
+            return;   // sorted or refreshed since; a newer request is on its way
+        }
+        loading.remove(page);
+        if (error != null) {
+            onError.accept(error);
+            return;
+        }
+        resize(slice.total());
+        List<Employee> rows = new ArrayList<>(slice.employees());
+        List<Employee> old = pages.put(page, rows);
+        if (old != null) {
+            unindex(page, old);
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            positions.put(rows.get(i).getEmpID(), page * pageSize + i);
+        }
+        beginChange();
+        replaced(page, old == null ? Collections.emptyList() : old);
+        endChange();
+    }
+
+    /** Reports the rows of a page as replaced; {@code old} holds what was there before. */
+    private void replaced(int page, List<Employee> old) {
+        int from = page * pageSize;
+        int to = Math.min(size, from + pageSize);
+        for (int i = from; i < to; i++) {
+            int j = i - from;
+            nextSet(i, j < old.size() ? old.get(j) : null);
+        }
+    }
+
+    /** Applies a changed row count; rows past the end are reported removed, new ones added. */
+    private void resize(int total) {
+        if (total == size) {
+            return;
+        }
+        int old = size;
+        size = total;
+        beginChange();
+        if (total > old) {
+            nextAdd(old, total);
+        } else {
+            nextRemove(total, Collections.nCopies(old - total, null));
+            pages.entrySet().removeIf(page -> {
+                boolean gone = page.getKey() * pageSize >= total;
+                if (gone) {
+                    unindex(page.getKey(), page.getValue());
+                }
+                return gone;
+            });
+        }
+        endChange();
+    }
+
+    /** Forgets the index entries of a dropped page, unless a newer page has taken them over. */
+    private void unindex(int page, List<Employee> rows) {
+        for (int i = 0; i < rows.size(); i++) {
+            positions.remove(rows.get(i).getEmpID(), page * pageSize + i);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+
+/*
+This file adds secondary indexes for name search, salary ranges and per-division / per-job-title queries.
+*/
+
+USE ${database_name};
+
+-- B-tree index for prefix searches (employeeName LIKE 'abc%')
+CREATE INDEX idx_employees_name ON employees (employeeName);
+
+-- Word searches (MATCH ... AGAINST), e.g. last names anywhere in employeeName
+CREATE FULLTEXT INDEX ft_employees_name ON employees (employeeName);
+
+-- Salary ranges for bulk raises and range queries
+CREATE INDEX idx_employees_salary ON employees (salary);
+
+-- Filters on division / job title; salary is included so payroll totals per group are index-only
+CREATE INDEX idx_employees_division ON employees (division, salary);
+CREATE INDEX idx_employees_job_title ON employees (jobTitle, salary);
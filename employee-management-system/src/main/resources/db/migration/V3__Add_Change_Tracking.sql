@@ -0,0 +1,25 @@
+
+/*
+This file adds change tracking so application caches can refresh incrementally.
+*/
+
+USE ${database_name};
+
+-- Set by MySQL on every insert and every update that changes a value, including
+-- writes made outside the application
+ALTER TABLE employees
+    ADD COLUMN lastModified TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_employees_last_modified ON employees (lastModified);
+
+-- Tombstones for deleted rows, so deletions can be picked up the same way
+CREATE TABLE IF NOT EXISTS employees_deleted (
+    empID INT NOT NULL PRIMARY KEY,
+    deletedAt TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    INDEX idx_employees_deleted_at (deletedAt)
+);
+
+CREATE TRIGGER trg_employees_deleted AFTER DELETE ON employees
+FOR EACH ROW
+    INSERT INTO employees_deleted (empID, deletedAt) VALUES (OLD.empID, CURRENT_TIMESTAMP(6))
+    ON DUPLICATE KEY UPDATE deletedAt = CURRENT_TIMESTAMP(6);
@@ -4,13 +4,16 @@ import org.junit.Test;
 import static org.junit.Assert.*;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.BeforeClass;
 import org.junit.After;
 import org.junit.AfterClass;
 
+import com.group02.repository.BatchInsertResult;
 import com.group02.repository.EmployeeManager;
+import com.group02.repository.NameMatch;
 import com.group02.config.DatabaseConfig;
 import com.group02.model.Employee;
 import java.sql.Connection;
@@ -129,4 +132,70 @@ public class AppTest {
                 .anyMatch(e -> e.getEmpID() == empID);
         assertFalse(stillExists);
     }
+
+    @Test
+    public void testBatchInsertReportsFailedRows() {
+        List<Employee> batch = List.of(
+                new Employee("Batch One", "333444555", "Analyst", "Finance", 60000, "FullTime"),
+                new Employee("Batch Dup", "333444555", "Analyst", "Finance", 60000, "FullTime"),
+                new Employee("Batch Two", "444555666", "Engineer", "IT", 70000, "FullTime"));
+
+        BatchInsertResult result = employeeManager.addEmployees(batch, 2);
+
+        assertEquals(2, result.getInsertedCount());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).index());
+        assertTrue(result.getGeneratedId(0) > 0);
+        assertEquals(-1, result.getGeneratedId(1));
+        assertEquals(result.getGeneratedId(2), batch.get(2).getEmpID());
+    }
+
+    @Test
+    public void testUpsertBySSNUpdatesExistingRows() {
+        Employee existing = new Employee("Upsert Old", "666777888", "Clerk", "Ops", 30000, "FullTime");
+        int empID = employeeManager.addEmployee(existing);
+
+        List<BatchInsertResult.Failure> failures = employeeManager.upsertBySSN(List.of(
+                new Employee("Upsert New", "666777888", "Manager", "Sales", 45000, "PartTime"),
+                new Employee("Upsert Added", "777888999", "Clerk", "Ops", 31000, "FullTime")));
+
+        assertTrue(failures.isEmpty());
+        Employee updated = employeeManager.searchBySSN("666777888").orElseThrow();
+        assertEquals(empID, updated.getEmpID());
+        assertEquals("Upsert New", updated.getName());
+        assertEquals("Sales", updated.getDivision());
+        assertEquals("Manager", updated.getJobTitle());
+        assertEquals(45000, updated.getSalary(), 0.001);
+        assertEquals("PartTime", updated.getPayInfo());
+        assertTrue(employeeManager.searchBySSN("777888999").isPresent());
+    }
+
+    @Test
+    public void testKeysetPaginationAndStreaming() {
+        for (int i = 0; i < 5; i++) {
+            employeeManager.addEmployee(new Employee("Page " + i, "55566677" + i, "Clerk", "Ops", 30000, "FullTime"));
+        }
+
+        List<Employee> first = employeeManager.findPage(0, 3);
+        List<Employee> second = employeeManager.findPage(first.get(2).getEmpID(), 3);
+        assertEquals(3, first.size());
+        assertEquals(2, second.size());
+        assertTrue(first.get(2).getEmpID() < second.get(0).getEmpID());
+
+        List<Employee> streamed = new ArrayList<>();
+        employeeManager.streamAll(streamed::add);
+        assertEquals(5, streamed.size());
+    }
+
+    @Test
+    public void testIndexedNameSearch() {
+        employeeManager.addEmployee(new Employee("Alice Smith", "666777888", "Clerk", "Ops", 30000, "FullTime"));
+        employeeManager.addEmployee(new Employee("Bob Smithers", "666777889", "Clerk", "Ops", 30000, "FullTime"));
+        employeeManager.addEmployee(new Employee("Al_ Percent%", "666777890", "Clerk", "Ops", 30000, "FullTime"));
+
+        assertEquals(1, employeeManager.searchByName("^Ali").size());
+        assertEquals(2, employeeManager.searchByName("Smith").size());
+        assertEquals(1, employeeManager.searchByName("Al_", NameMatch.PREFIX).size());
+        assertEquals(2, employeeManager.searchByName("^A.*(Smith|%)$", NameMatch.REGEXP).size());
+    }
 }
@@ -0,0 +1,139 @@
+package com.group02.bulk;
+
+import com.group02.model.Employee;
+import com.group02.repository.EmployeeManager;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * The three export formats and SSN masking, against a DAO that streams rows from a
+ * list and applies the filter the way the SQL would.
+ */
+public class EmployeeExporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static class ListManager extends EmployeeManager {
+        final List<Employee> rows = new ArrayList<>();
+        boolean closed;
+
+        @Override
+        public Stream<Employee> streamMatching(String division, Double minSalary, Double maxSalary) {
+            return rows.stream()
+                       .filter(e -> division == null || division.equals(e.getDivision()))
+                       .filter(e -> minSalary == null || e.getSalary() >= minSalary)
+                       .filter(e -> maxSalary == null || e.getSalary() <= maxSalary)
+                       .onClose(() -> closed = true);
+        }
+    }
+
+    private static Employee employee(int id, String name, String ssn, String division, double salary) {
+        Employee e = new Employee(name, ssn, "Dev", division, salary, null);
+        e.setEmpID(id);
+        return e;
+    }
+
+    private ListManager sample() {
+        ListManager dao = new ListManager();
+        dao.rows.add(employee(1, "Smith, \"Jo\"", "123456789", "Eng", 10_000_000));
+        dao.rows.add(employee(2, "Line\nBreak", "987654321", "Sales", 55_000.5));
+        dao.rows.add(employee(3, "Zoë", "111223333", "Eng", 42_000));
+        return dao;
+    }
+
+    @Test
+    public void testCsvReadsBackAndMasks() throws IOException {
+        ListManager dao = sample();
+        Path file = folder.getRoot().toPath().resolve("out.csv");
+        ExportStats stats = new EmployeeExporter(dao).export(file, ExportFormat.CSV, ExportFilter.ALL, true);
+
+        assertEquals(3, stats.rows());
+        assertEquals(Files.size(file), stats.bytes());
+        assertTrue(dao.closed);
+        assertFalse(Files.exists(file.resolveSibling("out.csv.tmp")));
+        CsvReader reader = new CsvReader(new StringReader(Files.readString(file)));
+        assertEquals(List.of("empID", "name", "SSN", "jobTitle", "division", "salary", "payInfo"), reader.next());
+        assertEquals(List.of("1", "Smith, \"Jo\"", "*****6789", "Dev", "Eng", "10000000.00", ""), reader.next());
+        assertEquals(List.of("2", "Line\nBreak", "*****4321", "Dev", "Sales", "55000.50", ""), reader.next());
+        assertEquals("Zoë", reader.next().get(1));
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testFileIsOwnerOnly() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("out.csv");
+        Assume.assumeTrue(file.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        // neither a leftover temp file nor the file being replaced may pass its mode on
+        Files.createFile(file.resolveSibling("out.csv.tmp"),
+                         PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-r--r--")));
+        Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-r--r--")));
+
+        new EmployeeExporter(sample()).export(file, ExportFormat.CSV, ExportFilter.ALL, true);
+
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        assertFalse(Files.exists(file.resolveSibling("out.csv.tmp")));
+    }
+
+    @Test
+    public void testJsonLinesWithFilter() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("out.jsonl");
+        new EmployeeExporter(sample()).export(file, ExportFormat.JSON_LINES, new ExportFilter("Eng", 50_000.0, null), false);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(List.of("{\"empID\":1,\"name\":\"Smith, \\\"Jo\\\"\",\"SSN\":\"123456789\",\"jobTitle\":\"Dev\","
+                             + "\"division\":\"Eng\",\"salary\":10000000.00,\"payInfo\":null}"), lines);
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        ListManager dao = new ListManager();
+        // enough rows to fill the sink's buffer several times
+        IntStream.rangeClosed(1, 5_000).forEach(i -> dao.rows.add(
+                employee(i, "Employee " + i, String.format("%09d", i), i % 2 == 0 ? null : "Eng", 40_000 + i)));
+        Path file = folder.getRoot().toPath().resolve("out.bin");
+        ExportStats stats = new EmployeeExporter(dao).export(file, ExportFormat.BINARY, ExportFilter.ALL, false);
+        assertTrue(stats.bytes() > ChannelSink.BUFFER_BYTES * 3);
+
+        List<Employee> read = new ArrayList<>();
+        assertEquals(5_000, EmployeeExporter.readBinary(file, read::add));
+        Employee last = read.get(4_999);
+        assertEquals(5_000, last.getEmpID());
+        assertEquals("Employee 5000", last.getName());
+        assertEquals("000005000", last.getSSN());
+        assertNull(last.getDivision());
+        assertNull(last.getPayInfo());
+        assertEquals(45_000, last.getSalary(), 0);
+        assertEquals("Eng", read.get(0).getDivision());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedBinaryFails() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("out.bin");
+        new EmployeeExporter(sample()).export(file, ExportFormat.BINARY, ExportFilter.ALL, false);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 20));
+        EmployeeExporter.readBinary(file, e -> { });
+    }
+
+    @Test
+    public void testMask() {
+        assertEquals("*****6789", EmployeeExporter.mask("123456789"));
+        assertEquals("123", EmployeeExporter.mask("123"));
+        assertNull(EmployeeExporter.mask(null));
+    }
+}
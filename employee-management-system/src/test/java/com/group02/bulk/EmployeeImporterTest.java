@@ -0,0 +1,160 @@
+package com.group02.bulk;
+
+import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeManager;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * CSV parsing, row validation and the reject file, against a DAO that records the
+ * batches it is given instead of writing them.
+ */
+public class EmployeeImporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Keeps upserted rows; refuses SSN 999999999 like a database constraint would. */
+    private static class RecordingManager extends EmployeeManager {
+        final List<List<Employee>> batches = new ArrayList<>();
+
+        @Override
+        public synchronized List<BatchInsertResult.Failure> upsertBySSN(List<Employee> employees) {
+            batches.add(employees);
+            List<BatchInsertResult.Failure> failures = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                if (employees.get(i).getSSN().equals("999999999")) {
+                    failures.add(new BatchInsertResult.Failure(i, "refused"));
+                }
+            }
+            return failures;
+        }
+
+        List<Employee> rows() {
+            return batches.stream().flatMap(List::stream).toList();
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = folder.getRoot().toPath().resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void testCsvQuotingAndLineEndings() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "a,\"b,c\",\"say \"\"hi\"\"\"\r\n\"two\nlines\",,x\rlast"));
+
+        assertEquals(List.of("a", "b,c", "say \"hi\""), reader.next());
+        assertEquals(1, reader.recordLine());
+        assertEquals(List.of("two\nlines", "", "x"), reader.next());
+        assertEquals(2, reader.recordLine());
+        assertEquals(List.of("last"), reader.next());
+        assertEquals(4, reader.recordLine());
+        assertNull(reader.next());
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnclosedQuoteFails() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,\"never closed\nb,c\n"));
+        reader.next();
+    }
+
+    @Test
+    public void testEscapeRoundTrips() throws IOException {
+        List<String> fields = List.of("plain", "with,comma", "with \"quote\"", "multi\nline", "");
+        CsvReader reader = new CsvReader(new StringReader(Csv.join(fields) + "\n"));
+        assertEquals(fields, reader.next());
+    }
+
+    @Test
+    public void testValidRowsAreUpsertedInChunks() throws IOException {
+        StringBuilder csv = new StringBuilder("Division,SALARY,Employee Name,ssn\n");
+        for (int i = 1; i <= 25; i++) {
+            csv.append("Eng,").append(50_000 + i).append(",Emp ").append(i).append(',')
+               .append(String.format("%03d-45-%04d", i, i)).append('\n');
+        }
+        RecordingManager dao = new RecordingManager();
+        ImportStats stats = new EmployeeImporter(dao, null, 10, 0, 1_000_000)
+                .importCsv(write("in.csv", csv.toString()), folder.getRoot().toPath().resolve("rejects.csv"), null);
+
+        assertEquals(25, stats.rowsRead());
+        assertEquals(25, stats.imported());
+        assertEquals(0, stats.rejected());
+        assertEquals(3, dao.batches.size());
+        Employee first = dao.rows().get(0);
+        assertEquals("Emp 1", first.getName());
+        assertEquals("001450001", first.getSSN());
+        assertEquals("Eng", first.getDivision());
+        assertNull(first.getJobTitle());
+        assertEquals(50_001, first.getSalary(), 0);
+    }
+
+    @Test
+    public void testInvalidRowsGoToRejectFile() throws IOException {
+        Path csv = write("in.csv", "name,SSN,salary,jobTitle\n"
+                + "Good,111111111,\"$60,000.50\",Dev\n"
+                + ",222222222,50000,Dev\n"
+                + "Bad SSN,12345,50000,Dev\n"
+                + "Too Rich,333333333,5000000,Dev\n"
+                + "Not Paid,444444444,lots,Dev\n"
+                + "Short,555555555\n"
+                + "\n"
+                + "Twin,111-11-1111,50000,Dev\n"
+                + "Refused,999999999,50000,Dev\n");
+        Path rejects = folder.getRoot().toPath().resolve("rejects.csv");
+        RecordingManager dao = new RecordingManager();
+        ImportStats stats = new EmployeeImporter(dao, null, 4, 0, 1_000_000).importCsv(csv, rejects, null);
+
+        assertEquals(8, stats.rowsRead());
+        assertEquals(1, stats.imported());
+        assertEquals(7, stats.rejected());
+        assertEquals(60_000.50, dao.rows().get(0).getSalary(), 0);
+
+        List<String> lines = Files.readAllLines(rejects);
+        assertEquals("line,reason,name,SSN,salary,jobTitle", lines.get(0));
+        assertEquals(8, lines.size());
+        assertTrue(lines.get(1).startsWith("3,Name is missing,"));
+        assertTrue(lines.get(2).startsWith("4,\"SSN must be 9 digits"));
+        assertTrue(lines.get(3).startsWith("5,Salary must be between"));
+        assertTrue(lines.get(4).startsWith("6,Salary is not a number"));
+        assertTrue(lines.get(5).startsWith("7,\"Expected 4 fields, found 2\""));
+        assertEquals("9,SSN appears earlier in the file,Twin,111-11-1111,50000,Dev", lines.get(6));
+        assertEquals("10,refused,Refused,999999999,50000,Dev", lines.get(7));
+    }
+
+    @Test
+    public void testMissingRequiredColumnFails() throws IOException {
+        Path csv = write("in.csv", "name,salary\nA,1\n");
+        RecordingManager dao = new RecordingManager();
+        try {
+            new EmployeeImporter(dao, null).importCsv(csv, folder.getRoot().toPath().resolve("rejects.csv"), null);
+            fail("expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("SSN"));
+        }
+        assertTrue(dao.batches.isEmpty());
+    }
+
+    @Test
+    public void testSsnSetGrows() {
+        EmployeeImporter.IntHashSet set = new EmployeeImporter.IntHashSet();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.add(i * 7919));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(set.add(i * 7919));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.group02.cache;
+
+import com.group02.model.Employee;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CacheSnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static CacheSnapshot sample() {
+        List<Employee> rows = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            Employee e = new Employee("Name " + i, String.format("%09d", i), "Developer", "Engineering",
+                                      40_000 + i * 0.25, "FullTime");
+            e.setEmpID(i);
+            rows.add(e);
+        }
+        Employee odd = new Employee("Zoë Ñúñez 山田", "999999999", null, "", 0, null);
+        odd.setEmpID(1_000);
+        rows.add(odd);
+        Timestamp mark = new Timestamp(1_700_000_000_123L);
+        mark.setNanos(123_456_789);
+        return new CacheSnapshot(rows, mark);
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            int b = raf.read();
+            raf.seek(position);
+            raf.write(b ^ 0x01);
+        }
+    }
+
+    @Test
+    public void testFileIsOwnerOnly() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cache.snapshot");
+        Assume.assumeTrue(file.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        // a world-readable leftover from a crashed write must not pass its mode on
+        Path tmp = file.resolveSibling("cache.snapshot.tmp");
+        Files.createFile(tmp, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-r--r--")));
+
+        sample().write(file);
+
+        assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        assertFalse(Files.exists(tmp));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cache.snapshot");
+        CacheSnapshot written = sample();
+        written.write(file);
+
+        CacheSnapshot read = CacheSnapshot.read(file);
+        assertEquals(written.highWater(), read.highWater());
+        assertEquals(written.rows().size(), read.rows().size());
+        for (int i = 0; i < written.rows().size(); i++) {
+            Employee a = written.rows().get(i), b = read.rows().get(i);
+            assertEquals(a.getEmpID(), b.getEmpID());
+            assertEquals(a.getName(), b.getName());
+            assertEquals(a.getSSN(), b.getSSN());
+            assertEquals(a.getJobTitle(), b.getJobTitle());
+            assertEquals(a.getDivision(), b.getDivision());
+            assertEquals(a.getSalary(), b.getSalary(), 0.0);
+            assertEquals(a.getPayInfo(), b.getPayInfo());
+        }
+        assertFalse("temporary file is renamed away", Files.exists(file.resolveSibling("cache.snapshot.tmp")));
+    }
+
+    @Test
+    public void testCorruptPayloadIsRejected() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cache.snapshot");
+        sample().write(file);
+        flipByte(file, Files.size(file) / 2);
+        try {
+            CacheSnapshot.read(file);
+            fail("corrupt snapshot was accepted");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("checksum"));
+        }
+    }
+
+    @Test
+    public void testCorruptHighWaterMarkIsRejected() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cache.snapshot");
+        sample().write(file);
+        flipByte(file, 12);   // inside the high-water mark
+        try {
+            CacheSnapshot.read(file);
+            fail("corrupt header was accepted");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("checksum"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testOtherVersionIsRejected() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cache.snapshot");
+        sample().write(file);
+        flipByte(file, 7);   // low byte of the format version
+        CacheSnapshot.read(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedFileIsRejected() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("cache.snapshot");
+        sample().write(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 10);
+        }
+        CacheSnapshot.read(file);
+    }
+}
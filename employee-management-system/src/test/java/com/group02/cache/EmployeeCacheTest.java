@@ -0,0 +1,423 @@
+package com.group02.cache;
+
+import com.group02.model.Employee;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import com.group02.repository.SortColumn;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EmployeeCacheTest {
+
+    private static Employee employee(int id, String ssn, double salary) {
+        Employee e = new Employee("Name " + id, ssn, "Developer", "Engineering", salary, "FullTime");
+        e.setEmpID(id);
+        return e;
+    }
+
+    @Test
+    public void testPutGetAndSSNIndex() {
+        EmployeeCache cache = new EmployeeCache();
+        cache.put(employee(7, "111111111", 50000));
+
+        assertEquals("Name 7", cache.get(7).get().getName());
+        assertEquals(7, cache.getBySSN("111111111").get().getEmpID());
+        assertFalse(cache.get(8).isPresent());
+    }
+
+    @Test
+    public void testReturnedCopiesDoNotLeakIntoCache() {
+        EmployeeCache cache = new EmployeeCache();
+        cache.put(employee(1, "111111111", 50000));
+
+        Employee copy = cache.get(1).get();
+        copy.setSSN("999999999");
+
+        assertTrue(cache.getBySSN("111111111").isPresent());
+        assertFalse(cache.getBySSN("999999999").isPresent());
+    }
+
+    @Test
+    public void testReplaceReindexesSSN() {
+        EmployeeCache cache = new EmployeeCache();
+        cache.put(employee(1, "111111111", 50000));
+        cache.put(employee(1, "222222222", 50000));
+
+        assertEquals(1, cache.size());
+        assertFalse(cache.getBySSN("111111111").isPresent());
+        assertEquals(1, cache.getBySSN("222222222").get().getEmpID());
+    }
+
+    @Test
+    public void testGrowthAndCompactionKeepInsertionOrder() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int id = 1; id <= 10_000; id++) {
+            cache.put(employee(id, String.format("%09d", id), id));
+        }
+        for (int id = 1; id <= 10_000; id += 2) {
+            assertTrue(cache.remove(id));
+        }
+        assertFalse(cache.remove(1));
+        for (int id = 10_001; id <= 20_000; id++) {
+            cache.put(employee(id, String.format("%09d", id), id));
+        }
+
+        assertEquals(15_000, cache.size());
+        assertFalse(cache.get(1).isPresent());
+        assertFalse(cache.getBySSN("000000001").isPresent());
+        assertEquals(2, cache.getBySSN("000000002").get().getEmpID());
+
+        List<Employee> values = cache.values();
+        List<Integer> ids = new ArrayList<>();
+        values.forEach(e -> ids.add(e.getEmpID()));
+        assertEquals(Integer.valueOf(2), ids.get(0));
+        assertEquals(Integer.valueOf(20_000), ids.get(ids.size() - 1));
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+    }
+
+    @Test
+    public void testRaiseSalariesTouchesEachMatchOnce() {
+        EmployeeCache cache = new EmployeeCache();
+        cache.put(employee(1, "111111111", 40000));
+        cache.put(employee(2, "222222222", 50000));
+        cache.put(employee(3, "333333333", 80000));
+
+        // 50000 * 1.1 = 55000 lands back in range but must not be raised again
+        int changed = cache.raiseSalaries(0, 60000, s -> s * 1.1);
+
+        assertEquals(2, changed);
+        assertEquals(44000, cache.get(1).get().getSalary(), 0.01);
+        assertEquals(55000, cache.get(2).get().getSalary(), 0.01);
+        assertEquals(80000, cache.get(3).get().getSalary(), 0.01);
+        assertEquals(2, cache.countBySalaryRange(40000, 60000));
+    }
+
+    @Test
+    public void testSalaryRangeQueriesFollowUpdatesAndDeletes() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int id = 1; id <= 100; id++) {
+            cache.put(employee(id, String.format("%09d", id), 1000 * id));
+        }
+        cache.remove(10);
+        cache.put(employee(20, String.format("%09d", 20), 500));
+        cache.updateSalary(30, 15500);
+
+        List<Employee> range = cache.findBySalaryRange(10_000, 20_000);
+
+        // 11k..19k, 30 moved to 15.5k, 10 deleted, 20 moved out
+        assertEquals(10, range.size());
+        assertEquals(10, cache.countBySalaryRange(10_000, 20_000));
+        assertEquals(11_000 + 12_000 + 13_000 + 14_000 + 15_000 + 15_500 + 16_000 + 17_000 + 18_000 + 19_000,
+                     cache.sumBySalaryRange(10_000, 20_000), 0.01);
+        for (int i = 1; i < range.size(); i++) {
+            assertTrue(range.get(i - 1).getSalary() <= range.get(i).getSalary());
+        }
+        assertEquals(0, cache.countBySalaryRange(2, 1));
+    }
+
+    @Test
+    public void testKeysetPageSkipsDeletedRows() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int id = 1; id <= 10; id++) {
+            cache.put(employee(id, String.format("%09d", id), id));
+        }
+        cache.remove(4);
+
+        List<Employee> page = cache.page(2, 3);
+
+        assertTrue(cache.isSorted());
+        assertEquals(3, page.size());
+        assertEquals(3, page.get(0).getEmpID());
+        assertEquals(5, page.get(1).getEmpID());
+        assertEquals(6, page.get(2).getEmpID());
+        assertTrue(cache.page(10, 5).isEmpty());
+    }
+
+    @Test
+    public void testOutOfOrderInsertDisablesPaging() {
+        EmployeeCache cache = new EmployeeCache();
+        cache.put(employee(5, "555555555", 1));
+        cache.put(employee(3, "333333333", 1));
+
+        assertFalse(cache.isSorted());
+    }
+
+    @Test
+    public void testColumnsRoundTripNullsAndNonAsciiText() {
+        EmployeeCache cache = new EmployeeCache();
+        Employee e = new Employee("Zoë Ångström", null, null, "Légal", 1234.56, null);
+        e.setEmpID(5);
+        cache.put(e);
+
+        Employee back = cache.get(5).get();
+        assertEquals("Zoë Ångström", back.getName());
+        assertNull(back.getSSN());
+        assertNull(back.getJobTitle());
+        assertEquals("Légal", back.getDivision());
+        assertEquals(1234.56, back.getSalary(), 0);
+        assertNull(back.getPayInfo());
+        assertEquals(1, cache.filterByName(name -> name.toString().startsWith("Zoë"), false).size());
+    }
+
+    @Test
+    public void testRepeatedRenamesAndSSNChangesStayConsistent() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 1; i <= 100; i++) {
+            cache.put(employee(i, String.valueOf(100_000_000 + i), 1000));
+        }
+        // churn the packed text columns and SSN table well past their initial size
+        for (int round = 0; round < 50; round++) {
+            for (int i = 1; i <= 100; i++) {
+                Employee e = employee(i, "r" + round + "-" + i, 1000);
+                e.setName("Renamed " + round + " " + i);
+                cache.put(e);
+            }
+        }
+
+        assertEquals(100, cache.size());
+        assertFalse(cache.getBySSN("100000007").isPresent());
+        assertFalse(cache.getBySSN("r48-7").isPresent());
+        assertEquals(7, cache.getBySSN("r49-7").get().getEmpID());
+        assertEquals("Renamed 49 7", cache.get(7).get().getName());
+    }
+
+    @Test
+    public void testReadsReuseNamesUntilTheRowIsWritten() {
+        EmployeeCache cache = new EmployeeCache();
+        cache.put(employee(1, "111111111", 1000));
+
+        String name = cache.get(1).get().getName();
+        assertSame(name, cache.values().get(0).getName());
+
+        Employee renamed = employee(1, "111111111", 1000);
+        renamed.setName("Name 2");
+        cache.put(renamed);
+        assertEquals("Name 2", cache.get(1).get().getName());
+        assertEquals("111111111", cache.get(1).get().getSSN());
+    }
+
+    @Test
+    public void testFilterByNameContaining() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 1; i <= 12; i++) {
+            cache.put(employee(i, String.valueOf(100_000_000 + i), 1000));
+        }
+        Employee accented = new Employee("Zoë 1", null, null, null, 1000, null);
+        accented.setEmpID(13);
+        cache.put(accented);
+
+        assertEquals(List.of(1, 10, 11, 12, 13),
+                     cache.filterByNameContaining("1", false).stream().map(Employee::getEmpID).toList());
+        assertEquals(List.of(13),
+                     cache.filterByNameContaining("ë", false).stream().map(Employee::getEmpID).toList());
+        assertTrue(cache.filterByNameContaining("Name 13", false).isEmpty());
+        assertEquals(13, cache.filterByNameContaining("", false).size());
+    }
+
+    @Test
+    public void testFilterByDictionaryColumns() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 1; i <= 30; i++) {
+            Employee e = employee(i, String.valueOf(100_000_000 + i), 1000);
+            e.setDivision(i % 3 == 0 ? "Legal" : "Engineering");
+            e.setJobTitle(i % 10 == 0 ? null : "Developer");
+            cache.put(e);
+        }
+        cache.remove(3);
+
+        List<Employee> legal = cache.filterByDivision("Legal");
+        assertEquals(9, legal.size());
+        assertEquals(6, legal.get(0).getEmpID());
+        assertEquals(cache.filter(e -> "Legal".equals(e.getDivision())).size(), legal.size());
+        assertEquals(3, cache.filterByJobTitle(null).size());
+        assertTrue(cache.filterByDivision("Unknown").isEmpty());
+    }
+
+    @Test
+    public void testPayrollByGroupUsesNearestRankPercentiles() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 1; i <= 10; i++) {
+            Employee e = employee(i, String.valueOf(100_000_000 + i), i * 1000);
+            e.setDivision(i <= 8 ? "Engineering" : null);
+            cache.put(e);
+        }
+        cache.remove(1);
+
+        List<PayrollStats> stats = cache.payrollBy(PayrollGrouping.DIVISION, false);
+        assertEquals(2, stats.size());
+        assertNull(stats.get(0).group());
+        assertEquals(2, stats.get(0).count());
+        PayrollStats engineering = stats.get(1);
+        assertEquals("Engineering", engineering.group());
+        assertEquals(7, engineering.count());
+        assertEquals(35_000, engineering.sum(), 0);
+        assertEquals(5_000, engineering.average(), 0);
+        assertEquals(2_000, engineering.min(), 0);
+        assertEquals(8_000, engineering.max(), 0);
+        // salaries 2000..8000: rank ceil(0.5 * 7) = 4, ceil(0.9 * 7) = 7
+        assertEquals(5_000, engineering.p50(), 0);
+        assertEquals(8_000, engineering.p90(), 0);
+        assertEquals(8_000, engineering.p99(), 0);
+    }
+
+    @Test
+    public void testLoadAllStartsFreshDictionaries() {
+        EmployeeCache cache = new EmployeeCache();
+        Employee sales = employee(1, "111111111", 1000);
+        sales.setDivision("Sales");
+        Employee legal = employee(2, "222222222", 2000);
+        legal.setDivision("Legal");
+        cache.loadAll(List.of(sales, legal));
+
+        Employee reloaded = employee(3, "333333333", 3000);
+        reloaded.setDivision("Legal");
+        cache.loadAll(List.of(reloaded));
+
+        assertTrue(cache.filterByDivision("Sales").isEmpty());
+        assertEquals(3, cache.filterByDivision("Legal").get(0).getEmpID());
+        List<PayrollStats> stats = cache.payrollBy(PayrollGrouping.DIVISION, false);
+        assertEquals(1, stats.size());
+        assertEquals("Legal", stats.get(0).group());
+        assertEquals(1, cache.payrollSummaryBy(PayrollGrouping.DIVISION).size());
+    }
+
+    @Test
+    public void testParallelPayrollMatchesSequential() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 1; i <= 100_000; i++) {
+            Employee e = employee(i, String.valueOf(100_000_000 + i), 30_000 + (i * 7919) % 90_000);
+            e.setJobTitle("Title " + i % 13);
+            cache.put(e);
+        }
+        assertEquals(cache.payrollBy(PayrollGrouping.JOB_TITLE, false),
+                     cache.payrollBy(PayrollGrouping.JOB_TITLE, true));
+    }
+
+    @Test
+    public void testRunningPayrollTotalsFollowEveryWrite() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 1; i <= 20; i++) {
+            Employee e = employee(i, String.valueOf(100_000_000 + i), i * 5_000);
+            e.setDivision(i % 2 == 0 ? "Even" : "Odd");
+            cache.put(e);
+        }
+        Employee moved = employee(2, "100000002", 42_000);
+        moved.setDivision("Odd");
+        cache.put(moved);
+        cache.remove(3);
+        cache.updateSalary(4, 21_000);
+        cache.compareAndSetSalary(6, 30_000, 31_000);
+        cache.raiseSalaries(90_000, 100_000, s -> s * 1.1);
+
+        PayrollSummary odd = cache.payrollSummary(PayrollGrouping.DIVISION, "Odd");
+        List<Employee> oddRows = cache.filterByDivision("Odd");
+        assertEquals(oddRows.size(), odd.headcount());
+        assertEquals(oddRows.stream().mapToDouble(Employee::getSalary).sum(), odd.total(), 0.001);
+        assertEquals(2, odd.histogram()[4]);   // 42,000 and 45,000
+        assertEquals(0, cache.payrollSummary(PayrollGrouping.DIVISION, "None").headcount());
+
+        List<PayrollSummary> byDivision = cache.payrollSummaryBy(PayrollGrouping.DIVISION);
+        assertEquals(List.of("Even", "Odd"), byDivision.stream().map(PayrollSummary::group).toList());
+        List<Employee> evenRows = cache.filterByDivision("Even");
+        double evenTotal = evenRows.stream().mapToDouble(Employee::getSalary).sum();
+        assertEquals(evenTotal, byDivision.get(0).total(), 0.001);
+        for (Employee e : evenRows) {
+            assertTrue(byDivision.get(0).histogram()[PayrollSummary.bucketOf(e.getSalary())] > 0);
+        }
+        assertEquals(19, cache.payrollSummary(PayrollGrouping.JOB_TITLE, "Developer").headcount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testFilterPredicateSeesReadOnlyRows() {
+        EmployeeCache cache = new EmployeeCache();
+        cache.put(employee(1, "111111111", 50000));
+
+        cache.filter(e -> {
+            e.setSalary(0);
+            return true;
+        });
+    }
+
+    @Test
+    public void testSliceFollowsColumnOrder() {
+        EmployeeCache cache = new EmployeeCache();
+        String[] names = {"carol", "Alice", null, "bob", "alice"};
+        String[] divisions = {"Sales", "engineering", "Sales", null, "Legal"};
+        for (int i = 0; i < 50; i++) {
+            // inserted out of ID order, with repeated salaries and names
+            Employee e = employee(1000 - i * 7, String.format("%09d", i), 40000 + (i % 5) * 1000);
+            e.setName(names[i % names.length]);
+            e.setDivision(divisions[i % divisions.length]);
+            cache.put(e);
+        }
+        cache.remove(1000);
+
+        for (SortColumn column : SortColumn.values()) {
+            for (boolean ascending : new boolean[] {true, false}) {
+                List<Employee> expected = new ArrayList<>(cache.values());
+                expected.sort(column.comparator(ascending));
+                List<Employee> sliced = new ArrayList<>();
+                for (int offset = 0; offset < 49; offset += 10) {
+                    EmployeeSlice slice = cache.slice(column, ascending, offset, 10);
+                    assertEquals(49, slice.total());
+                    assertEquals(offset, slice.offset());
+                    sliced.addAll(slice.employees());
+                }
+                assertEquals(49, sliced.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(column + " " + ascending + " @" + i,
+                                 expected.get(i).getEmpID(), sliced.get(i).getEmpID());
+                }
+            }
+        }
+        assertTrue(cache.slice(SortColumn.NAME, true, 100, 10).employees().isEmpty());
+    }
+
+    @Test
+    public void testSliceSeesWrites() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 1; i <= 10; i++) {
+            cache.put(employee(i, String.format("%09d", i), i * 1000));
+        }
+        assertEquals(10, cache.slice(SortColumn.SALARY, false, 0, 1).employees().get(0).getEmpID());
+
+        cache.updateSalary(3, 99_000);
+        cache.remove(10);
+
+        EmployeeSlice top = cache.slice(SortColumn.SALARY, false, 0, 2);
+        assertEquals(9, top.total());
+        assertEquals(3, top.employees().get(0).getEmpID());
+        assertEquals(9, top.employees().get(1).getEmpID());
+    }
+
+    @Test
+    public void testSliceFollowsEditsOfItsColumnOnly() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 1; i <= 10; i++) {
+            cache.put(employee(i, String.format("%09d", i), i * 1000));
+        }
+        assertEquals(1, cache.slice(SortColumn.NAME, true, 0, 1).employees().get(0).getEmpID());
+
+        // a refresh re-putting the same rows and an edit of another column keep the order
+        for (Employee e : cache.values()) {
+            cache.put(e);
+        }
+        cache.updateSalary(5, 1);
+        assertEquals(1, cache.slice(SortColumn.NAME, true, 0, 1).employees().get(0).getEmpID());
+
+        Employee renamed = employee(7, String.format("%09d", 7), 7000);
+        renamed.setName("Aaron");
+        cache.put(renamed);
+        EmployeeSlice first = cache.slice(SortColumn.NAME, true, 0, 2);
+        assertEquals(7, first.employees().get(0).getEmpID());
+        assertEquals(1, first.employees().get(1).getEmpID());
+        assertEquals(5, cache.slice(SortColumn.SALARY, true, 0, 1).employees().get(0).getEmpID());
+    }
+}
@@ -0,0 +1,124 @@
+package com.group02.cache;
+
+import com.group02.model.Employee;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class NameSearcherTest {
+    private final NameSearcher searcher = new NameSearcher();
+
+    private static EmployeeCache cacheOf(String... names) {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 0; i < names.length; i++) {
+            Employee e = new Employee(names[i], String.format("%09d", i), "Developer", "Engineering", 50000, "FullTime");
+            e.setEmpID(i + 1);
+            cache.put(e);
+        }
+        return cache;
+    }
+
+    @Test
+    public void testSubstringAndRegex() {
+        EmployeeCache cache = cacheOf("Alice Smith", "Bob Jones", "Alicia Keys", null);
+
+        assertEquals(2, searcher.search(cache, "Alic").size());
+        assertEquals(1, searcher.search(cache, "^Bob").size());
+        assertEquals(2, searcher.search(cache, "Smith|Jones").size());
+        assertEquals(3, searcher.search(cache, "").size());
+    }
+
+    @Test
+    public void testInvalidRegexIsSearchedLiterally() {
+        EmployeeCache cache = cacheOf("Smith (Contractor)", "Jones");
+
+        List<Employee> found = searcher.search(cache, "(Contr");
+
+        assertEquals(1, found.size());
+        assertEquals("Smith (Contractor)", found.get(0).getName());
+    }
+
+    @Test
+    public void testMatchersAreReused() {
+        assertSame(searcher.matcher("a.*b"), searcher.matcher("a.*b"));
+    }
+
+    @Test
+    public void testParallelScanMatchesSequentialOrder() {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 0; i < 120_000; i++) {
+            Employee e = new Employee("Employee " + i, String.format("%09d", i), "Developer", "Engineering", 50000, "FullTime");
+            e.setEmpID(i + 1);
+            cache.put(e);
+        }
+
+        List<Employee> parallel = cache.filter(e -> e.getName().endsWith("7"), true);
+        List<Employee> sequential = cache.filter(e -> e.getName().endsWith("7"), false);
+
+        assertEquals(12_000, parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            assertEquals(sequential.get(i).getEmpID(), parallel.get(i).getEmpID());
+        }
+        assertEquals(12_000, searcher.search(cache, "7$").size());
+    }
+
+    private static EmployeeCache numbered(int rows) {
+        EmployeeCache cache = new EmployeeCache();
+        for (int i = 0; i < rows; i++) {
+            Employee e = new Employee("Employee " + i, String.format("%09d", i), "Developer", "Engineering", 50000, "FullTime");
+            e.setEmpID(i + 1);
+            cache.put(e);
+        }
+        return cache;
+    }
+
+    @Test
+    public void testStreamedSearchDeliversBatchesInOrder() {
+        EmployeeCache cache = numbered(40_000);
+        List<List<Employee>> batches = new ArrayList<>();
+
+        assertTrue(searcher.search(cache, "7$", () -> false, batches::add));
+
+        assertEquals(3, batches.size());   // one per chunk of the scan
+        List<Employee> streamed = new ArrayList<>();
+        batches.forEach(streamed::addAll);
+        List<Employee> blocking = searcher.search(cache, "7$");
+        assertEquals(blocking.size(), streamed.size());
+        for (int i = 0; i < blocking.size(); i++) {
+            assertEquals(blocking.get(i).getEmpID(), streamed.get(i).getEmpID());
+        }
+    }
+
+    @Test
+    public void testStreamedSearchStopsWhenCancelled() {
+        EmployeeCache cache = numbered(40_000);
+        List<List<Employee>> batches = new ArrayList<>();
+
+        boolean completed = searcher.search(cache, "Employee", () -> !batches.isEmpty(), batches::add);
+
+        assertFalse(completed);
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    public void testStreamedSearchSurvivesReload() {
+        EmployeeCache cache = numbered(40_000);
+        List<Employee> rows = cache.values();
+        List<Integer> delivered = new ArrayList<>();
+
+        assertTrue(searcher.search(cache, "Employee", () -> false, batch -> {
+            if (delivered.isEmpty()) {
+                cache.loadAll(rows);   // moves every row between two chunks
+            }
+            batch.forEach(e -> delivered.add(e.getEmpID()));
+        }));
+
+        Set<Integer> distinct = new HashSet<>(delivered);
+        assertEquals(delivered.size(), distinct.size());
+        assertEquals(40_000, distinct.size());
+    }
+}
@@ -0,0 +1,41 @@
+package com.group02.config;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PoolProbeTest {
+
+    @After
+    public void tearDown() {
+        DatabaseConfig.resetConfiguration();
+    }
+
+    @Test
+    public void testSuggestScalesWithRoundTripShare() {
+        // half the time is network: two connections per core keep the database busy
+        assertEquals(8, PoolProbe.suggest(4, 500_000, 1_000_000, 50));
+        // round trip is a quarter of the query time
+        assertEquals(6, PoolProbe.suggest(4, 250_000, 1_000_000, 50));
+    }
+
+    @Test
+    public void testSuggestIsClamped() {
+        // query no slower than SELECT 1: work is floored at a tenth of the query time
+        assertEquals(44, PoolProbe.suggest(4, 1_000_000, 1_000_000, 50));
+        assertEquals(20, PoolProbe.suggest(4, 1_000_000, 1_000_000, 20));
+        assertEquals(2, PoolProbe.suggest(1, 0, 1_000_000, 50));
+        assertEquals(2, PoolProbe.suggest(1, 0, 0, 50));
+    }
+
+    @Test
+    public void testDriverDefaultsAndPoolSize() {
+        assertEquals("true", DatabaseConfig.driverProperties().get("cachePrepStmts"));
+        assertEquals("true", DatabaseConfig.driverProperties().get("rewriteBatchedStatements"));
+
+        DatabaseConfig.loadProperties("config.properties");
+        assertEquals("250", DatabaseConfig.driverProperties().get("prepStmtCacheSize"));
+        assertEquals(10, DatabaseConfig.getMaximumPoolSize());
+    }
+}
@@ -0,0 +1,66 @@
+package com.group02.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverEveryValueWithinSixPercent() {
+        for (long v : new long[] { 0, 1, 15, 16, 17, 31, 32, 1_000, 123_456, 987_654_321L, LatencyHistogram.MAX_NANOS }) {
+            int index = LatencyHistogram.index(v);
+            assertTrue(v + " below bucket", LatencyHistogram.lowerBound(index) <= v);
+            assertTrue(v + " above bucket", LatencyHistogram.upperBound(index) >= v);
+            assertTrue(v + " bucket too wide",
+                       LatencyHistogram.upperBound(index) - LatencyHistogram.lowerBound(index) <= v / 16);
+        }
+        // buckets are contiguous
+        for (int i = 0; i < LatencyHistogram.index(LatencyHistogram.MAX_NANOS); i++) {
+            assertEquals(LatencyHistogram.upperBound(i) + 1, LatencyHistogram.lowerBound(i + 1));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new Metrics().histogram("test");
+        assertEquals(0, histogram.percentileNanos(50));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);   // 1µs .. 1ms
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5, histogram.getMeanMicros(), 0.001);
+        assertEquals(500, histogram.getP50Micros(), 500 * 0.07);
+        assertEquals(990, histogram.getP99Micros(), 990 * 0.07);
+        assertEquals(1000, histogram.getMaxMicros(), 0);
+        assertTrue(histogram.percentileNanos(100) <= 1_000_000);
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(1002, histogram.getCount());
+        assertEquals(LatencyHistogram.MAX_NANOS, histogram.percentileNanos(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMicros(), 0);
+    }
+
+    @Test
+    public void testRegistryReport() {
+        Metrics metrics = new Metrics();
+        metrics.histogram("dao.searchByID").record(2_000_000);
+        metrics.counter("cache.hits").add(3);
+        metrics.counter("cache.misses").increment();
+
+        assertSame(metrics.histogram("dao.searchByID"), metrics.histogram("dao.searchByID"));
+        assertEquals(Long.valueOf(3), metrics.getCounters().get("cache.hits"));
+        assertEquals(0.75, metrics.getCacheHitRatio(), 0);
+        String report = metrics.getReport();
+        assertTrue(report, report.contains("dao.searchByID"));
+        assertTrue(report, report.contains("75.0%"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getCacheHitRatio(), 0);
+    }
+}
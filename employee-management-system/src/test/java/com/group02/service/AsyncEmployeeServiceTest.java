@@ -0,0 +1,98 @@
+package com.group02.service;
+
+import com.group02.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AsyncEmployeeServiceTest {
+
+    /** Counts how many inserts run at once. */
+    private static class SlowInserts extends InMemoryEmployeeManager {
+        final AtomicInteger active = new AtomicInteger();
+        final LongAccumulator maxActive = new LongAccumulator(Math::max, 0);
+
+        @Override
+        public int addEmployee(Employee employee) {
+            maxActive.accumulate(active.incrementAndGet());
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            return super.addEmployee(employee);
+        }
+    }
+
+    private static Employee employee(int i) {
+        return new Employee("Emp " + i, String.format("%09d", i), "Developer", "Engineering", 50_000 + i, "FullTime");
+    }
+
+    @Test
+    public void testFanOutLookups() {
+        InMemoryEmployeeManager db = new InMemoryEmployeeManager();
+        for (int i = 1; i <= 200; i++) {
+            db.addEmployee(employee(i));
+        }
+        try (AsyncEmployeeServiceImpl async = new AsyncEmployeeServiceImpl(new EmployeeServiceImpl(db),
+                Executors.newVirtualThreadPerTaskExecutor(), 4)) {
+            List<CompletableFuture<Optional<Employee>>> lookups = new ArrayList<>();
+            for (int round = 0; round < 10; round++) {
+                for (int id = 1; id <= 200; id++) {
+                    lookups.add(async.searchByID(id));
+                }
+            }
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture<?>[0])).join();
+            for (int i = 0; i < lookups.size(); i++) {
+                assertEquals(i % 200 + 1, lookups.get(i).join().orElseThrow().getEmpID());
+            }
+            assertEquals(200, async.countBySalaryRange(0, 1_000_000).join().intValue());
+        }
+    }
+
+    @Test
+    public void testDatabaseCallsAreBounded() {
+        SlowInserts db = new SlowInserts();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        AsyncEmployeeServiceImpl async = new AsyncEmployeeServiceImpl(new EmployeeServiceImpl(db), executor, 3);
+        List<CompletableFuture<Integer>> adds = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            adds.add(async.add(employee(i)));
+        }
+        CompletableFuture.allOf(adds.toArray(new CompletableFuture<?>[0])).join();
+
+        assertTrue("max concurrent inserts " + db.maxActive.get(), db.maxActive.get() <= 3);
+        assertEquals(40, async.findAll().join().size());
+        // the executor was passed in, so it is left running
+        async.close();
+        assertFalse(executor.isShutdown());
+        executor.close();
+    }
+
+    @Test
+    public void testExceptionsCompleteTheFuture() {
+        try (AsyncEmployeeServiceImpl async = new AsyncEmployeeServiceImpl(
+                new EmployeeServiceImpl(new InMemoryEmployeeManager()), Executors.newVirtualThreadPerTaskExecutor(), 1)) {
+            CompletableFuture<Boolean> update = async.update(null);
+            try {
+                update.join();
+                fail("expected the null employee to fail the future");
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof NullPointerException);
+            }
+            // the failed call gave its permit back
+            assertFalse(async.delete(1).join());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.group02.service;
+
+import com.group02.model.Employee;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Multi-threaded stress test: concurrent readers and writers against the service,
+ * then a check that the cache ended up identical to the (in-memory) database.
+ */
+public class EmployeeServiceConcurrencyTest {
+    private static final int SEED_ROWS = 2_000;
+    private static final int READERS = 6;
+    private static final int WRITERS = 4;
+    private static final long RUN_MILLIS = 2_000;
+
+    private final AtomicInteger nextSsn = new AtomicInteger(100_000_000);
+
+    private Employee newEmployee() {
+        int n = nextSsn.getAndIncrement();
+        return new Employee("Worker " + n, String.valueOf(n), "Developer", "Engineering",
+                            ThreadLocalRandom.current().nextInt(30_000, 150_000), "FullTime");
+    }
+
+    @Test
+    public void testConcurrentReadersAndWritersStayConsistent() throws Exception {
+        InMemoryEmployeeManager db = new InMemoryEmployeeManager();
+        for (int i = 0; i < SEED_ROWS; i++) {
+            db.addEmployee(newEmployee());
+        }
+        EmployeeServiceImpl service = new EmployeeServiceImpl(db);
+
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int r = 0; r < READERS; r++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    while (running.get()) {
+                        int id = random.nextInt(1, nextSsn.get() - 100_000_000 + 1);
+                        Optional<Employee> byId = service.searchByID(id);
+                        if (byId.isPresent()) {
+                            assertEquals(id, byId.get().getEmpID());
+                            Optional<Employee> bySsn = service.searchBySSN(byId.get().getSSN());
+                            // the row may have been deleted or re-keyed since, but never mismatched
+                            bySsn.ifPresent(e -> assertEquals(byId.get().getSSN(), e.getSSN()));
+                        }
+                        if (random.nextInt(100) == 0) {
+                            service.searchByName("Worker 1000").forEach(e -> assertTrue(e.getName().contains("Worker 1000")));
+                            List<Employee> page = service.findPage(id, 50);
+                            for (int i = 1; i < page.size(); i++) {
+                                assertTrue(page.get(i - 1).getEmpID() < page.get(i).getEmpID());
+                            }
+                            service.countBySalaryRange(40_000, 60_000);
+                        }
+                        reads.incrementAndGet();
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            }, "reader-" + r));
+        }
+
+        for (int w = 0; w < WRITERS; w++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    while (running.get()) {
+                        int op = random.nextInt(100);
+                        int id = random.nextInt(1, nextSsn.get() - 100_000_000 + 1);
+                        if (op < 60) {
+                            service.searchByID(id).ifPresent(e -> {
+                                e.setSalary(random.nextInt(30_000, 150_000));
+                                e.setName("Renamed " + e.getEmpID());
+                                if (random.nextBoolean()) {
+                                    e.setSSN(String.valueOf(nextSsn.getAndIncrement()));
+                                }
+                                service.update(e);
+                            });
+                        } else if (op < 80) {
+                            assertTrue(service.add(newEmployee()) > 0);
+                        } else if (op < 98) {
+                            if (service.searchByID(id).isPresent()) {
+                                service.delete(id);
+                            }
+                        } else {
+                            service.applySalaryRaise(50_000, 60_000, 1);
+                        }
+                    }
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+            }, "writer-" + w));
+        }
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        TimeUnit.MILLISECONDS.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread t : threads) {
+            t.join(10_000);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new AssertionError(errors.size() + " thread(s) failed", errors.peek());
+        }
+        assertTrue(reads.get() > 0);
+
+        // the cache must now mirror the database exactly
+        assertEquals(db.rows.size(), service.findAll().size());
+        for (Employee expected : db.rows.values()) {
+            Employee cached = service.searchByID(expected.getEmpID()).orElseThrow();
+            assertEquals(expected.getName(), cached.getName());
+            assertEquals(expected.getSSN(), cached.getSSN());
+            assertEquals(expected.getSalary(), cached.getSalary(), 0.0);
+            assertEquals(expected.getEmpID(), service.searchBySSN(expected.getSSN()).orElseThrow().getEmpID());
+        }
+        double expectedSum = db.rows.values().stream()
+                               .filter(e -> e.getSalary() >= 40_000 && e.getSalary() <= 60_000)
+                               .mapToDouble(Employee::getSalary).sum();
+        assertEquals(expectedSum, service.sumBySalaryRange(40_000, 60_000), 0.01);
+    }
+}
@@ -0,0 +1,66 @@
+package com.group02.service;
+
+import com.group02.model.Employee;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The service emits Flight Recorder events for warm-up, name searches and raises
+ * while a recording has them enabled.
+ */
+public class EmployeeServiceEventsTest {
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        InMemoryEmployeeManager db = new InMemoryEmployeeManager();
+        for (int i = 1; i <= 20; i++) {
+            db.addEmployee(new Employee("Emp " + i, String.format("%09d", i), "Developer", "Engineering",
+                                        40_000 + i * 1_000, "FullTime"));
+        }
+        Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("com.group02.CacheWarmUp", "com.group02.NameSearch", "com.group02.SalaryRaise")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            EmployeeServiceImpl service = new EmployeeServiceImpl(db);
+            assertEquals(11, service.searchByName("Emp 1").size());
+            service.applySalaryRaise(40_000, 45_000, 2);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .collect(Collectors.toMap(e -> e.getEventType().getName(), Function.identity(), (a, b) -> a));
+        Files.deleteIfExists(file);
+
+        RecordedEvent warmUp = events.get("com.group02.CacheWarmUp");
+        assertNotNull(warmUp);
+        assertEquals("database", warmUp.getString("source"));
+        assertEquals(20, warmUp.getLong("rows"));
+
+        RecordedEvent search = events.get("com.group02.NameSearch");
+        assertNotNull(search);
+        assertEquals("Emp 1", search.getString("pattern"));
+        assertEquals(11, search.getInt("matches"));
+        assertTrue(search.getBoolean("fromCache"));
+
+        RecordedEvent raise = events.get("com.group02.SalaryRaise");
+        assertNotNull(raise);
+        assertEquals(5, raise.getLong("rows"));
+        assertFalse(raise.getBoolean("chunked"));
+        assertEquals(2.0, raise.getDouble("raisePercent"), 0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.group02.service;
+
+import com.group02.model.Employee;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Change events: one batch per write, bulk raises coalesced, and external changes
+ * pulled in by refresh flagged as such.
+ */
+public class EmployeeServiceListenerTest {
+    private InMemoryEmployeeManager db;
+    private EmployeeServiceImpl service;
+    private final List<List<EmployeeEvent>> batches = new ArrayList<>();
+    private final List<Boolean> external = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        db = new InMemoryEmployeeManager();
+        for (int i = 1; i <= 10; i++) {
+            db.addEmployee(new Employee("Emp " + i, String.format("%09d", i), "Dev", "Eng", 50_000 + i * 1000, "FullTime"));
+        }
+        service = new EmployeeServiceImpl(db);
+        service.addListener((events, ext) -> {
+            batches.add(events);
+            external.add(ext);
+        });
+    }
+
+    @Test
+    public void testSingleRowWrites() {
+        Employee hire = new Employee("New Hire", "888888888", "Dev", "Eng", 70_000, "FullTime");
+        int id = service.add(hire);
+        hire.setName("Changed By Caller");   // events carry copies
+        Employee edited = service.searchByID(3).orElseThrow();
+        edited.setName("Renamed");
+        service.update(edited);
+        service.delete(4);
+        service.delete(4);   // already gone: no event
+
+        assertEquals(3, batches.size());
+        EmployeeEvent.Added added = (EmployeeEvent.Added) batches.get(0).get(0);
+        assertEquals(id, added.employee().getEmpID());
+        assertEquals("New Hire", added.employee().getName());
+        assertEquals("Renamed", ((EmployeeEvent.Updated) batches.get(1).get(0)).employee().getName());
+        assertEquals(new EmployeeEvent.Deleted(4), batches.get(2).get(0));
+        assertFalse(external.contains(true));
+    }
+
+    @Test
+    public void testRaiseIsOneEvent() {
+        service.applySalaryRaise(50_000, 55_500, 10);
+        service.applySalaryRaise(0, 1, 10);   // nobody in range: no event
+
+        assertEquals(1, batches.size());
+        assertEquals(List.of(new EmployeeEvent.Raised(50_000, 55_500, 10, 5)), batches.get(0));
+    }
+
+    @Test
+    public void testRefreshPublishesExternalChanges() {
+        Employee edited = db.searchByID(1).orElseThrow();
+        edited.setDivision("Sales");
+        db.updateEmployee(edited);
+        db.deleteEmployee(2);
+        int id = db.addEmployee(new Employee("Elsewhere", "777777777", "Dev", "Eng", 70_000, "FullTime"));
+
+        service.refresh();
+        service.refresh();   // nothing new: no empty batch
+
+        assertEquals(1, batches.size());
+        assertEquals(List.of(true), external);
+        List<EmployeeEvent> events = batches.get(0);
+        assertEquals(3, events.size());
+        assertEquals("Sales", ((EmployeeEvent.Updated) events.get(0)).employee().getDivision());
+        assertEquals(id, ((EmployeeEvent.Added) events.get(1)).employee().getEmpID());
+        assertEquals(new EmployeeEvent.Deleted(2), events.get(2));
+    }
+
+    @Test
+    public void testFailingListenerDoesNotStopOthers() {
+        service.addListener((events, ext) -> {
+            throw new IllegalStateException("listener bug");
+        });
+        List<EmployeeEvent> seen = new ArrayList<>();
+        service.addListener((events, ext) -> seen.addAll(events));
+
+        assertTrue(service.delete(5));
+
+        assertEquals(List.of(new EmployeeEvent.Deleted(5)), seen);
+    }
+}
@@ -0,0 +1,56 @@
+package com.group02.service;
+
+import com.group02.metrics.Metrics;
+import com.group02.model.Employee;
+import com.group02.repository.InstrumentedEmployeeManager;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+
+import static org.junit.Assert.*;
+
+/**
+ * The instrumented DAO and service record a latency per call and count rows
+ * and cache hits.
+ */
+public class EmployeeServiceMetricsTest {
+
+    @Test
+    public void testDaoAndServiceCallsAreRecorded() {
+        InMemoryEmployeeManager db = new InMemoryEmployeeManager();
+        for (int i = 1; i <= 10; i++) {
+            db.addEmployee(new Employee("Emp " + i, String.format("%09d", i), "Developer", "Engineering",
+                                        50_000 + i, "FullTime"));
+        }
+        Metrics metrics = new Metrics();
+        InstrumentedEmployeeManager dao = new InstrumentedEmployeeManager(db, metrics);
+        EmployeeServiceImpl impl = new EmployeeServiceImpl(dao);
+        EmployeeService service = new InstrumentedEmployeeService(impl, metrics);
+
+        // the warm-up streamed every row through the DAO
+        assertEquals(1, metrics.histogram("dao.streamAll").getCount());
+        assertEquals(Long.valueOf(10), metrics.getCounters().get("dao.rowsRead"));
+
+        long hits = Metrics.global().counter("cache.hits").sum();
+        assertTrue(service.searchByID(3).isPresent());
+        assertEquals(1, service.findBySalaryRange(50_005, 50_005).size());
+        assertEquals(hits + 2, Metrics.global().counter("cache.hits").sum());
+        assertEquals(1, metrics.histogram("service.searchByID").getCount());
+        // served by the cache, so the DAO was not asked
+        assertEquals(0, metrics.histogram("dao.searchByID").getCount());
+
+        Employee hire = new Employee("New Hire", "999999999", "Analyst", "Finance", 60_000, "FullTime");
+        assertTrue(service.add(hire) > 0);
+        assertTrue(service.delete(hire.getEmpID()));
+        service.applySalaryRaise(50_000, 50_002, 1);
+        assertEquals(1, metrics.histogram("dao.addEmployee").getCount());
+        assertEquals(1, metrics.histogram("dao.deleteEmployee").getCount());
+        assertEquals(Long.valueOf(4), metrics.getCounters().get("dao.rowsWritten"));
+        assertTrue(metrics.histogram("service.add").getMaxMicros() > 0);
+
+        // the delete left one tombstone behind
+        assertEquals(1, dao.purgeDeletedBefore(new Timestamp(Long.MAX_VALUE)));
+        assertEquals(1, metrics.histogram("dao.purgeDeletedBefore").getCount());
+        assertEquals(Long.valueOf(5), metrics.getCounters().get("dao.rowsWritten"));
+    }
+}
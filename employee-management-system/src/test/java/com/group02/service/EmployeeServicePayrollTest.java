@@ -0,0 +1,132 @@
+package com.group02.service;
+
+import com.group02.model.Employee;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Payroll aggregates and running totals from the cache match what the database
+ * computes, also after writes through the service.
+ */
+public class EmployeeServicePayrollTest {
+    private static final String[] DIVISIONS = { "Engineering", "Finance", "HR", "Legal", null };
+    private static final String[] TITLES = { "Developer", "Manager", "Analyst" };
+
+    private InMemoryEmployeeManager db;
+    private EmployeeServiceImpl service;
+
+    @Before
+    public void setUp() {
+        db = new InMemoryEmployeeManager();
+        Random random = new Random(42);
+        for (int i = 1; i <= 300; i++) {
+            double salary = (30_000_00 + random.nextInt(120_000_00)) / 100.0;
+            db.addEmployee(new Employee("Emp " + i, String.format("%09d", i), TITLES[i % TITLES.length],
+                                        DIVISIONS[i % DIVISIONS.length], salary, "FullTime"));
+        }
+        service = new EmployeeServiceImpl(db);
+    }
+
+    private void assertMatchesDatabase() {
+        for (PayrollGrouping grouping : PayrollGrouping.values()) {
+            List<PayrollStats> expected = db.payrollBy(grouping);
+            List<PayrollStats> actual = service.payrollBy(grouping);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                PayrollStats e = expected.get(i);
+                PayrollStats a = actual.get(i);
+                assertEquals(e.group(), a.group());
+                assertEquals(e.count(), a.count());
+                assertEquals(e.sum(), a.sum(), 0.01);
+                assertEquals(e.average(), a.average(), 0.01);
+                assertEquals(e.min(), a.min(), 0);
+                assertEquals(e.max(), a.max(), 0);
+                assertEquals(e.p50(), a.p50(), 0);
+                assertEquals(e.p90(), a.p90(), 0);
+                assertEquals(e.p99(), a.p99(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testCacheMatchesDatabase() {
+        List<PayrollStats> byDivision = service.payrollBy(PayrollGrouping.DIVISION);
+        assertEquals(DIVISIONS.length, byDivision.size());
+        assertNull(byDivision.get(0).group());   // no division sorts first
+        assertEquals("Engineering", byDivision.get(1).group());
+        assertMatchesDatabase();
+    }
+
+    @Test
+    public void testAggregatesFollowWrites() {
+        Employee moved = service.searchByID(7).orElseThrow();
+        moved.setDivision("Legal");
+        moved.setSalary(250_000);
+        service.update(moved);
+        service.delete(8);
+        service.add(new Employee("New Hire", "999999999", "Director", "Sales", 99_000.5, "FullTime"));
+        service.applySalaryRaise(40_000, 60_000, 3);
+
+        assertMatchesDatabase();
+        PayrollStats sales = service.payrollBy(PayrollGrouping.DIVISION).stream()
+                .filter(s -> "Sales".equals(s.group())).findFirst().orElseThrow();
+        assertEquals(1, sales.count());
+        assertEquals(99_000.5, sales.p99(), 0);
+    }
+
+    private void assertSummariesMatchDatabase() {
+        for (PayrollGrouping grouping : PayrollGrouping.values()) {
+            List<PayrollSummary> expected = db.payrollSummaryBy(grouping);
+            List<PayrollSummary> actual = service.payrollSummaryBy(grouping);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).group(), actual.get(i).group());
+                assertTrue(expected.get(i).group() + " differs", expected.get(i).sameFigures(actual.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testRunningTotalsFollowWrites() {
+        assertSummariesMatchDatabase();
+
+        Employee moved = service.searchByID(7).orElseThrow();
+        moved.setDivision("Legal");
+        moved.setSalary(250_000);
+        service.update(moved);
+        service.delete(8);
+        service.add(new Employee("New Hire", "999999999", "Director", "Sales", 99_000.5, "FullTime"));
+        service.applySalaryRaise(40_000, 60_000, 3);
+
+        assertSummariesMatchDatabase();
+        assertTrue(service.checkPayrollTotals());
+    }
+
+    @Test
+    public void testCheckPicksUpExternalChanges() {
+        Employee e = db.searchByID(3).orElseThrow();
+        e.setSalary(1_000_000);
+        db.updateEmployee(e);
+
+        assertTrue(service.checkPayrollTotals());
+        assertSummariesMatchDatabase();
+    }
+
+    @Test
+    public void testCheckReloadsWhenTotalsDrift() {
+        // a change that bypassed change tracking, so refresh can't see it
+        db.rows.get(5).setSalary(123_456);
+
+        assertFalse(service.checkPayrollTotals());
+        assertSummariesMatchDatabase();
+        assertEquals(123_456, service.searchByID(5).orElseThrow().getSalary(), 0);
+        assertTrue(service.checkPayrollTotals());
+    }
+}
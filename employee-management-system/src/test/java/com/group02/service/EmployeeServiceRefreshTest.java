@@ -0,0 +1,93 @@
+package com.group02.service;
+
+import com.group02.model.Employee;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Incremental refresh: writes made behind the service's back (another node, or
+ * plain SQL) reach the cache through {@link EmployeeServiceImpl#refresh()}.
+ */
+public class EmployeeServiceRefreshTest {
+    private InMemoryEmployeeManager db;
+    private EmployeeServiceImpl service;
+
+    @Before
+    public void setUp() {
+        db = new InMemoryEmployeeManager();
+        for (int i = 1; i <= 100; i++) {
+            db.addEmployee(new Employee("Emp " + i, String.format("%09d", i), "Dev", "Eng", 50_000 + i, "FullTime"));
+        }
+        service = new EmployeeServiceImpl(db);
+    }
+
+    @Test
+    public void testNothingChanged() {
+        assertEquals(0, service.refresh());
+    }
+
+    @Test
+    public void testRefreshPicksUpOnlyExternalChanges() {
+        Employee edited = db.searchByID(10).orElseThrow();
+        edited.setName("Edited Elsewhere");
+        edited.setSSN("999999999");
+        db.updateEmployee(edited);
+        db.deleteEmployee(20);
+        int added = db.addEmployee(new Employee("New Hire", "888888888", "Dev", "Eng", 70_000, "FullTime"));
+
+        // not visible until refreshed
+        assertEquals("Emp 10", service.searchByID(10).orElseThrow().getName());
+        assertTrue(service.searchByID(20).isPresent());
+        assertFalse(service.searchByID(added).isPresent());
+
+        assertEquals(3, service.refresh());
+        assertEquals("Edited Elsewhere", service.searchByID(10).orElseThrow().getName());
+        assertEquals(10, service.searchBySSN("999999999").orElseThrow().getEmpID());
+        assertFalse(service.searchBySSN("000000010").isPresent());
+        assertFalse(service.searchByID(20).isPresent());
+        assertEquals("New Hire", service.searchByID(added).orElseThrow().getName());
+        assertEquals(100, service.findAll().size());
+
+        // the high-water mark moved, so the next refresh finds nothing new
+        assertEquals(0, service.refresh());
+    }
+
+    @Test
+    public void testRefreshKeepsSalaryIndexInStep() {
+        Employee e = db.searchByID(1).orElseThrow();
+        e.setSalary(200_000);
+        db.updateEmployee(e);
+        service.refresh();
+        assertEquals(1, service.countBySalaryRange(150_000, 250_000));
+        assertEquals(99, service.countBySalaryRange(0, 100_000));
+    }
+
+    @Test
+    public void testOldTombstonesArePurged() {
+        db.deleteEmployee(20);
+        service.refresh();
+        assertEquals(1, db.tombstones());
+
+        db.advance(EmployeeServiceImpl.TOMBSTONE_RETENTION_MILLIS);
+        service.refresh();
+
+        assertEquals(0, db.tombstones());
+        assertFalse(service.searchByID(20).isPresent());
+        assertEquals(99, service.findAll().size());
+    }
+
+    @Test
+    public void testCacheTooFarBehindReloadsInsteadOfMissingDeletes() {
+        db.deleteEmployee(20);
+        db.advance(EmployeeServiceImpl.TOMBSTONE_RETENTION_MILLIS);
+        // another node has already purged the tombstone this cache would need
+        db.purgeDeletedBefore(db.currentTimestamp());
+
+        service.refresh();
+
+        assertFalse(service.searchByID(20).isPresent());
+        assertEquals(99, service.findAll().size());
+    }
+}
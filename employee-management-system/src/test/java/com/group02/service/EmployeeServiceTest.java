@@ -2,6 +2,7 @@ package com.group02.service;
 
 import com.group02.config.DatabaseConfig;
 import com.group02.model.Employee;
+import com.group02.repository.SalaryRaiseProgress;
 import org.junit.*;
 import java.sql.Connection;
 import java.sql.Statement;
@@ -95,4 +96,24 @@ public class EmployeeServiceTest {
         assertEquals(44000, f1.get().getSalary(), 0.01);
         assertEquals(80000, f2.get().getSalary(), 0.01);
     }
+
+    @Test
+    public void testChunkedSalaryRaiseResumesFromCheckpoint() {
+        Employee e1 = new Employee("Fay", "333333333", "E1", "D1", 40000, "FullTime");
+        Employee e2 = new Employee("Gus", "444444444", "E2", "D2", 50000, "FullTime");
+        Employee e3 = new Employee("Hal", "555555555", "E3", "D3", 90000, "FullTime");
+        int id1 = service.add(e1);
+        int id2 = service.add(e2);
+        int id3 = service.add(e3);
+
+        // pretend a previous run committed everything up to id1
+        SalaryRaiseProgress progress = service.applySalaryRaiseChunked(0, 60000, 10, id1, null);
+
+        assertTrue(progress.isDone());
+        assertNull(progress.getError());
+        assertEquals(1, progress.getRowsUpdated());
+        assertEquals(40000, service.searchByID(id1).get().getSalary(), 0.01);
+        assertEquals(55000, service.searchByID(id2).get().getSalary(), 0.01);
+        assertEquals(90000, service.searchByID(id3).get().getSalary(), 0.01);
+    }
 }
@@ -0,0 +1,145 @@
+package com.group02.service;
+
+import com.group02.cache.CacheSnapshot;
+import com.group02.model.Employee;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Background warm-up: the service answers from the database while the cache
+ * loads, and loses no write made in the meantime.
+ */
+public class EmployeeServiceWarmUpTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Holds every range load until released. */
+    private static class SlowEmployeeManager extends InMemoryEmployeeManager {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void streamRange(int afterId, int upToId, Consumer<? super Employee> consumer) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.streamRange(afterId, upToId, consumer);
+        }
+    }
+
+    private static Employee employee(int i) {
+        return new Employee("Emp " + i, String.format("%09d", i), "Dev", "Eng", 40_000 + i * 10, "FullTime");
+    }
+
+    @Test
+    public void testReadsFallBackToDatabaseUntilReady() throws Exception {
+        SlowEmployeeManager db = new SlowEmployeeManager();
+        for (int i = 1; i <= 1_000; i++) {
+            db.addEmployee(employee(i));
+        }
+
+        EmployeeServiceImpl service = new EmployeeServiceImpl(db, 4);
+        assertFalse(service.whenReady().isDone());
+        assertEquals("Emp 500", service.searchByID(500).orElseThrow().getName());
+        assertEquals(500, service.searchBySSN("000000500").orElseThrow().getEmpID());
+        assertEquals(1, service.searchByName("^Emp 999$").size());
+        assertEquals(0, service.refresh());   // nothing to refresh yet
+
+        // writes during the warm-up must survive the cache being swapped in
+        Employee edited = service.searchByID(10).orElseThrow();
+        edited.setName("Edited During Warm-up");
+        assertTrue(service.update(edited));
+        assertTrue(service.delete(20));
+        int added = service.add(employee(5_000));
+
+        db.release.countDown();
+        service.whenReady().get(10, TimeUnit.SECONDS);
+
+        assertEquals(1_000, service.findAll().size());
+        assertEquals("Edited During Warm-up", service.searchByID(10).orElseThrow().getName());
+        assertFalse(service.searchByID(20).isPresent());
+        assertTrue(service.searchByID(added).isPresent());
+        assertEquals(db.countBySalaryRange(0, 50_000), service.countBySalaryRange(0, 50_000));
+
+        // partitions are stitched together in empID order, so the cache can page
+        List<Employee> page = service.findPage(0, 1_000);
+        assertEquals(1_000, page.size());
+        for (int i = 1; i < page.size(); i++) {
+            assertTrue(page.get(i - 1).getEmpID() < page.get(i).getEmpID());
+        }
+    }
+
+    @Test
+    public void testEmptyTable() throws Exception {
+        EmployeeServiceImpl service = new EmployeeServiceImpl(new InMemoryEmployeeManager(), 3);
+        service.whenReady().get(10, TimeUnit.SECONDS);
+        assertTrue(service.findAll().isEmpty());
+    }
+
+    @Test
+    public void testWarmUpFromSnapshotReadsOnlyTheDelta() throws Exception {
+        SlowEmployeeManager db = new SlowEmployeeManager();
+        for (int i = 1; i <= 300; i++) {
+            db.addEmployee(employee(i));
+        }
+        Path file = folder.getRoot().toPath().resolve("employees.snapshot");
+        EmployeeServiceImpl first = new EmployeeServiceImpl(db);
+        assertTrue(first.saveSnapshot(file));
+
+        // changes made while no service was running
+        Employee edited = db.searchByID(7).orElseThrow();
+        edited.setSalary(123_456);
+        db.updateEmployee(edited);
+        db.deleteEmployee(8);
+        int added = db.addEmployee(employee(9_000));
+
+        // range loads are never released: warm-up must not need them
+        EmployeeServiceImpl second = new EmployeeServiceImpl(db, 4, file);
+        second.whenReady().get(10, TimeUnit.SECONDS);
+        assertEquals(300, second.findAll().size());
+        assertEquals(123_456, second.searchByID(7).orElseThrow().getSalary(), 0.0);
+        assertFalse(second.searchByID(8).isPresent());
+        assertTrue(second.searchByID(added).isPresent());
+    }
+
+    @Test
+    public void testCorruptSnapshotFallsBackToDatabase() throws Exception {
+        SlowEmployeeManager db = new SlowEmployeeManager();
+        for (int i = 1; i <= 50; i++) {
+            db.addEmployee(employee(i));
+        }
+        Path file = folder.getRoot().toPath().resolve("employees.snapshot");
+        Files.writeString(file, "this is not a snapshot, only a file of the same name");
+        db.release.countDown();
+
+        EmployeeServiceImpl service = new EmployeeServiceImpl(db, 2, file);
+        service.whenReady().get(10, TimeUnit.SECONDS);
+        assertEquals(50, service.findAll().size());
+    }
+
+    @Test
+    public void testStaleSnapshotFallsBackToDatabase() throws Exception {
+        SlowEmployeeManager db = new SlowEmployeeManager();
+        db.addEmployee(employee(1));
+        Path file = folder.getRoot().toPath().resolve("employees.snapshot");
+        Timestamp old = new Timestamp(
+                db.currentTimestamp().getTime() - EmployeeServiceImpl.SNAPSHOT_MAX_AGE_MILLIS - 1);
+        new CacheSnapshot(List.of(), old).write(file);
+        db.release.countDown();
+
+        EmployeeServiceImpl service = new EmployeeServiceImpl(db, 2, file);
+        service.whenReady().get(10, TimeUnit.SECONDS);
+        assertEquals(1, service.findAll().size());
+    }
+}
@@ -0,0 +1,204 @@
+package com.group02.service;
+
+import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.FieldUpdate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Write-behind mode: edits reach the cache at once and the database in coalesced
+ * batches, before any whole-table operation, and on stop.
+ */
+public class EmployeeServiceWriteBehindTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InMemoryEmployeeManager db;
+    private EmployeeServiceImpl service;
+    private final BlockingQueue<WriteBehindFailure> failures = new LinkedBlockingQueue<>();
+    private volatile Runnable duringFlush;   // run once, inside the next batch write
+
+    @Before
+    public void setUp() {
+        // refuses any queued change to employee 5
+        db = new InMemoryEmployeeManager() {
+            @Override
+            public synchronized List<BatchInsertResult.Failure> updateFields(List<FieldUpdate> updates) {
+                Runnable hook = duringFlush;
+                if (hook != null) {
+                    duringFlush = null;
+                    hook.run();
+                }
+                List<FieldUpdate> allowed = new ArrayList<>();
+                List<Integer> positions = new ArrayList<>();
+                List<BatchInsertResult.Failure> refused = new ArrayList<>();
+                for (int i = 0; i < updates.size(); i++) {
+                    if (updates.get(i).empID() == 5) {
+                        refused.add(new BatchInsertResult.Failure(i, "refused"));
+                    } else {
+                        allowed.add(updates.get(i));
+                        positions.add(i);
+                    }
+                }
+                for (BatchInsertResult.Failure f : super.updateFields(allowed)) {
+                    refused.add(new BatchInsertResult.Failure(positions.get(f.index()), f.message()));
+                }
+                return refused;
+            }
+        };
+        for (int i = 1; i <= 10; i++) {
+            db.addEmployee(new Employee("Emp " + i, String.format("%09d", i), "Dev", "Eng", 50_000 + i * 1000, "FullTime"));
+        }
+        service = new EmployeeServiceImpl(db);
+    }
+
+    @After
+    public void tearDown() {
+        service.stopWriteBehind();
+    }
+
+    private Employee edit(int empID) {
+        return service.searchByID(empID).orElseThrow();
+    }
+
+    @Test
+    public void testUpdatesAreCoalesced() {
+        service.startWriteBehind(100, 1, TimeUnit.HOURS, failures::add);
+        Employee e = edit(1);
+        e.setName("Renamed");
+        assertTrue(service.update(e));
+        e.setSalary(75_000);
+        assertTrue(service.update(e));
+        Employee other = edit(2);
+        other.setDivision("Sales");
+        assertTrue(service.update(other));
+
+        assertEquals("Renamed", edit(1).getName());
+        assertEquals(75_000, edit(1).getSalary(), 0);
+        assertEquals("Emp 1", db.searchByID(1).orElseThrow().getName());
+        assertTrue(db.fieldUpdates.isEmpty());
+
+        service.flushWrites();
+
+        assertEquals(1, db.fieldUpdates.size());
+        assertEquals(List.of(new FieldUpdate(1, Map.of("employeeName", "Renamed", "salary", 75_000.0)),
+                             new FieldUpdate(2, Map.of("division", "Sales"))),
+                     db.fieldUpdates.get(0));
+        assertEquals(75_000, db.searchByID(1).orElseThrow().getSalary(), 0);
+        assertEquals("Sales", db.searchByID(2).orElseThrow().getDivision());
+    }
+
+    @Test
+    public void testFullQueueIsFlushed() {
+        service.startWriteBehind(2, 1, TimeUnit.HOURS, failures::add);
+        for (int id = 1; id <= 3; id++) {
+            Employee e = edit(id);
+            e.setJobTitle("Lead");
+            service.update(e);
+        }
+        service.stopWriteBehind();
+
+        assertEquals(2, db.fieldUpdates.size());
+        assertEquals(2, db.fieldUpdates.get(0).size());
+        for (int id = 1; id <= 3; id++) {
+            assertEquals("Lead", db.searchByID(id).orElseThrow().getJobTitle());
+        }
+    }
+
+    @Test
+    public void testRaiseSeesQueuedSalary() {
+        service.startWriteBehind(100, 1, TimeUnit.HOURS, failures::add);
+        Employee e = edit(1);
+        e.setSalary(60_000);
+        service.update(e);
+
+        service.applySalaryRaise(55_000, 65_000, 10);
+
+        assertEquals(66_000, db.searchByID(1).orElseThrow().getSalary(), 0.001);
+        assertEquals(66_000, edit(1).getSalary(), 0.001);
+    }
+
+    @Test
+    public void testRefusedChangeIsRolledBackAndReported() throws InterruptedException {
+        service.startWriteBehind(100, 1, TimeUnit.HOURS, failures::add);
+        Employee e = edit(5);
+        e.setName("Never Saved");
+        service.update(e);
+        assertEquals("Never Saved", edit(5).getName());
+
+        service.flushWrites();
+        WriteBehindFailure failure = failures.poll(5, TimeUnit.SECONDS);
+
+        assertNotNull(failure);
+        assertEquals(5, failure.empID());
+        assertEquals(Map.of("employeeName", "Never Saved"), failure.values());
+        assertEquals("refused", failure.message());
+        assertEquals("Emp 5", edit(5).getName());
+    }
+
+    @Test
+    public void testDeleteAndStopWriteQueuedChangesFirst() {
+        service.startWriteBehind(100, 1, TimeUnit.HOURS, failures::add);
+        Employee e = edit(3);
+        e.setName("Leaving");
+        service.update(e);
+        assertTrue(service.delete(3));
+        Employee kept = edit(4);
+        kept.setName("Staying");
+        service.update(kept);
+
+        service.stopWriteBehind();
+
+        assertEquals(2, db.fieldUpdates.size());
+        assertEquals("Staying", db.searchByID(4).orElseThrow().getName());
+        assertTrue(failures.isEmpty());
+        // writes go straight through again
+        kept.setName("Direct");
+        service.update(kept);
+        assertEquals("Direct", db.searchByID(4).orElseThrow().getName());
+    }
+
+    @Test
+    public void testSnapshotNeverHoldsUnwrittenEdits() throws Exception {
+        service.startWriteBehind(100, 1, TimeUnit.HOURS, failures::add);
+        Employee e = edit(6);
+        e.setName("Queued");
+        service.update(e);
+        // another user edits a row while the snapshot's flush is running
+        Employee concurrent = edit(7);
+        concurrent.setName("Concurrent");
+        Thread editor = new Thread(() -> service.update(concurrent));
+        duringFlush = () -> {
+            editor.start();
+            try {
+                editor.join(200);   // lets the edit in, unless the snapshot holds it off
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Path file = folder.getRoot().toPath().resolve("employees.snapshot");
+        assertTrue(service.saveSnapshot(file));
+        editor.join(5_000);
+
+        // the process dies here: no stop, no scheduled flush
+        EmployeeServiceImpl restarted = new EmployeeServiceImpl(db, 2, file);
+        restarted.whenReady().get(10, TimeUnit.SECONDS);
+
+        assertEquals("Queued", db.searchByID(6).orElseThrow().getName());
+        assertEquals("Queued", restarted.searchByID(6).orElseThrow().getName());
+        assertEquals(db.searchByID(7).orElseThrow().getName(), restarted.searchByID(7).orElseThrow().getName());
+    }
+}
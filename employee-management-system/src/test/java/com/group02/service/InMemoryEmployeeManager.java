@@ -0,0 +1,278 @@
+package com.group02.service;
+
+import com.group02.model.Employee;
+import com.group02.repository.BatchInsertResult;
+import com.group02.repository.EmployeeChanges;
+import com.group02.repository.EmployeeManager;
+import com.group02.repository.EmployeeSlice;
+import com.group02.repository.FieldUpdate;
+import com.group02.repository.NameMatch;
+import com.group02.repository.PayrollGrouping;
+import com.group02.repository.PayrollStats;
+import com.group02.repository.PayrollSummary;
+import com.group02.repository.SortColumn;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * EmployeeManager stand-in backed by a map, so service behaviour can be tested
+ * (and hammered from many threads) without a database.
+ * <p>
+ * Change tracking mimics the lastModified column and tombstone table with a
+ * fake clock that moves one {@link #TICK_MILLIS} per write or clock read, i.e.
+ * further than the service's refresh overlap.
+ * </p>
+ */
+class InMemoryEmployeeManager extends EmployeeManager {
+    final Map<Integer, Employee> rows = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    static final long TICK_MILLIS = EmployeeServiceImpl.REFRESH_OVERLAP_MILLIS * 2;
+    private final AtomicLong clock = new AtomicLong(1_000_000_000_000L);
+    private final Map<Integer, Long> modified = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Long> deleted = new ConcurrentSkipListMap<>();
+
+    private void touch(int empID) {
+        modified.put(empID, clock.addAndGet(TICK_MILLIS));
+    }
+
+    @Override
+    public Timestamp currentTimestamp() {
+        // time passes between reads as well, so a quiet period is longer than the overlap
+        return new Timestamp(clock.addAndGet(TICK_MILLIS));
+    }
+
+    @Override
+    public synchronized EmployeeChanges findChangesSince(Timestamp since) {
+        List<Employee> changed = new ArrayList<>();
+        List<Integer> gone = new ArrayList<>();
+        modified.forEach((id, at) -> {
+            if (at > since.getTime()) changed.add(new Employee(rows.get(id)));
+        });
+        deleted.forEach((id, at) -> {
+            if (at > since.getTime()) gone.add(id);
+        });
+        return new EmployeeChanges(changed, gone, currentTimestamp());
+    }
+
+    @Override
+    public synchronized int purgeDeletedBefore(Timestamp cutoff) {
+        int before = deleted.size();
+        deleted.values().removeIf(at -> at < cutoff.getTime());
+        return before - deleted.size();
+    }
+
+    /** Moves the clock forward, as if nothing had been written for a while. */
+    void advance(long millis) {
+        clock.addAndGet(millis);
+    }
+
+    int tombstones() {
+        return deleted.size();
+    }
+
+    @Override
+    public synchronized int addEmployee(Employee employee) {
+        for (Employee e : rows.values()) {
+            if (e.getSSN().equals(employee.getSSN())) {
+                return -1;   // SSN UNIQUE
+            }
+        }
+        int id = nextId.getAndIncrement();
+        employee.setEmpID(id);
+        rows.put(id, new Employee(employee));
+        touch(id);
+        return id;
+    }
+
+    @Override
+    public BatchInsertResult addEmployees(List<Employee> employees) {
+        BatchInsertResult result = new BatchInsertResult(employees.size());
+        for (Employee e : employees) {
+            addEmployee(e);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        List<Employee> all = new ArrayList<>();
+        rows.values().forEach(e -> all.add(new Employee(e)));
+        return all;
+    }
+
+    @Override
+    public void streamAll(Consumer<? super Employee> consumer) {
+        findAll().forEach(consumer);
+    }
+
+    @Override
+    public void streamRange(int afterId, int upToId, Consumer<? super Employee> consumer) {
+        ((ConcurrentSkipListMap<Integer, Employee>) rows).subMap(afterId, false, upToId, true)
+                .values().forEach(e -> consumer.accept(new Employee(e)));
+    }
+
+    @Override
+    public int[] findIdBounds() {
+        ConcurrentSkipListMap<Integer, Employee> sorted = (ConcurrentSkipListMap<Integer, Employee>) rows;
+        return sorted.isEmpty() ? new int[] { 0, 0 } : new int[] { sorted.firstKey(), sorted.lastKey() };
+    }
+
+    @Override
+    public List<Employee> findPage(int afterId, int limit) {
+        List<Employee> page = new ArrayList<>();
+        for (Employee e : ((ConcurrentSkipListMap<Integer, Employee>) rows).tailMap(afterId, false).values()) {
+            if (page.size() == limit) break;
+            page.add(new Employee(e));
+        }
+        return page;
+    }
+
+    @Override
+    public EmployeeSlice findSlice(SortColumn column, boolean ascending, int offset, int limit) {
+        List<Employee> sorted = new ArrayList<>(rows.values());
+        sorted.sort(column.comparator(ascending));
+        List<Employee> slice = new ArrayList<>();
+        for (int i = offset; i < Math.min(sorted.size(), offset + limit); i++) {
+            slice.add(new Employee(sorted.get(i)));
+        }
+        return new EmployeeSlice(slice, offset, sorted.size());
+    }
+
+    @Override
+    public Optional<Employee> searchByID(int empID) {
+        Employee e = rows.get(empID);
+        return e == null ? Optional.empty() : Optional.of(new Employee(e));
+    }
+
+    @Override
+    public Optional<Employee> searchBySSN(String ssn) {
+        return rows.values().stream().filter(e -> e.getSSN().equals(ssn)).findFirst().map(Employee::new);
+    }
+
+    @Override
+    public List<Employee> searchByName(String pattern, NameMatch match) {
+        Pattern regex = Pattern.compile(pattern);
+        return rows.values().stream().filter(e -> regex.matcher(e.getName()).find()).map(Employee::new).toList();
+    }
+
+    @Override
+    public int countBySalaryRange(double min, double max) {
+        return (int) rows.values().stream().filter(e -> e.getSalary() >= min && e.getSalary() <= max).count();
+    }
+
+    /** Reference implementation: group, sort, pick nearest ranks, as the SQL does. */
+    @Override
+    public List<PayrollStats> payrollBy(PayrollGrouping grouping) {
+        Map<String, List<Double>> groups = new HashMap<>();
+        for (Employee e : rows.values()) {
+            String key = grouping == PayrollGrouping.DIVISION ? e.getDivision() : e.getJobTitle();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(e.getSalary());
+        }
+        List<PayrollStats> stats = new ArrayList<>();
+        groups.forEach((group, salaries) -> {
+            Collections.sort(salaries);
+            int n = salaries.size();
+            double sum = 0;
+            for (double s : salaries) sum += s;
+            stats.add(new PayrollStats(group, n, sum, salaries.get(0), salaries.get(n - 1),
+                                       salaries.get(PayrollStats.percentileRank(n, 50) - 1),
+                                       salaries.get(PayrollStats.percentileRank(n, 90) - 1),
+                                       salaries.get(PayrollStats.percentileRank(n, 99) - 1)));
+        });
+        stats.sort(PayrollStats.BY_GROUP);
+        return stats;
+    }
+
+    @Override
+    public List<PayrollSummary> payrollSummaryBy(PayrollGrouping grouping) {
+        Map<String, List<Double>> groups = new HashMap<>();
+        for (Employee e : rows.values()) {
+            String key = grouping == PayrollGrouping.DIVISION ? e.getDivision() : e.getJobTitle();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(e.getSalary());
+        }
+        List<PayrollSummary> summaries = new ArrayList<>();
+        groups.forEach((group, salaries) -> {
+            int[] histogram = new int[PayrollSummary.BUCKETS];
+            double total = 0;
+            for (double s : salaries) {
+                histogram[PayrollSummary.bucketOf(s)]++;
+                total += s;
+            }
+            summaries.add(new PayrollSummary(group, salaries.size(), total, histogram));
+        });
+        summaries.sort(PayrollSummary.BY_GROUP);
+        return summaries;
+    }
+
+    @Override
+    public synchronized boolean updateEmployee(Employee employee) {
+        if (!rows.containsKey(employee.getEmpID())) {
+            return false;
+        }
+        rows.put(employee.getEmpID(), new Employee(employee));
+        touch(employee.getEmpID());
+        return true;
+    }
+
+    /** Batches passed to {@link #updateFields}, in call order. */
+    final List<List<FieldUpdate>> fieldUpdates = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public synchronized List<BatchInsertResult.Failure> updateFields(List<FieldUpdate> updates) {
+        fieldUpdates.add(updates);
+        List<BatchInsertResult.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            Employee e = rows.get(updates.get(i).empID());
+            if (e == null) {
+                failures.add(new BatchInsertResult.Failure(i, "No employee with empID " + updates.get(i).empID()));
+                continue;
+            }
+            updates.get(i).values().forEach((column, value) -> {
+                switch (column) {
+                    case "employeeName" -> e.setName((String) value);
+                    case "jobTitle" -> e.setJobTitle((String) value);
+                    case "division" -> e.setDivision((String) value);
+                    case "salary" -> e.setSalary((Double) value);
+                    case "payInfo" -> e.setPayInfo((String) value);
+                    default -> throw new IllegalArgumentException("Invalid field: " + column);
+                }
+            });
+            touch(e.getEmpID());
+        }
+        return failures;
+    }
+
+    @Override
+    public synchronized boolean deleteEmployee(int empID) {
+        if (rows.remove(empID) == null) {
+            return false;
+        }
+        modified.remove(empID);
+        deleted.put(empID, clock.addAndGet(TICK_MILLIS));
+        return true;
+    }
+
+    @Override
+    public synchronized int applySalaryRaise(double min, double max, double rate) {
+        int raised = 0;
+        for (Employee e : rows.values()) {
+            if (e.getSalary() >= min && e.getSalary() <= max) {
+                e.setSalary(Math.round(e.getSalary() * (1 + rate / 100) * 100) / 100.0);
+                touch(e.getEmpID());
+                raised++;
+            }
+        }
+        return raised;
+    }
+}